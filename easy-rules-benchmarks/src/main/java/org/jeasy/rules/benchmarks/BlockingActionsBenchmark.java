@@ -0,0 +1,114 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.benchmarks;
+
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.Rules;
+import org.jeasy.rules.api.RulesEngineParameters;
+import org.jeasy.rules.core.DefaultAsyncRulesEngine;
+import org.jeasy.rules.core.RuleBuilder;
+import org.jeasy.rules.core.VirtualThreads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures the throughput of a {@link DefaultAsyncRulesEngine} firing rules with blocking
+ * actions (simulating a call to a remote service), with a pool of platform threads and
+ * with a virtual thread per fire (see {@link VirtualThreads}).
+ *
+ * Virtual threads require Java 21: on older JVMs, the virtual executor falls back to
+ * platform threads, one per fire. Run with {@code java -jar target/benchmarks.jar BlockingActionsBenchmark}
+ * on Java 21 to compare both.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockingActionsBenchmark {
+
+    private static final int CONCURRENT_FIRES = 1000;
+    private static final int PLATFORM_THREADS = 64;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"1"})
+    private long blockingMillis;
+
+    private ExecutorService executor;
+    private DefaultAsyncRulesEngine rulesEngine;
+    private Rules rules;
+
+    @Setup
+    public void setUp() {
+        executor = threads.equals("virtual")
+                ? VirtualThreads.newThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+        rulesEngine = new DefaultAsyncRulesEngine(new RulesEngineParameters(), executor);
+        long blockingNanos = TimeUnit.MILLISECONDS.toNanos(blockingMillis);
+        rules = new Rules(new RuleBuilder()
+                .name("blocking rule")
+                .when(facts -> true)
+                .then(facts -> LockSupport.parkNanos(blockingNanos))
+                .then(facts -> facts.put("processed", true))
+                .build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_FIRES)
+    public void fire() {
+        CompletableFuture<?>[] fires = new CompletableFuture<?>[CONCURRENT_FIRES];
+        for (int i = 0; i < CONCURRENT_FIRES; i++) {
+            fires[i] = rulesEngine.fireAsync(rules, new Facts());
+        }
+        CompletableFuture.allOf(fires).join();
+    }
+
+}
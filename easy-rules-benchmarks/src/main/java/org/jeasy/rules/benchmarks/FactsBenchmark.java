@@ -0,0 +1,116 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.benchmarks;
+
+import org.jeasy.rules.api.Facts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares fact lookup and update costs of the name indexed {@link Facts}
+ * with the previous set based implementation ({@link LegacyFacts}).
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FactsBenchmark {
+
+    @Param({"10", "40", "80"})
+    private int factCount;
+
+    private String[] names;
+    private Facts facts;
+    private LegacyFacts legacyFacts;
+
+    @Setup
+    public void setUp() {
+        names = new String[factCount];
+        facts = new Facts();
+        legacyFacts = new LegacyFacts();
+        for (int i = 0; i < factCount; i++) {
+            names[i] = "fact" + i;
+            facts.put(names[i], i);
+            legacyFacts.put(names[i], i);
+        }
+    }
+
+    @Benchmark
+    public void getAll(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(facts.get(name));
+        }
+    }
+
+    @Benchmark
+    public void getAllLegacy(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(legacyFacts.get(name));
+        }
+    }
+
+    @Benchmark
+    public void putAll() {
+        for (int i = 0; i < names.length; i++) {
+            facts.put(names[i], i);
+        }
+    }
+
+    @Benchmark
+    public void putAllLegacy() {
+        for (int i = 0; i < names.length; i++) {
+            legacyFacts.put(names[i], i);
+        }
+    }
+
+    @Benchmark
+    public void removeAndPut() {
+        String name = names[names.length / 2];
+        facts.remove(name);
+        facts.put(name, 0);
+    }
+
+    @Benchmark
+    public void removeAndPutLegacy() {
+        String name = names[names.length / 2];
+        legacyFacts.remove(name);
+        legacyFacts.put(name, 0);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.benchmarks;
+
+import org.jeasy.rules.annotation.Action;
+import org.jeasy.rules.annotation.Condition;
+import org.jeasy.rules.annotation.Fact;
+import org.jeasy.rules.annotation.Priority;
+import org.jeasy.rules.annotation.Rule;
+import org.jeasy.rules.api.Facts;
+
+/**
+ * Annotated rule processing adults, used in rules engine benchmarks. Instances are
+ * ordered by priority, so that many instances can be registered in the same rule set.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+@Rule(description = "process adults")
+public class ProcessAdultRule implements Comparable<ProcessAdultRule> {
+
+    private final int priority;
+
+    public ProcessAdultRule(int priority) {
+        this.priority = priority;
+    }
+
+    @Condition
+    public boolean isAdult(@Fact("age") int age, @Fact("processed") boolean processed) {
+        return age >= 18 && !processed;
+    }
+
+    @Action
+    public void process(Facts facts) {
+        facts.put("processed", true);
+    }
+
+    @Priority
+    public int getPriority() {
+        return priority;
+    }
+
+    @Override
+    public int compareTo(ProcessAdultRule otherRule) {
+        return Integer.compare(priority, otherRule.priority);
+    }
+
+    @Override
+    public String toString() {
+        return "rule" + priority;
+    }
+}
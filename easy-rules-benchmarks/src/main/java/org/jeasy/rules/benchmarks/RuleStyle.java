@@ -0,0 +1,206 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.benchmarks;
+
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.Rules;
+import org.jeasy.rules.core.RuleBuilder;
+import org.jeasy.rules.jexl.JexlRule;
+import org.jeasy.rules.mvel.MVELRule;
+import org.jeasy.rules.spel.SpELRule;
+import org.jeasy.rules.support.composite.ActivationRuleGroup;
+import org.jeasy.rules.support.composite.CompositeRule;
+import org.jeasy.rules.support.composite.UnitRuleGroup;
+import org.jeasy.rules.support.expression.CompilationMode;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+
+import java.util.function.IntFunction;
+
+/**
+ * Styles of rules compared in rules engine benchmarks. Whatever the style, rule {@code i}
+ * has priority {@code i}, is triggered when the fact {@code age} is at least 18 and the fact
+ * {@code processed} is false, and sets the fact {@code processed} to true.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public enum RuleStyle {
+
+    /**
+     * Annotated rules adapted with {@link org.jeasy.rules.core.RuleProxy}.
+     */
+    ANNOTATED {
+        @Override
+        Object createRule(int i) {
+            return new ProcessAdultRule(i);
+        }
+    },
+
+    /**
+     * Rules created with a {@link RuleBuilder} and lambda expressions.
+     */
+    LAMBDA {
+        @Override
+        Object createRule(int i) {
+            return new RuleBuilder()
+                    .name("rule" + i)
+                    .priority(i)
+                    .when(facts -> facts.<Integer>get("age") >= 18 && !facts.<Boolean>get("processed"))
+                    .then(facts -> facts.put("processed", true))
+                    .build();
+        }
+    },
+
+    /**
+     * {@link MVELRule}s.
+     */
+    MVEL {
+        @Override
+        Object createRule(int i) {
+            return new MVELRule()
+                    .name("rule" + i)
+                    .priority(i)
+                    .when("age >= 18 && !processed")
+                    .then("processed = true");
+        }
+    },
+
+    /**
+     * {@link SpELRule}s.
+     */
+    SPEL {
+        @Override
+        Object createRule(int i) {
+            return new SpELRule()
+                    .name("rule" + i)
+                    .priority(i)
+                    .when("#{ #age >= 18 && !#processed }")
+                    .then("#{ #processed = true }");
+        }
+    },
+
+    /**
+     * {@link SpELRule}s compiled to bytecode by SpEL.
+     */
+    SPEL_COMPILED {
+        @Override
+        Object createRule(int i) {
+            return new SpELRule(ParserContext.TEMPLATE_EXPRESSION, null, CompilationMode.EAGER, SpelCompilerMode.IMMEDIATE)
+                    .name("rule" + i)
+                    .priority(i)
+                    .when("#{ #age >= 18 && !#processed }")
+                    .then("#{ #processed = true }");
+        }
+    },
+
+    /**
+     * {@link JexlRule}s.
+     */
+    JEXL {
+        @Override
+        Object createRule(int i) {
+            return new JexlRule()
+                    .name("rule" + i)
+                    .priority(i)
+                    .when("age >= 18 && !processed")
+                    .then("processed = true");
+        }
+    },
+
+    /**
+     * {@link UnitRuleGroup}s of {@value #GROUP_SIZE} rules created with a {@link RuleBuilder}.
+     */
+    UNIT_GROUP {
+        @Override
+        Object createRule(int i) {
+            return LAMBDA.createRule(i);
+        }
+
+        @Override
+        Rules createRules(int ruleCount) {
+            return createGroups(ruleCount, i -> new UnitRuleGroup("group" + i, "unit group", i));
+        }
+    },
+
+    /**
+     * {@link ActivationRuleGroup}s of {@value #GROUP_SIZE} rules created with a {@link RuleBuilder}.
+     */
+    ACTIVATION_GROUP {
+        @Override
+        Object createRule(int i) {
+            return LAMBDA.createRule(i);
+        }
+
+        @Override
+        Rules createRules(int ruleCount) {
+            return createGroups(ruleCount, i -> new ActivationRuleGroup("group" + i, "activation group", i));
+        }
+    };
+
+    /**
+     * Number of rules in composite rules.
+     */
+    public static final int GROUP_SIZE = 10;
+
+    abstract Object createRule(int i);
+
+    /**
+     * Create a rule set of this style.
+     *
+     * @param ruleCount number of rules (leaf rules in composite rules)
+     * @return a new rule set
+     */
+    Rules createRules(int ruleCount) {
+        Rules rules = new Rules();
+        for (int i = 0; i < ruleCount; i++) {
+            rules.register(createRule(i));
+        }
+        return rules;
+    }
+
+    /**
+     * Create facts triggering rules of any style.
+     *
+     * @return new facts
+     */
+    static Facts createFacts() {
+        Facts facts = new Facts();
+        facts.put("age", 30);
+        facts.put("processed", false);
+        return facts;
+    }
+
+    private static Rules createGroups(int ruleCount, IntFunction<CompositeRule> groupFactory) {
+        Rules rules = new Rules();
+        int groupCount = Math.max(1, ruleCount / GROUP_SIZE);
+        for (int g = 0; g < groupCount; g++) {
+            CompositeRule group = groupFactory.apply(g);
+            for (int i = 0; i < GROUP_SIZE; i++) {
+                group.addRule(LAMBDA.createRule(g * GROUP_SIZE + i));
+            }
+            rules.register(group);
+        }
+        return rules;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.benchmarks;
+
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.Rule;
+import org.jeasy.rules.api.Rules;
+import org.jeasy.rules.api.RulesEngineParameters;
+import org.jeasy.rules.core.DefaultRulesEngine;
+import org.jeasy.rules.core.IncrementalInferenceRulesEngine;
+import org.jeasy.rules.core.InferenceRulesEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DefaultRulesEngine#fire(Rules, Facts)}, {@link DefaultRulesEngine#check(Rules, Facts)}
+ * {@link InferenceRulesEngine#fire(Rules, Facts)} and {@link IncrementalInferenceRulesEngine#fire(Rules, Facts)}
+ * for each {@link RuleStyle} and different numbers of rules.
+ *
+ * When firing rules, the first rule is triggered and marks facts as processed, so that
+ * remaining rules are evaluated to false. When checking rules, all rules are evaluated to true,
+ * either sequentially or in parallel in the common fork/join pool.
+ * The inference engine evaluates all rules once to select candidates, fires them, and evaluates
+ * all rules once more to find out that no rule is triggered anymore. The incremental inference
+ * engine only re-evaluates the fired rule and rules depending on facts changed by its action.
+ * With {@link RulesEngineParameters#isEvaluateCandidatesOnce()}, candidates are not evaluated
+ * again when they are fired.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RulesEngineBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int ruleCount;
+
+    @Param
+    private RuleStyle style;
+
+    private Rules rules;
+    private DefaultRulesEngine defaultRulesEngine;
+    private DefaultRulesEngine parallelCheckRulesEngine;
+    private InferenceRulesEngine inferenceRulesEngine;
+    private InferenceRulesEngine singleEvaluationInferenceRulesEngine;
+    private IncrementalInferenceRulesEngine incrementalInferenceRulesEngine;
+
+    @Setup
+    public void setUp() {
+        rules = style.createRules(ruleCount);
+        defaultRulesEngine = new DefaultRulesEngine();
+        parallelCheckRulesEngine = new DefaultRulesEngine(new RulesEngineParameters(), ForkJoinPool.commonPool());
+        inferenceRulesEngine = new InferenceRulesEngine();
+        singleEvaluationInferenceRulesEngine = new InferenceRulesEngine(new RulesEngineParameters().evaluateCandidatesOnce(true));
+        incrementalInferenceRulesEngine = new IncrementalInferenceRulesEngine();
+    }
+
+    @Benchmark
+    public Facts fire() {
+        Facts facts = RuleStyle.createFacts();
+        defaultRulesEngine.fire(rules, facts);
+        return facts;
+    }
+
+    @Benchmark
+    public Map<Rule, Boolean> check() {
+        return defaultRulesEngine.check(rules, RuleStyle.createFacts());
+    }
+
+    @Benchmark
+    public Map<Rule, Boolean> parallelCheck() {
+        return parallelCheckRulesEngine.check(rules, RuleStyle.createFacts());
+    }
+
+    @Benchmark
+    public Facts inferenceFire() {
+        Facts facts = RuleStyle.createFacts();
+        inferenceRulesEngine.fire(rules, facts);
+        return facts;
+    }
+
+    @Benchmark
+    public Facts singleEvaluationInferenceFire() {
+        Facts facts = RuleStyle.createFacts();
+        singleEvaluationInferenceRulesEngine.fire(rules, facts);
+        return facts;
+    }
+
+    @Benchmark
+    public Facts incrementalInferenceFire() {
+        Facts facts = RuleStyle.createFacts();
+        incrementalInferenceRulesEngine.fire(rules, facts);
+        return facts;
+    }
+
+}
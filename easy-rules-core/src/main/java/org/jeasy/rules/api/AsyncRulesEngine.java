@@ -0,0 +1,64 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.api;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous rules engine interface.
+ *
+ * Rules are fired on an executor rather than in the calling thread, and rules having
+ * asynchronous actions (see {@link Rule#executeAsync(Facts)} and {@link AsyncAction})
+ * do not block a thread while their actions are executed.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public interface AsyncRulesEngine {
+
+    /**
+     * Return the rules engine parameters.
+     *
+     * @return The rules engine parameters
+     */
+    RulesEngineParameters getParameters();
+
+    /**
+     * Fire all registered rules on given facts asynchronously.
+     *
+     * @param rules to fire
+     * @param facts known facts
+     * @return a future completed when rules have been fired
+     */
+    CompletableFuture<Void> fireAsync(Rules rules, Facts facts);
+
+    /**
+     * Check rules asynchronously without firing them.
+     *
+     * @param rules to check
+     * @param facts known facts
+     * @return a future of a map with the result of evaluation of each rule
+     */
+    CompletableFuture<Map<Rule, Boolean>> checkAsync(Rules rules, Facts facts);
+}
@@ -0,0 +1,114 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.api;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Parameters of a batch of facts fired with {@link RulesEngine#fireBatch(Rules, Iterable, BatchParameters)}.
+ *
+ * <ul>
+ *     <li>parallelism: maximum number of facts fired concurrently, defaults to the number of available processors</li>
+ *     <li>preserveOrder: whether outcomes are delivered in the order of facts, defaults to true</li>
+ *     <li>executor: executor firing facts, defaults to a pool of <code>parallelism</code> threads created for each batch</li>
+ * </ul>
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class BatchParameters {
+
+    /**
+     * Maximum number of facts fired concurrently.
+     */
+    private int parallelism;
+
+    /**
+     * Parameter to deliver outcomes in the order of facts.
+     */
+    private boolean preserveOrder;
+
+    /**
+     * Executor firing facts, or null to use a pool created for each batch.
+     */
+    private Executor executor;
+
+    /**
+     * Create a new {@link BatchParameters} with default values.
+     */
+    public BatchParameters() {
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+        this.preserveOrder = true;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be greater than zero");
+        }
+        this.parallelism = parallelism;
+    }
+
+    public BatchParameters parallelism(final int parallelism) {
+        setParallelism(parallelism);
+        return this;
+    }
+
+    public boolean isPreserveOrder() {
+        return preserveOrder;
+    }
+
+    public void setPreserveOrder(final boolean preserveOrder) {
+        this.preserveOrder = preserveOrder;
+    }
+
+    public BatchParameters preserveOrder(final boolean preserveOrder) {
+        setPreserveOrder(preserveOrder);
+        return this;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public void setExecutor(final Executor executor) {
+        this.executor = executor;
+    }
+
+    public BatchParameters executor(final Executor executor) {
+        setExecutor(executor);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "Batch parameters { " +
+                "parallelism = " + parallelism +
+                ", preserveOrder = " + preserveOrder +
+                ", executor = " + executor +
+                " }";
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.api;
+
+import org.jeasy.rules.core.RuleProxy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Rules} set that can be modified while it is fired by other threads.
+ *
+ * Registered rules are published as immutable {@link RulesPlan} snapshots through an
+ * atomic reference: {@link #compile()}, {@link #iterator()}, {@link #size()} and
+ * {@link #isEmpty()} read the current snapshot without locking, while modifications
+ * copy the current snapshot and atomically publish a new one. A fire that has already
+ * compiled the rule set keeps firing its snapshot, while fires started after a
+ * modification see the new rules.
+ *
+ * Modifications are linearizable but copy all registered rules, so this class is
+ * intended for rule sets that are fired much more often than they are modified.
+ * {@link #replace(Object...)} swaps a whole rule set at once.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class ConcurrentRules extends Rules {
+
+    private final AtomicReference<RulesPlan> snapshot = new AtomicReference<>(new RulesPlan(Collections.emptySet()));
+
+    /**
+     * Create a new {@link ConcurrentRules} object.
+     *
+     * @param rules to register
+     */
+    public ConcurrentRules(Set<Rule> rules) {
+        register(rules.toArray());
+    }
+
+    /**
+     * Create a new {@link ConcurrentRules} object.
+     *
+     * @param rules to register
+     */
+    public ConcurrentRules(Object... rules) {
+        register(rules);
+    }
+
+    @Override
+    public void register(Object... rules) {
+        List<Rule> rulesToRegister = asRules(rules);
+        update(registeredRules -> registeredRules.addAll(rulesToRegister));
+    }
+
+    @Override
+    public void unregister(Object... rules) {
+        List<Rule> rulesToUnregister = asRules(rules);
+        update(registeredRules -> rulesToUnregister.forEach(registeredRules::remove));
+    }
+
+    @Override
+    public void unregister(final String ruleName) {
+        Objects.requireNonNull(ruleName);
+        update(registeredRules -> registeredRules.removeIf(rule -> rule.getName().equalsIgnoreCase(ruleName)));
+    }
+
+    /**
+     * Atomically replace all registered rules with the given ones. Fires started
+     * after this call see either the previous rules or the new ones, never a mix
+     * of both.
+     *
+     * @param rules to register instead of currently registered rules, must not be null
+     */
+    public void replace(Object... rules) {
+        List<Rule> newRules = asRules(rules);
+        update(registeredRules -> {
+            registeredRules.clear();
+            registeredRules.addAll(newRules);
+        });
+    }
+
+    @Override
+    public void clear() {
+        snapshot.set(new RulesPlan(Collections.emptySet()));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return snapshot.get().isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return snapshot.get().size();
+    }
+
+    /**
+     * Return an iterator on the current snapshot of rules. The iterator is not
+     * affected by later modifications of this rule set.
+     *
+     * @return an iterator on the rules set
+     */
+    @Override
+    public Iterator<Rule> iterator() {
+        return snapshot.get().iterator();
+    }
+
+    /**
+     * Return the current snapshot of rules. Unlike {@link Rules#compile()}, this
+     * method never compiles rules: snapshots are compiled when rules are modified.
+     *
+     * @return an immutable plan of the rules currently registered
+     */
+    @Override
+    public RulesPlan compile() {
+        return snapshot.get();
+    }
+
+    private void update(Consumer<Set<Rule>> modification) {
+        RulesPlan current;
+        RulesPlan updated;
+        do {
+            current = snapshot.get();
+            Set<Rule> rules = new TreeSet<>();
+            for (Rule rule : current) {
+                rules.add(rule);
+            }
+            modification.accept(rules);
+            updated = new RulesPlan(rules);
+        } while (!snapshot.compareAndSet(current, updated));
+    }
+
+    private static List<Rule> asRules(Object... rules) {
+        Objects.requireNonNull(rules);
+        List<Rule> result = new ArrayList<>(rules.length);
+        for (Object rule : rules) {
+            Objects.requireNonNull(rule);
+            result.add(RuleProxy.asRule(rule));
+        }
+        return result;
+    }
+}
@@ -23,22 +23,33 @@
  */
 package org.jeasy.rules.api;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class encapsulates a set of facts and represents a facts namespace.
  * Facts have unique names within a <code>Facts</code> object.
  *
+ * Facts are indexed by name, so that lookup, addition and removal of a fact
+ * are done in constant time. Facts are iterated in insertion order.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 public class Facts implements Iterable<Fact<?>> {
 
-    private final Set<Fact<?>> facts = new HashSet<>();
+    private final Map<String, Fact<?>> facts = new LinkedHashMap<>();
+    private final Map<String, Object> mapView = new MapView();
+    // created eagerly rather than under a lock, which would pin virtual threads on first access
+    private final Map<Object, Object> evaluationContext = new ConcurrentHashMap<>();
+    private final AtomicInteger evaluationPasses = new AtomicInteger();
 
     /**
      * Add a fact, replacing any fact with the same name.
@@ -49,11 +60,7 @@ public class Facts implements Iterable<Fact<?>> {
     public <T> void put(String name, T value) {
         Objects.requireNonNull(name, "fact name must not be null");
         Objects.requireNonNull(value, "fact value must not be null");
-        Fact<?> retrievedFact = getFact(name);
-        if (retrievedFact != null) {
-            remove(retrievedFact);
-        }
-        add(new Fact<>(name, value));
+        facts.put(name, new Fact<>(name, value));
     }
     
     /**
@@ -63,11 +70,7 @@ public class Facts implements Iterable<Fact<?>> {
      */
     public <T> void add(Fact<T> fact) {
         Objects.requireNonNull(fact, "fact must not be null");
-        Fact<?> retrievedFact = getFact(fact.getName());
-        if (retrievedFact != null) {
-            remove(retrievedFact);
-        }
-        facts.add(fact);
+        facts.put(fact.getName(), fact);
     }
 
     /**
@@ -77,10 +80,7 @@ public class Facts implements Iterable<Fact<?>> {
      */
     public void remove(String factName) {
         Objects.requireNonNull(factName, "fact name must not be null");
-        Fact<?> fact = getFact(factName);
-        if (fact != null) {
-            remove(fact);
-        }
+        facts.remove(factName);
     }
 
     /**
@@ -90,7 +90,7 @@ public class Facts implements Iterable<Fact<?>> {
      */
     public <T> void remove(Fact<T> fact) {
         Objects.requireNonNull(fact, "fact must not be null");
-        facts.remove(fact);
+        facts.remove(fact.getName());
     }
 
     /**
@@ -120,10 +120,7 @@ public class Facts implements Iterable<Fact<?>> {
      */
     public Fact<?> getFact(String factName) {
         Objects.requireNonNull(factName, "fact name must not be null");
-        return facts.stream()
-                .filter(fact -> fact.getName().equals(factName))
-                .findFirst()
-                .orElse(null);
+        return facts.get(factName);
     }
 
     /**
@@ -131,15 +128,79 @@ public class Facts implements Iterable<Fact<?>> {
      * facts outside of the rules engine (aka other than manipulating them through rules).
      *
      * @return a copy of the current facts as a {@link HashMap}
+     * @see #asMapView()
      */
     public Map<String, Object> asMap() {
         Map<String, Object> map = new HashMap<>();
-        for (Fact<?> fact : facts) {
+        for (Fact<?> fact : facts.values()) {
             map.put(fact.getName(), fact.getValue());
         }
         return map;
     }
 
+    /**
+     * Return a read-only view of the facts as a map. Unlike {@link #asMap()}, this
+     * method does not copy facts: the returned map is backed by this
+     * <code>Facts</code> object, so changes to facts are reflected in the map.
+     * Any attempt to modify the returned map results in an {@link UnsupportedOperationException}.
+     *
+     * @return a read-only map view of the current facts
+     */
+    public Map<String, Object> asMapView() {
+        return mapView;
+    }
+
+    /**
+     * Return the evaluation context of these facts. Rules may use this context to keep
+     * state between their evaluation and their execution when rules are fired on these
+     * facts (for example, a composite rule may keep the composing rules that evaluated to
+     * true), instead of keeping this state in rule instances, so that rules can be shared
+     * by concurrent fires on different facts.
+     *
+     * Entries of the evaluation context are not facts: they are neither returned by
+     * {@link #iterator()} nor by {@link #asMap()}. The returned map is thread-safe, does not
+     * accept null keys or values, and is cleared when facts are cleared. Rules engines also
+     * clear it at the end of each firing or checking pass (see {@link #endEvaluationPass()}),
+     * so state kept for rules evaluated but not executed does not outlive the pass. Keys should be
+     * private to the rule using them, like a dedicated <code>new Object()</code>.
+     *
+     * @return the evaluation context of these facts
+     */
+    public Map<Object, Object> getEvaluationContext() {
+        return evaluationContext;
+    }
+
+    /**
+     * Clear the evaluation context of these facts, without clearing facts.
+     *
+     * @see #getEvaluationContext()
+     */
+    public void clearEvaluationContext() {
+        evaluationContext.clear();
+    }
+
+    /**
+     * Notify that a rules engine starts a firing or checking pass on these facts.
+     * Each call must be followed by a call to {@link #endEvaluationPass()}.
+     */
+    public void startEvaluationPass() {
+        evaluationPasses.incrementAndGet();
+    }
+
+    /**
+     * Notify that a rules engine ends a firing or checking pass on these facts. The
+     * evaluation context is cleared when no other pass is in progress, so that a pass
+     * started by an action (for example, a rule firing an engine on the same facts from
+     * a rule group) does not clear the state kept by rules of the enclosing pass.
+     *
+     * @see #getEvaluationContext()
+     */
+    public void endEvaluationPass() {
+        if (evaluationPasses.decrementAndGet() == 0) {
+            clearEvaluationContext();
+        }
+    }
+
     /**
      * Return an iterator on the set of facts. It is not intended to remove
      * facts using this iterator outside of the rules engine (aka other than doing it through rules)
@@ -148,7 +209,7 @@ public class Facts implements Iterable<Fact<?>> {
      */
     @Override
     public Iterator<Fact<?>> iterator() {
-        return facts.iterator();
+        return facts.values().iterator();
     }
 
     /**
@@ -156,11 +217,12 @@ public class Facts implements Iterable<Fact<?>> {
      */
     public void clear() {
         facts.clear();
+        clearEvaluationContext();
     }
 
     @Override
     public String toString() {
-        Iterator<Fact<?>> iterator = facts.iterator();
+        Iterator<Fact<?>> iterator = facts.values().iterator();
         StringBuilder stringBuilder = new StringBuilder("[");
         while (iterator.hasNext()) {
             stringBuilder.append(iterator.next().toString());
@@ -171,4 +233,57 @@ public class Facts implements Iterable<Fact<?>> {
         stringBuilder.append("]");
         return stringBuilder.toString();
     }
+
+    private class MapView extends AbstractMap<String, Object> {
+
+        private final Set<Entry<String, Object>> entrySet = new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                Iterator<Fact<?>> iterator = facts.values().iterator();
+                return new Iterator<Entry<String, Object>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        Fact<?> fact = iterator.next();
+                        return new SimpleImmutableEntry<>(fact.getName(), fact.getValue());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return facts.size();
+            }
+        };
+
+        @Override
+        public Object get(Object key) {
+            Fact<?> fact = facts.get(key);
+            return fact != null ? fact.getValue() : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return facts.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return facts.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return facts.isEmpty();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return entrySet;
+        }
+    }
 }
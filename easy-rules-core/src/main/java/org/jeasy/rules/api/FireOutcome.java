@@ -0,0 +1,92 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.api;
+
+/**
+ * Outcome of firing rules on one facts of a batch
+ * (see {@link RulesEngine#fireBatch(Rules, Iterable, BatchParameters)}) or of a stream of facts.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public final class FireOutcome {
+
+    private final long index;
+    private final Facts facts;
+    private final RuntimeException error;
+
+    /**
+     * Create a new {@link FireOutcome}.
+     *
+     * @param index position of the facts in the batch or stream of facts
+     * @param facts on which rules have been fired
+     * @param error thrown by the rules engine, or null if rules have been fired successfully
+     */
+    public FireOutcome(final long index, final Facts facts, final RuntimeException error) {
+        this.index = index;
+        this.facts = facts;
+        this.error = error;
+    }
+
+    /**
+     * Return the position of the facts in the batch.
+     *
+     * @return the position of the facts in the batch
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * Return the facts, as modified by the actions of fired rules.
+     *
+     * @return the facts
+     */
+    public Facts getFacts() {
+        return facts;
+    }
+
+    /**
+     * Return the error thrown by the rules engine when firing rules on the facts.
+     * Errors of rules actions are not reported here, they are reported to rule listeners.
+     *
+     * @return the error thrown by the rules engine, or null if rules have been fired successfully
+     */
+    public RuntimeException getError() {
+        return error;
+    }
+
+    /**
+     * Check if rules have been fired successfully on the facts.
+     *
+     * @return true if the rules engine did not throw an error, false otherwise
+     */
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return "FireOutcome { index = " + index + ", facts = " + facts + ", error = " + error + " }";
+    }
+}
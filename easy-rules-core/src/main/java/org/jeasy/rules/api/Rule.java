@@ -23,6 +23,11 @@
  */
 package org.jeasy.rules.api;
 
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 /**
  * Abstraction for a rule that can be fired by a rules engine.
  *
@@ -72,6 +77,30 @@ public interface Rule extends Comparable<Rule> {
         return DEFAULT_PRIORITY;
     }
 
+    /**
+     * Getter for the names of the facts required to evaluate the rule's condition(s).
+     * A rules engine does not evaluate a rule if one of its required facts is missing,
+     * and considers it as not triggered instead.
+     *
+     * @return names of required facts, empty by default
+     */
+    default Set<String> getRequiredFacts() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Getter for the names of the facts the rule's condition(s) depend on, including its
+     * required facts. A dependency which is not required is optional: the rule is still
+     * evaluated when it is missing. Rules engines re-evaluate a rule after its dependencies
+     * have changed. An empty set means that the dependencies of the rule are unknown, in
+     * which case the rule is considered to depend on any fact.
+     *
+     * @return names of the facts the rule depends on, empty (unknown) by default
+     */
+    default Set<String> getDependencies() {
+        return Collections.emptySet();
+    }
+
     /**
      * This method implements the rule's condition(s).
      * <strong>Implementations should handle any runtime exception and return true/false accordingly</strong>
@@ -86,4 +115,23 @@ public interface Rule extends Comparable<Rule> {
      */
     void execute(Facts facts) throws Exception;
 
+    /**
+     * This method implements the rule's action(s) asynchronously, and is used by
+     * {@link AsyncRulesEngine}s. By default, actions are executed synchronously
+     * with {@link #execute(Facts)}.
+     *
+     * @return a stage completed when action(s) have been performed, or completed
+     * exceptionally if an exception occurs when performing action(s)
+     */
+    default CompletionStage<Void> executeAsync(Facts facts) {
+        CompletableFuture<Void> execution = new CompletableFuture<>();
+        try {
+            execute(facts);
+            execution.complete(null);
+        } catch (Exception exception) {
+            execution.completeExceptionally(exception);
+        }
+        return execution;
+    }
+
 }
@@ -84,4 +84,15 @@ public interface RuleListener {
      */
     default void onFailure(Rule rule, Facts facts, Exception exception) { }
 
+    /**
+     * Check if this listener may be called concurrently by multiple threads. Rules engines
+     * evaluating rules in parallel (see {@link org.jeasy.rules.core.DefaultRulesEngine#check(Rules, Facts)})
+     * serialize calls to listeners that do not support concurrent callbacks.
+     *
+     * @return true if this listener is thread-safe, false by default
+     */
+    default boolean supportsConcurrentCallbacks() {
+        return false;
+    }
+
 }
@@ -39,11 +39,15 @@ import java.util.TreeSet;
  * method, so {@link Rule}'s implementations are expected to correctly implement
  * {@code compareTo} to ensure unique rule names within a single namespace.
  *
+ * This class is not thread-safe: use {@link ConcurrentRules} to modify rules
+ * while they are fired by other threads.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 public class Rules implements Iterable<Rule> {
 
     private Set<Rule> rules = new TreeSet<>();
+    private RulesPlan plan;
 
     /**
      * Create a new {@link Rules} object.
@@ -83,6 +87,7 @@ public class Rules implements Iterable<Rule> {
             Objects.requireNonNull(rule);
             this.rules.add(RuleProxy.asRule(rule));
         }
+        this.plan = null;
     }
 
     /**
@@ -96,6 +101,7 @@ public class Rules implements Iterable<Rule> {
             Objects.requireNonNull(rule);
             this.rules.remove(RuleProxy.asRule(rule));
         }
+        this.plan = null;
     }
 
     /**
@@ -125,6 +131,7 @@ public class Rules implements Iterable<Rule> {
      */
     public void clear() {
         rules.clear();
+        this.plan = null;
     }
 
     /**
@@ -146,6 +153,23 @@ public class Rules implements Iterable<Rule> {
         return rules.iterator();
     }
 
+    /**
+     * Compile the rule set into an immutable {@link RulesPlan}. The plan is cached
+     * until the rule set is modified with one of the register/unregister/clear methods.
+     * Rules engines fire rules through this plan, so that firing the same rule set
+     * repeatedly does not pay for its mutability on every call.
+     *
+     * @return an immutable plan of the rules currently registered
+     */
+    public RulesPlan compile() {
+        RulesPlan plan = this.plan;
+        if (plan == null) {
+            plan = new RulesPlan(rules);
+            this.plan = plan;
+        }
+        return plan;
+    }
+
     private Rule findRuleByName(String ruleName) {
         return rules.stream()
                 .filter(rule -> rule.getName().equalsIgnoreCase(ruleName))
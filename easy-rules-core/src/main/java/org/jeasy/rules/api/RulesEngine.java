@@ -23,9 +23,12 @@
  */
 package org.jeasy.rules.api;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Rules engine interface.
@@ -71,4 +74,57 @@ public interface RulesEngine {
     default Map<Rule, Boolean> check(Rules rules, Facts facts) {
         return Collections.emptyMap();
     }
+
+    /**
+     * Fire all registered rules on each facts of a batch, and return the outcome for each facts.
+     * Outcomes are returned in the order of facts if {@link BatchParameters#isPreserveOrder()} is set,
+     * and in completion order otherwise. A stream of facts can be fired with {@code fireBatch(rules, stream::iterator, parameters)}.
+     *
+     * Since facts are fired concurrently, the rules engine, its listeners and the rules must be thread-safe.
+     * The rule set is compiled once (see {@link Rules#compile()}) and shared by all workers, so it
+     * must not be modified while the batch is fired.
+     *
+     * @param rules to fire
+     * @param batch of facts
+     * @param parameters of the batch
+     * @return the outcomes of firing rules on each facts
+     */
+    default List<FireOutcome> fireBatch(Rules rules, Iterable<Facts> batch, BatchParameters parameters) {
+        List<FireOutcome> outcomes = new ArrayList<>();
+        fireBatch(rules, batch, parameters, outcomes::add);
+        return outcomes;
+    }
+
+    /**
+     * Fire all registered rules on each facts of a batch, and pass the outcome for each facts
+     * to the given consumer, in the calling thread. Unlike {@link #fireBatch(Rules, Iterable, BatchParameters)},
+     * outcomes are not retained, which makes this method suitable for large batches.
+     *
+     * This default implementation fires facts one after the other in the calling thread.
+     * Rules engines extending {@link org.jeasy.rules.core.AbstractRulesEngine} fire facts
+     * concurrently as specified by the batch parameters.
+     *
+     * @param rules to fire
+     * @param batch of facts
+     * @param parameters of the batch
+     * @param outcomeConsumer consumer of outcomes, exceptions thrown by the consumer stop the batch
+     *                        and are propagated to the caller
+     * @see #fireBatch(Rules, Iterable, BatchParameters)
+     */
+    default void fireBatch(Rules rules, Iterable<Facts> batch, BatchParameters parameters, Consumer<? super FireOutcome> outcomeConsumer) {
+        Objects.requireNonNull(batch, "Facts batch must not be null");
+        Objects.requireNonNull(outcomeConsumer, "Outcome consumer must not be null");
+        long index = 0;
+        for (Facts facts : batch) {
+            FireOutcome outcome;
+            try {
+                fire(rules, facts);
+                outcome = new FireOutcome(index++, facts, null);
+            } catch (RuntimeException e) {
+                outcome = new FireOutcome(index++, facts, e);
+            }
+            // exceptions thrown by the consumer are not fire errors and stop the batch
+            outcomeConsumer.accept(outcome);
+        }
+    }
 }
@@ -34,6 +34,15 @@ import org.jeasy.rules.core.InferenceRulesEngine;
  *     <li>When parameters are used with a {@link InferenceRulesEngine}, they are applied on <strong>candidate rules in each iteration</strong>.</li>
  * </ul>
  *
+ * Parameters {@code evaluateCandidatesOnce} and {@code recheckCandidatesOnFactChange} only apply
+ * to inference rules engines. By default, candidate rules selected in an inference cycle are
+ * evaluated again when they are fired. When {@code evaluateCandidatesOnce} is set, they are
+ * fired without being evaluated again, unless {@code recheckCandidatesOnFactChange} is set and
+ * an earlier action of the cycle has changed a fact they depend on.
+ *
+ * Rules not evaluated because of a missing required fact are reported at debug level, or with
+ * a warning when {@code missingFactWarnings} is set.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 public class RulesEngineParameters {
@@ -63,6 +72,23 @@ public class RulesEngineParameters {
      */
     private int priorityThreshold;
 
+    /**
+     * Parameter to evaluate candidate rules only once per inference cycle.
+     */
+    private boolean evaluateCandidatesOnce;
+
+    /**
+     * Parameter to re-evaluate a candidate rule when an earlier action of the same
+     * inference cycle has changed a fact it depends on.
+     */
+    private boolean recheckCandidatesOnFactChange;
+
+    /**
+     * Parameter to log a warning (at most once per minute for each rule and fact) when a rule
+     * is not evaluated because one of its required facts is missing.
+     */
+    private boolean missingFactWarnings;
+
     /**
      * Create a new {@link RulesEngineParameters} with default values.
      */
@@ -137,6 +163,45 @@ public class RulesEngineParameters {
         return this;
     }
 
+    public boolean isEvaluateCandidatesOnce() {
+        return evaluateCandidatesOnce;
+    }
+
+    public void setEvaluateCandidatesOnce(final boolean evaluateCandidatesOnce) {
+        this.evaluateCandidatesOnce = evaluateCandidatesOnce;
+    }
+
+    public RulesEngineParameters evaluateCandidatesOnce(final boolean evaluateCandidatesOnce) {
+        setEvaluateCandidatesOnce(evaluateCandidatesOnce);
+        return this;
+    }
+
+    public boolean isRecheckCandidatesOnFactChange() {
+        return recheckCandidatesOnFactChange;
+    }
+
+    public void setRecheckCandidatesOnFactChange(final boolean recheckCandidatesOnFactChange) {
+        this.recheckCandidatesOnFactChange = recheckCandidatesOnFactChange;
+    }
+
+    public RulesEngineParameters recheckCandidatesOnFactChange(final boolean recheckCandidatesOnFactChange) {
+        setRecheckCandidatesOnFactChange(recheckCandidatesOnFactChange);
+        return this;
+    }
+
+    public boolean isMissingFactWarnings() {
+        return missingFactWarnings;
+    }
+
+    public void setMissingFactWarnings(final boolean missingFactWarnings) {
+        this.missingFactWarnings = missingFactWarnings;
+    }
+
+    public RulesEngineParameters missingFactWarnings(final boolean missingFactWarnings) {
+        setMissingFactWarnings(missingFactWarnings);
+        return this;
+    }
+
     @Override
     public String toString() {
         return "Engine parameters { " +
@@ -144,6 +209,9 @@ public class RulesEngineParameters {
                 ", skipOnFirstNonTriggeredRule = " + skipOnFirstNonTriggeredRule +
                 ", skipOnFirstFailedRule = " + skipOnFirstFailedRule +
                 ", priorityThreshold = " + priorityThreshold +
+                ", evaluateCandidatesOnce = " + evaluateCandidatesOnce +
+                ", recheckCandidatesOnFactChange = " + recheckCandidatesOnFactChange +
+                ", missingFactWarnings = " + missingFactWarnings +
                 " }";
     }
 }
@@ -0,0 +1,169 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.api;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable snapshot of a {@link Rules} set, created with {@link Rules#compile()}.
+ *
+ * Rules are stored in an array in their natural order, along with their names and
+ * priorities, so that iterating over a plan does not go through the sorted set of
+ * rules nor call {@link Rule#getName()} and {@link Rule#getPriority()} on each rule.
+ *
+ * The number of rules to consider for a priority threshold is computed once and kept
+ * with the plan, since engines usually fire a plan with the same threshold.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public final class RulesPlan implements Iterable<Rule> {
+
+    private final Rule[] rules;
+    private final String[] names;
+    private final int[] priorities;
+    private volatile Limit lastLimit;
+
+    RulesPlan(final Collection<Rule> rules) {
+        this.rules = rules.toArray(new Rule[0]);
+        this.names = new String[this.rules.length];
+        this.priorities = new int[this.rules.length];
+        for (int i = 0; i < this.rules.length; i++) {
+            this.names[i] = this.rules[i].getName();
+            this.priorities[i] = this.rules[i].getPriority();
+        }
+    }
+
+    /**
+     * Return the number of rules in this plan.
+     *
+     * @return the number of rules
+     */
+    public int size() {
+        return rules.length;
+    }
+
+    /**
+     * Check if this plan is empty.
+     *
+     * @return true if this plan does not contain any rule, false otherwise
+     */
+    public boolean isEmpty() {
+        return rules.length == 0;
+    }
+
+    /**
+     * Return the rule at the given position.
+     *
+     * @param index position of the rule in the natural order of rules
+     * @return the rule at the given position
+     */
+    public Rule getRule(final int index) {
+        return rules[index];
+    }
+
+    /**
+     * Return the name of the rule at the given position.
+     *
+     * @param index position of the rule in the natural order of rules
+     * @return the name of the rule at the given position
+     */
+    public String getName(final int index) {
+        return names[index];
+    }
+
+    /**
+     * Return the priority of the rule at the given position.
+     *
+     * @param index position of the rule in the natural order of rules
+     * @return the priority of the rule at the given position
+     */
+    public int getPriority(final int index) {
+        return priorities[index];
+    }
+
+    /**
+     * Return the number of rules to consider for a priority threshold, which is the
+     * position of the first rule having a priority greater than the threshold.
+     * The result for the last requested threshold is cached.
+     *
+     * @param priorityThreshold the priority threshold
+     * @return the number of rules preceding the first rule exceeding the threshold
+     */
+    public int limit(final int priorityThreshold) {
+        Limit limit = lastLimit;
+        if (limit == null || limit.priorityThreshold != priorityThreshold) {
+            limit = new Limit(priorityThreshold, computeLimit(priorityThreshold));
+            lastLimit = limit;
+        }
+        return limit.value;
+    }
+
+    private int computeLimit(final int priorityThreshold) {
+        for (int i = 0; i < priorities.length; i++) {
+            if (priorities[i] > priorityThreshold) {
+                return i;
+            }
+        }
+        return priorities.length;
+    }
+
+    @Override
+    public Iterator<Rule> iterator() {
+        return new Iterator<Rule>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < rules.length;
+            }
+
+            @Override
+            public Rule next() {
+                if (index >= rules.length) {
+                    throw new NoSuchElementException();
+                }
+                return rules[index++];
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(names);
+    }
+
+    private static final class Limit {
+
+        private final int priorityThreshold;
+        private final int value;
+
+        private Limit(final int priorityThreshold, final int value) {
+            this.priorityThreshold = priorityThreshold;
+            this.value = value;
+        }
+    }
+}
@@ -23,7 +23,12 @@
  */
 package org.jeasy.rules.core;
 
+import org.jeasy.rules.api.BatchParameters;
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.FireOutcome;
+import org.jeasy.rules.api.Rule;
 import org.jeasy.rules.api.RuleListener;
+import org.jeasy.rules.api.Rules;
 import org.jeasy.rules.api.RulesEngine;
 import org.jeasy.rules.api.RulesEngineListener;
 import org.jeasy.rules.api.RulesEngineParameters;
@@ -31,6 +36,7 @@ import org.jeasy.rules.api.RulesEngineParameters;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Base class for {@link RulesEngine} implementations.
@@ -42,6 +48,9 @@ public abstract class AbstractRulesEngine implements RulesEngine {
     RulesEngineParameters parameters;
     List<RuleListener> ruleListeners;
     List<RulesEngineListener> rulesEngineListeners;
+    // snapshots of registered listeners, refreshed on registration and iterated when firing rules
+    RuleListener[] ruleListenerArray = new RuleListener[0];
+    RulesEngineListener[] rulesEngineListenerArray = new RulesEngineListener[0];
 
     AbstractRulesEngine() {
         this(new RulesEngineParameters());
@@ -64,7 +73,10 @@ public abstract class AbstractRulesEngine implements RulesEngine {
                 parameters.isSkipOnFirstFailedRule(),
                 parameters.isSkipOnFirstNonTriggeredRule(),
                 parameters.getPriorityThreshold()
-        );
+        )
+                .evaluateCandidatesOnce(parameters.isEvaluateCandidatesOnce())
+                .recheckCandidatesOnFactChange(parameters.isRecheckCandidatesOnFactChange())
+                .missingFactWarnings(parameters.isMissingFactWarnings());
     }
 
     /**
@@ -87,17 +99,103 @@ public abstract class AbstractRulesEngine implements RulesEngine {
 
     public void registerRuleListener(RuleListener ruleListener) {
         ruleListeners.add(ruleListener);
+        ruleListenerArray = ruleListeners.toArray(new RuleListener[0]);
     }
 
     public void registerRuleListeners(List<RuleListener> ruleListeners) {
         this.ruleListeners.addAll(ruleListeners);
+        ruleListenerArray = this.ruleListeners.toArray(new RuleListener[0]);
     }
 
     public void registerRulesEngineListener(RulesEngineListener rulesEngineListener) {
         rulesEngineListeners.add(rulesEngineListener);
+        rulesEngineListenerArray = rulesEngineListeners.toArray(new RulesEngineListener[0]);
     }
 
     public void registerRulesEngineListeners(List<RulesEngineListener> rulesEngineListeners) {
         this.rulesEngineListeners.addAll(rulesEngineListeners);
+        rulesEngineListenerArray = this.rulesEngineListeners.toArray(new RulesEngineListener[0]);
     }
+
+    /**
+     * Fire rules on each facts of a batch, with at most as many facts fired concurrently
+     * as the parallelism of the batch.
+     */
+    @Override
+    public void fireBatch(Rules rules, Iterable<Facts> batch, BatchParameters parameters, Consumer<? super FireOutcome> outcomeConsumer) {
+        new BatchFiring(this, rules, parameters, outcomeConsumer).fire(batch);
+    }
+
+    /**
+     * Check that all the facts required by a rule are known, without evaluating the rule.
+     *
+     * @param rule to check
+     * @param facts known facts
+     * @return true if all the facts required by the rule are known, false otherwise
+     */
+    boolean hasRequiredFacts(final Rule rule, final Facts facts) {
+        for (String requiredFact : rule.getRequiredFacts()) {
+            if (facts.getFact(requiredFact) == null) {
+                MissingFactReporter.report(rule.getName(), requiredFact, facts, parameters.isMissingFactWarnings());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void triggerListenersOnFailure(final Rule rule, final Exception exception, Facts facts) {
+        for (RuleListener ruleListener : ruleListenerArray) {
+            ruleListener.onFailure(rule, facts, exception);
+        }
+    }
+
+    void triggerListenersOnSuccess(final Rule rule, Facts facts) {
+        for (RuleListener ruleListener : ruleListenerArray) {
+            ruleListener.onSuccess(rule, facts);
+        }
+    }
+
+    void triggerListenersBeforeExecute(final Rule rule, Facts facts) {
+        for (RuleListener ruleListener : ruleListenerArray) {
+            ruleListener.beforeExecute(rule, facts);
+        }
+    }
+
+    boolean triggerListenersBeforeEvaluate(Rule rule, Facts facts) {
+        for (RuleListener ruleListener : ruleListenerArray) {
+            if (!ruleListener.beforeEvaluate(rule, facts)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void triggerListenersAfterEvaluate(Rule rule, Facts facts, boolean evaluationResult) {
+        for (RuleListener ruleListener : ruleListenerArray) {
+            ruleListener.afterEvaluate(rule, facts, evaluationResult);
+        }
+    }
+
+    void triggerListenersOnEvaluationError(Rule rule, Facts facts, Exception exception) {
+        for (RuleListener ruleListener : ruleListenerArray) {
+            ruleListener.onEvaluationError(rule, facts, exception);
+        }
+    }
+
+    void triggerListenersBeforeRules(Rules rule, Facts facts) {
+        for (RulesEngineListener rulesEngineListener : rulesEngineListenerArray) {
+            rulesEngineListener.beforeEvaluate(rule, facts);
+        }
+    }
+
+    void triggerListenersAfterRules(Rules rule, Facts facts) {
+        for (RulesEngineListener rulesEngineListener : rulesEngineListenerArray) {
+            rulesEngineListener.afterExecute(rule, facts);
+        }
+    }
+
+    boolean shouldBeEvaluated(Rule rule, Facts facts) {
+        return triggerListenersBeforeEvaluate(rule, facts);
+    }
+
 }
@@ -24,6 +24,7 @@
 package org.jeasy.rules.core;
 
 import java.lang.reflect.Method;
+import java.util.StringJoiner;
 
 /**
  * Utility class that associates an action method and its execution order.
@@ -48,15 +49,29 @@ class ActionMethodOrderBean implements Comparable<ActionMethodOrderBean> {
         return method;
     }
 
+    /*
+     * Actions having the same order are sorted by name and then by parameter types, since the order
+     * of methods returned by reflection is unspecified. Adapters generated by the annotation processor
+     * sort actions the same way, so that both execute actions (and describe rules) in the same order.
+     */
     @Override
     public int compareTo(final ActionMethodOrderBean actionMethodOrderBean) {
-        if (order < actionMethodOrderBean.getOrder()) {
-            return -1;
-        } else if (order > actionMethodOrderBean.getOrder()) {
-            return 1;
-        } else {
-            return method.equals(actionMethodOrderBean.getMethod()) ? 0 : 1;
+        int comparison = Integer.compare(order, actionMethodOrderBean.getOrder());
+        if (comparison == 0) {
+            comparison = method.getName().compareTo(actionMethodOrderBean.getMethod().getName());
         }
+        if (comparison == 0) {
+            comparison = parameterTypes(method).compareTo(parameterTypes(actionMethodOrderBean.getMethod()));
+        }
+        return comparison;
+    }
+
+    private static String parameterTypes(final Method method) {
+        StringJoiner parameterTypes = new StringJoiner(",");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            parameterTypes.add(parameterType.getTypeName());
+        }
+        return parameterTypes.toString();
     }
 
     @Override
@@ -23,7 +23,11 @@
  */
 package org.jeasy.rules.core;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Objects;
+import java.util.Set;
 
 import org.jeasy.rules.api.Facts;
 import org.jeasy.rules.api.Rule;
@@ -53,6 +57,16 @@ public class BasicRule implements Rule {
      */
     protected int priority;
 
+    /**
+     * Names of the facts required to evaluate the rule's condition.
+     */
+    protected Set<String> requiredFacts = Collections.emptySet();
+
+    /**
+     * Names of the facts the rule's condition depends on, in addition to its required facts.
+     */
+    protected Set<String> dependencies = Collections.emptySet();
+
     /**
      * Create a new {@link BasicRule}.
      */
@@ -126,6 +140,48 @@ public class BasicRule implements Rule {
         this.priority = priority;
     }
 
+    public Set<String> getRequiredFacts() {
+        return requiredFacts;
+    }
+
+    /**
+     * Declare the facts required to evaluate the rule's condition. Rules engines do not
+     * evaluate the rule when one of these facts is missing.
+     *
+     * @param requiredFacts names of the facts required to evaluate the rule's condition
+     */
+    public void setRequiredFacts(final Collection<String> requiredFacts) {
+        Objects.requireNonNull(requiredFacts, "requiredFacts cannot be null");
+        this.requiredFacts = Collections.unmodifiableSet(new LinkedHashSet<>(requiredFacts));
+    }
+
+    /**
+     * Return the declared dependencies along with the required facts, or an empty set if no
+     * dependency has been declared, since required facts alone do not tell which other facts
+     * the condition reads.
+     */
+    public Set<String> getDependencies() {
+        if (dependencies.isEmpty() || requiredFacts.isEmpty()) {
+            return dependencies;
+        }
+        Set<String> allDependencies = new LinkedHashSet<>(requiredFacts);
+        allDependencies.addAll(dependencies);
+        return Collections.unmodifiableSet(allDependencies);
+    }
+
+    /**
+     * Declare the facts the rule's condition depends on. The condition must not read other facts
+     * than these ones and its required facts. Unlike required facts, these facts may be missing.
+     * The {@link IncrementalInferenceRulesEngine} only re-evaluates the rule when one of these facts
+     * or of its required facts changes.
+     *
+     * @param dependencies names of the facts the rule's condition depends on
+     */
+    public void setDependencies(final Collection<String> dependencies) {
+        Objects.requireNonNull(dependencies, "dependencies cannot be null");
+        this.dependencies = Collections.unmodifiableSet(new LinkedHashSet<>(dependencies));
+    }
+
     /*
      * Rules are unique according to their names within a rules engine registry.
      */
@@ -0,0 +1,168 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.core;
+
+import org.jeasy.rules.api.BatchParameters;
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.FireOutcome;
+import org.jeasy.rules.api.Rules;
+import org.jeasy.rules.api.RulesEngine;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Fires a rule set on a batch of facts with a given rules engine.
+ *
+ * Facts are fired by the executor of the batch, with at most twice as many facts
+ * in flight as the parallelism of the batch, so that facts are read lazily from the
+ * batch. Outcomes are delivered to the consumer in the calling thread.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+final class BatchFiring {
+
+    private static final AtomicInteger BATCH_COUNT = new AtomicInteger();
+
+    private final RulesEngine rulesEngine;
+    private final Rules rules;
+    private final BatchParameters parameters;
+    private final Consumer<? super FireOutcome> outcomeConsumer;
+    private final Queue<CompletableFuture<FireOutcome>> pendingOutcomes = new ArrayDeque<>();
+    private final BlockingQueue<CompletableFuture<FireOutcome>> completedOutcomes = new LinkedBlockingQueue<>();
+
+    BatchFiring(final RulesEngine rulesEngine, final Rules rules, final BatchParameters parameters,
+                final Consumer<? super FireOutcome> outcomeConsumer) {
+        this.rulesEngine = Objects.requireNonNull(rulesEngine, "Rules engine must not be null");
+        this.rules = Objects.requireNonNull(rules, "Rules must not be null");
+        this.parameters = Objects.requireNonNull(parameters, "Batch parameters must not be null");
+        this.outcomeConsumer = Objects.requireNonNull(outcomeConsumer, "Outcome consumer must not be null");
+    }
+
+    void fire(final Iterable<Facts> batch) {
+        Objects.requireNonNull(batch, "Facts batch must not be null");
+        // compile the rule set once before sharing it with workers
+        rules.compile();
+        Executor executor = parameters.getExecutor();
+        if (executor == null && parameters.getParallelism() == 1) {
+            long index = 0;
+            for (Facts facts : batch) {
+                outcomeConsumer.accept(fire(index++, facts));
+            }
+            return;
+        }
+        ExecutorService ownExecutor = null;
+        if (executor == null) {
+            ownExecutor = Executors.newFixedThreadPool(parameters.getParallelism(), new BatchThreadFactory());
+            executor = ownExecutor;
+        }
+        try {
+            fire(batch, executor);
+        } finally {
+            if (ownExecutor != null) {
+                ownExecutor.shutdownNow();
+            }
+        }
+    }
+
+    private void fire(final Iterable<Facts> batch, final Executor executor) {
+        int maxInFlight = 2 * parameters.getParallelism();
+        int inFlight = 0;
+        long index = 0;
+        for (Facts facts : batch) {
+            if (inFlight == maxInFlight) {
+                outcomeConsumer.accept(nextOutcome());
+                inFlight--;
+            }
+            long factsIndex = index++;
+            CompletableFuture<FireOutcome> outcome = CompletableFuture.supplyAsync(() -> fire(factsIndex, facts), executor);
+            if (parameters.isPreserveOrder()) {
+                pendingOutcomes.add(outcome);
+            } else {
+                outcome.whenComplete((result, error) -> completedOutcomes.add(outcome));
+            }
+            inFlight++;
+        }
+        while (inFlight > 0) {
+            outcomeConsumer.accept(nextOutcome());
+            inFlight--;
+        }
+    }
+
+    private FireOutcome nextOutcome() {
+        CompletableFuture<FireOutcome> outcome;
+        if (parameters.isPreserveOrder()) {
+            outcome = pendingOutcomes.remove();
+        } else {
+            try {
+                outcome = completedOutcomes.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for batch outcomes", e);
+            }
+        }
+        try {
+            return outcome.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private FireOutcome fire(final long index, final Facts facts) {
+        try {
+            rulesEngine.fire(rules, facts);
+            return new FireOutcome(index, facts, null);
+        } catch (RuntimeException e) {
+            return new FireOutcome(index, facts, e);
+        }
+    }
+
+    private static class BatchThreadFactory implements ThreadFactory {
+
+        private final int batchNumber = BATCH_COUNT.incrementAndGet();
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "easy-rules-batch-" + batchNumber + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
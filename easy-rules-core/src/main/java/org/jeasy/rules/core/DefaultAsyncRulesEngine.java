@@ -0,0 +1,279 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.core;
+
+import org.jeasy.rules.api.AsyncRulesEngine;
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.Rule;
+import org.jeasy.rules.api.RuleListener;
+import org.jeasy.rules.api.Rules;
+import org.jeasy.rules.api.RulesEngineListener;
+import org.jeasy.rules.api.RulesEngineParameters;
+import org.jeasy.rules.api.RulesPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Default {@link AsyncRulesEngine} implementation.
+ *
+ * Rules are fired on the executor of the engine, one after the other according to their
+ * natural order, with the same semantics as the {@link DefaultRulesEngine}. When a triggered
+ * rule executes its actions asynchronously (see {@link Rule#executeAsync(org.jeasy.rules.api.Facts)}),
+ * next rules are evaluated once actions are completed, on the executor of the engine.
+ *
+ * This engine can also be used as a synchronous rules engine, in which case the calling
+ * thread waits for rules to be fired.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public final class DefaultAsyncRulesEngine extends AbstractRulesEngine implements AsyncRulesEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultAsyncRulesEngine.class);
+
+    private final Executor executor;
+    private final DefaultRulesEngine delegate;
+
+    /**
+     * Create a new {@link DefaultAsyncRulesEngine} with default parameters, firing rules
+     * in the {@link ForkJoinPool#commonPool() common pool}.
+     */
+    public DefaultAsyncRulesEngine() {
+        this(new RulesEngineParameters(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new {@link DefaultAsyncRulesEngine}.
+     *
+     * @param parameters of the engine
+     * @param executor firing rules
+     */
+    public DefaultAsyncRulesEngine(final RulesEngineParameters parameters, final Executor executor) {
+        super(parameters);
+        this.executor = Objects.requireNonNull(executor, "Executor must not be null");
+        this.delegate = new DefaultRulesEngine(parameters);
+    }
+
+    @Override
+    public CompletableFuture<Void> fireAsync(Rules rules, Facts facts) {
+        Objects.requireNonNull(rules, "Rules must not be null");
+        Objects.requireNonNull(facts, "Facts must not be null");
+        // compose inside the async task, so that rules are never fired in the calling thread
+        return CompletableFuture
+                .supplyAsync(() -> {
+                    triggerListenersBeforeRules(rules, facts);
+                    RulesPlan plan = rules.compile();
+                    facts.startEvaluationPass();
+                    CompletableFuture<Void> firing;
+                    if (plan.isEmpty()) {
+                        LOGGER.warn("No rules registered! Nothing to apply");
+                        firing = CompletableFuture.completedFuture(null);
+                    } else {
+                        LOGGER.debug("Rules evaluation started");
+                        firing = fire(plan, 0, limit(plan), facts);
+                    }
+                    return firing
+                            .whenComplete((result, error) -> facts.endEvaluationPass())
+                            .thenRun(() -> triggerListenersAfterRules(rules, facts));
+                }, executor)
+                .thenCompose(Function.identity());
+    }
+
+    private int limit(RulesPlan plan) {
+        int limit = plan.limit(parameters.getPriorityThreshold());
+        if (limit < plan.size()) {
+            LOGGER.debug("Rule priority threshold ({}) exceeded at rule '{}' with priority={}, next rules will be skipped",
+                    parameters.getPriorityThreshold(), plan.getName(limit), plan.getPriority(limit));
+        }
+        return limit;
+    }
+
+    private CompletableFuture<Void> fire(RulesPlan plan, int from, int limit, Facts facts) {
+        for (int i = from; i < limit; i++) {
+            final Rule rule = plan.getRule(i);
+            final String name = plan.getName(i);
+            if (!shouldBeEvaluated(rule, facts)) {
+                LOGGER.debug("Rule '{}' has been skipped before being evaluated", name);
+                continue;
+            }
+            boolean evaluationResult = false;
+            try {
+                evaluationResult = hasRequiredFacts(rule, facts) && rule.evaluate(facts);
+            } catch (RuntimeException exception) {
+                LOGGER.error("Rule '" + name + "' evaluated with error", exception);
+                triggerListenersOnEvaluationError(rule, facts, exception);
+                // give the option to either skip next rules on evaluation error or continue by considering the evaluation error as false
+                if (parameters.isSkipOnFirstNonTriggeredRule()) {
+                    LOGGER.debug("Next rules will be skipped since parameter skipOnFirstNonTriggeredRule is set");
+                    break;
+                }
+            }
+            if (evaluationResult) {
+                LOGGER.debug("Rule '{}' triggered", name);
+                triggerListenersAfterEvaluate(rule, facts, true);
+                CompletableFuture<Void> execution;
+                try {
+                    triggerListenersBeforeExecute(rule, facts);
+                    execution = rule.executeAsync(facts).toCompletableFuture();
+                } catch (Exception exception) {
+                    execution = new CompletableFuture<>();
+                    execution.completeExceptionally(exception);
+                }
+                if (execution.isDone()) {
+                    if (!afterExecution(rule, name, facts, execution.handle((result, error) -> error).join())) {
+                        break;
+                    }
+                } else {
+                    int next = i + 1;
+                    return execution
+                            .handleAsync((result, error) -> afterExecution(rule, name, facts, error), executor)
+                            .thenCompose(fireNextRules -> fireNextRules
+                                    ? fire(plan, next, limit, facts)
+                                    : CompletableFuture.completedFuture(null));
+                }
+            } else {
+                LOGGER.debug("Rule '{}' has been evaluated to false, it has not been executed", name);
+                triggerListenersAfterEvaluate(rule, facts, false);
+                if (parameters.isSkipOnFirstNonTriggeredRule()) {
+                    LOGGER.debug("Next rules will be skipped since parameter skipOnFirstNonTriggeredRule is set");
+                    break;
+                }
+            }
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Notify listeners of the outcome of the execution of a rule.
+     *
+     * @return true if next rules should be fired, false otherwise
+     */
+    private boolean afterExecution(Rule rule, String name, Facts facts, Throwable error) {
+        if (error == null) {
+            LOGGER.debug("Rule '{}' performed successfully", name);
+            triggerListenersOnSuccess(rule, facts);
+            if (parameters.isSkipOnFirstAppliedRule()) {
+                LOGGER.debug("Next rules will be skipped since parameter skipOnFirstAppliedRule is set");
+                return false;
+            }
+            return true;
+        }
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        Exception exception = cause instanceof Exception ? (Exception) cause : new CompletionException(cause);
+        LOGGER.error("Rule '" + name + "' performed with error", exception);
+        triggerListenersOnFailure(rule, exception, facts);
+        if (parameters.isSkipOnFirstFailedRule()) {
+            LOGGER.debug("Next rules will be skipped since parameter skipOnFirstFailedRule is set");
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<Map<Rule, Boolean>> checkAsync(Rules rules, Facts facts) {
+        Objects.requireNonNull(rules, "Rules must not be null");
+        Objects.requireNonNull(facts, "Facts must not be null");
+        return CompletableFuture.supplyAsync(() -> delegate.check(rules, facts), executor);
+    }
+
+    /**
+     * Fire rules on the executor of the engine and wait for them to be fired.
+     *
+     * @param rules to fire
+     * @param facts known facts
+     */
+    @Override
+    public void fire(Rules rules, Facts facts) {
+        try {
+            fireAsync(rules, facts).join();
+        } catch (CompletionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw exception;
+        }
+    }
+
+    @Override
+    public Map<Rule, Boolean> check(Rules rules, Facts facts) {
+        Objects.requireNonNull(rules, "Rules must not be null");
+        Objects.requireNonNull(facts, "Facts must not be null");
+        return delegate.check(rules, facts);
+    }
+
+    /**
+     * Register a rule listener.
+     * @param ruleListener to register
+     */
+    public void registerRuleListener(RuleListener ruleListener) {
+        super.registerRuleListener(ruleListener);
+        delegate.registerRuleListener(ruleListener);
+    }
+
+    /**
+     * Register a list of rule listener.
+     * @param ruleListeners to register
+     */
+    public void registerRuleListeners(List<RuleListener> ruleListeners) {
+        super.registerRuleListeners(ruleListeners);
+        delegate.registerRuleListeners(ruleListeners);
+    }
+
+    /**
+     * Register a rules engine listener.
+     * @param rulesEngineListener to register
+     */
+    public void registerRulesEngineListener(RulesEngineListener rulesEngineListener) {
+        super.registerRulesEngineListener(rulesEngineListener);
+        delegate.registerRulesEngineListener(rulesEngineListener);
+    }
+
+    /**
+     * Register a list of rules engine listener.
+     * @param rulesEngineListeners to register
+     */
+    public void registerRulesEngineListeners(List<RulesEngineListener> rulesEngineListeners) {
+        super.registerRulesEngineListeners(rulesEngineListeners);
+        delegate.registerRulesEngineListeners(rulesEngineListeners);
+    }
+}
@@ -24,20 +24,26 @@
 package org.jeasy.rules.core;
 
 import org.jeasy.rules.api.Action;
+import org.jeasy.rules.api.AsyncAction;
 import org.jeasy.rules.api.Condition;
 import org.jeasy.rules.api.Facts;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 class DefaultRule extends BasicRule {
 
     private final Condition condition;
     private final List<Action> actions;
 
-    DefaultRule(String name, String description, int priority, Condition condition, List<Action> actions) {
+    DefaultRule(String name, String description, int priority, Set<String> requiredFacts, Set<String> dependencies, Condition condition, List<Action> actions) {
         super(name, description, priority);
         this.condition = condition;
         this.actions = actions;
+        setRequiredFacts(requiredFacts);
+        setDependencies(dependencies);
     }
 
     @Override
@@ -52,4 +58,34 @@ class DefaultRule extends BasicRule {
         }
     }
 
+    @Override
+    public CompletionStage<Void> executeAsync(Facts facts) {
+        CompletableFuture<Void> execution = CompletableFuture.completedFuture(null);
+        for (Action action : actions) {
+            execution = execution.thenCompose(previous -> executeAsync(action, facts));
+        }
+        return execution;
+    }
+
+    private static CompletableFuture<Void> executeAsync(Action action, Facts facts) {
+        CompletableFuture<Void> execution = new CompletableFuture<>();
+        try {
+            if (action instanceof AsyncAction) {
+                ((AsyncAction) action).executeAsync(facts).whenComplete((result, exception) -> {
+                    if (exception != null) {
+                        execution.completeExceptionally(exception);
+                    } else {
+                        execution.complete(null);
+                    }
+                });
+            } else {
+                action.execute(facts);
+                execution.complete(null);
+            }
+        } catch (Exception exception) {
+            execution.completeExceptionally(exception);
+        }
+        return execution;
+    }
+
 }
@@ -26,22 +26,40 @@ package org.jeasy.rules.core;
 import org.jeasy.rules.api.Fact;
 import org.jeasy.rules.api.Facts;
 import org.jeasy.rules.api.Rule;
+import org.jeasy.rules.api.RuleListener;
 import org.jeasy.rules.api.Rules;
 import org.jeasy.rules.api.RulesEngine;
+import org.jeasy.rules.api.RulesEngineListener;
 import org.jeasy.rules.api.RulesEngineParameters;
+import org.jeasy.rules.api.RulesPlan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Default {@link RulesEngine} implementation.
  *
  * Rules are fired according to their natural order which is priority by default.
- * This implementation iterates over the sorted set of rules, evaluates the condition
- * of each rule and executes its actions if the condition evaluates to true.
+ * This implementation iterates over the compiled plan of the rule set (see {@link Rules#compile()}),
+ * evaluates the condition of each rule and executes its actions if the condition evaluates to true.
+ *
+ * When created with a check executor, this implementation evaluates rules in parallel
+ * in {@link #check(Rules, Facts)}: the rule set is split in as many slices as the parallelism
+ * of the executor, which are evaluated concurrently. Conditions must then be thread-safe and
+ * must not modify facts. Rule listeners are called concurrently only if they support it
+ * (see {@link RuleListener#supportsConcurrentCallbacks()}), calls to other listeners are serialized.
  *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
@@ -49,11 +67,23 @@ public final class DefaultRulesEngine extends AbstractRulesEngine {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultRulesEngine.class);
 
+    /**
+     * Minimum number of rules evaluated by each parallel check task.
+     */
+    private static final int MIN_RULES_PER_CHECK_TASK = 64;
+
+    private final Executor checkExecutor;
+    private final int checkParallelism;
+    // not a monitor, so that virtual threads calling listeners are not pinned to their carrier thread
+    private final Lock ruleListenersLock = new ReentrantLock();
+
     /**
      * Create a new {@link DefaultRulesEngine} with default parameters.
      */
     public DefaultRulesEngine() {
         super();
+        this.checkExecutor = null;
+        this.checkParallelism = 1;
     }
 
     /**
@@ -63,6 +93,39 @@ public final class DefaultRulesEngine extends AbstractRulesEngine {
      */
     public DefaultRulesEngine(final RulesEngineParameters parameters) {
         super(parameters);
+        this.checkExecutor = null;
+        this.checkParallelism = 1;
+    }
+
+    /**
+     * Create a new {@link DefaultRulesEngine} evaluating rules in parallel when checking them.
+     * The parallelism is the one of the pool if the executor is a {@link ForkJoinPool},
+     * and the number of available processors otherwise.
+     *
+     * @param parameters of the engine
+     * @param checkExecutor executor used to evaluate rules in parallel in {@link #check(Rules, Facts)}
+     */
+    public DefaultRulesEngine(final RulesEngineParameters parameters, final Executor checkExecutor) {
+        this(parameters, checkExecutor, checkExecutor instanceof ForkJoinPool
+                ? ((ForkJoinPool) checkExecutor).getParallelism()
+                : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create a new {@link DefaultRulesEngine} evaluating rules in parallel when checking them.
+     *
+     * @param parameters of the engine
+     * @param checkExecutor executor used to evaluate rules in parallel in {@link #check(Rules, Facts)}
+     * @param checkParallelism maximum number of slices of rules evaluated concurrently
+     */
+    public DefaultRulesEngine(final RulesEngineParameters parameters, final Executor checkExecutor, final int checkParallelism) {
+        super(parameters);
+        Objects.requireNonNull(checkExecutor, "Check executor must not be null");
+        if (checkParallelism < 1) {
+            throw new IllegalArgumentException("Check parallelism must be greater than zero");
+        }
+        this.checkExecutor = checkExecutor;
+        this.checkParallelism = checkParallelism;
     }
 
     @Override
@@ -70,34 +133,100 @@ public final class DefaultRulesEngine extends AbstractRulesEngine {
         Objects.requireNonNull(rules, "Rules must not be null");
         Objects.requireNonNull(facts, "Facts must not be null");
         triggerListenersBeforeRules(rules, facts);
-        doFire(rules, facts);
+        facts.startEvaluationPass();
+        try {
+            doFire(rules, facts);
+        } finally {
+            facts.endEvaluationPass();
+        }
         triggerListenersAfterRules(rules, facts);
     }
 
     void doFire(Rules rules, Facts facts) {
-        if (rules.isEmpty()) {
+        RulesPlan plan = rules.compile();
+        if (plan.isEmpty()) {
             LOGGER.warn("No rules registered! Nothing to apply");
             return;
         }
-        logEngineParameters();
-        log(rules);
-        log(facts);
-        LOGGER.debug("Rules evaluation started");
-        for (Rule rule : rules) {
-            final String name = rule.getName();
-            final int priority = rule.getPriority();
-            if (priority > parameters.getPriorityThreshold()) {
-                LOGGER.debug("Rule priority threshold ({}) exceeded at rule '{}' with priority={}, next rules will be skipped",
-                        parameters.getPriorityThreshold(), name, priority);
-                break;
+        if (LOGGER.isDebugEnabled()) {
+            logEngineParameters();
+            log(plan);
+            log(facts);
+        }
+        doFire(plan, null, facts, null);
+    }
+
+    /**
+     * Fire the candidate rules of an inference cycle without evaluating their conditions
+     * again. Listeners are notified as if the candidates were fired with {@link #fire(Rules, Facts)}:
+     * candidates are reported as evaluated to true unless they are re-evaluated.
+     *
+     * If {@link RulesEngineParameters#isRecheckCandidatesOnFactChange()} is set, a candidate is
+     * re-evaluated when an earlier action of the cycle has added, replaced or removed a fact
+     * it depends on (see {@link Rule#getDependencies()}). Candidates which do not declare
+     * the facts they depend on are re-evaluated once an action has been executed.
+     *
+     * @param plan of all rules
+     * @param candidates positions in the plan of the rules evaluated to true
+     * @param facts known facts
+     */
+    void fireCandidates(RulesPlan plan, BitSet candidates, Facts facts) {
+        Rules rules = null;
+        if (rulesEngineListenerArray.length > 0 || LOGGER.isDebugEnabled()) {
+            Set<Rule> selectedRules = new TreeSet<>();
+            for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                selectedRules.add(plan.getRule(i));
             }
+            rules = new Rules(selectedRules);
+        }
+        triggerListenersBeforeRules(rules, facts);
+        if (LOGGER.isDebugEnabled()) {
+            logEngineParameters();
+            log(rules.compile());
+            log(facts);
+        }
+        Map<String, Fact<?>> knownFacts = null;
+        if (parameters.isRecheckCandidatesOnFactChange()) {
+            knownFacts = new HashMap<>();
+            for (Fact<?> fact : facts) {
+                knownFacts.put(fact.getName(), fact);
+            }
+        }
+        facts.startEvaluationPass();
+        try {
+            doFire(plan, candidates, facts, knownFacts);
+        } finally {
+            facts.endEvaluationPass();
+        }
+        triggerListenersAfterRules(rules, facts);
+    }
+
+    private void doFire(RulesPlan plan, BitSet candidates, Facts facts, Map<String, Fact<?>> knownFacts) {
+        LOGGER.debug("Rules evaluation started");
+        boolean executed = false;
+        int limit = plan.limit(parameters.getPriorityThreshold());
+        // only report a rule that would have been fired without the threshold
+        int skipped = candidates == null ? limit : candidates.nextSetBit(limit);
+        if (skipped >= 0 && skipped < plan.size()) {
+            LOGGER.debug("Rule priority threshold ({}) exceeded at rule '{}' with priority={}, next rules will be skipped",
+                    parameters.getPriorityThreshold(), plan.getName(skipped), plan.getPriority(skipped));
+        }
+        for (int i = candidates == null ? 0 : candidates.nextSetBit(0);
+             i >= 0 && i < limit;
+             i = candidates == null ? i + 1 : candidates.nextSetBit(i + 1)) {
+            final Rule rule = plan.getRule(i);
+            final String name = plan.getName(i);
             if (!shouldBeEvaluated(rule, facts)) {
                 LOGGER.debug("Rule '{}' has been skipped before being evaluated", name);
                 continue;
             }
             boolean evaluationResult = false;
             try {
-                evaluationResult = rule.evaluate(facts);
+                if (candidates == null || executed && knownFacts != null && dependenciesChanged(rule, facts, knownFacts)) {
+                    evaluationResult = hasRequiredFacts(rule, facts) && rule.evaluate(facts);
+                } else {
+                    evaluationResult = true;
+                }
             } catch (RuntimeException exception) {
                 LOGGER.error("Rule '" + name + "' evaluated with error", exception);
                 triggerListenersOnEvaluationError(rule, facts, exception);
@@ -112,6 +241,7 @@ public final class DefaultRulesEngine extends AbstractRulesEngine {
                 triggerListenersAfterEvaluate(rule, facts, true);
                 try {
                     triggerListenersBeforeExecute(rule, facts);
+                    executed = true;
                     rule.execute(facts);
                     LOGGER.debug("Rule '{}' performed successfully", name);
                     triggerListenersOnSuccess(rule, facts);
@@ -138,13 +268,26 @@ public final class DefaultRulesEngine extends AbstractRulesEngine {
         }
     }
 
+    private boolean dependenciesChanged(Rule rule, Facts facts, Map<String, Fact<?>> knownFacts) {
+        Set<String> dependencies = rule.getDependencies();
+        if (dependencies.isEmpty()) {
+            return true;
+        }
+        for (String factName : dependencies) {
+            if (facts.getFact(factName) != knownFacts.get(factName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void logEngineParameters() {
         LOGGER.debug("{}", parameters);
     }
 
-    private void log(Rules rules) {
+    private void log(RulesPlan plan) {
         LOGGER.debug("Registered rules:");
-        for (Rule rule : rules) {
+        for (Rule rule : plan) {
             LOGGER.debug("Rule { name = '{}', description = '{}', priority = '{}'}",
                     rule.getName(), rule.getDescription(), rule.getPriority());
         }
@@ -162,56 +305,100 @@ public final class DefaultRulesEngine extends AbstractRulesEngine {
         Objects.requireNonNull(rules, "Rules must not be null");
         Objects.requireNonNull(facts, "Facts must not be null");
         triggerListenersBeforeRules(rules, facts);
-        Map<Rule, Boolean> result = doCheck(rules, facts);
+        Map<Rule, Boolean> result;
+        facts.startEvaluationPass();
+        try {
+            result = doCheck(rules, facts);
+        } finally {
+            facts.endEvaluationPass();
+        }
         triggerListenersAfterRules(rules, facts);
         return result;
     }
 
     private Map<Rule, Boolean> doCheck(Rules rules, Facts facts) {
         LOGGER.debug("Checking rules");
+        RulesPlan plan = rules.compile();
+        int tasks = Math.min(checkParallelism, plan.size() / MIN_RULES_PER_CHECK_TASK);
+        if (checkExecutor != null && tasks > 1) {
+            return doCheckInParallel(plan, facts, tasks);
+        }
         Map<Rule, Boolean> result = new HashMap<>();
-        for (Rule rule : rules) {
+        for (Rule rule : plan) {
             if (shouldBeEvaluated(rule, facts)) {
-                result.put(rule, rule.evaluate(facts));
+                result.put(rule, hasRequiredFacts(rule, facts) && rule.evaluate(facts));
             }
         }
         return result;
     }
 
-    private void triggerListenersOnFailure(final Rule rule, final Exception exception, Facts facts) {
-        ruleListeners.forEach(ruleListener -> ruleListener.onFailure(rule, facts, exception));
-    }
-
-    private void triggerListenersOnSuccess(final Rule rule, Facts facts) {
-        ruleListeners.forEach(ruleListener -> ruleListener.onSuccess(rule, facts));
-    }
-
-    private void triggerListenersBeforeExecute(final Rule rule, Facts facts) {
-        ruleListeners.forEach(ruleListener -> ruleListener.beforeExecute(rule, facts));
-    }
-
-    private boolean triggerListenersBeforeEvaluate(Rule rule, Facts facts) {
-        return ruleListeners.stream().allMatch(ruleListener -> ruleListener.beforeEvaluate(rule, facts));
-    }
-
-    private void triggerListenersAfterEvaluate(Rule rule, Facts facts, boolean evaluationResult) {
-        ruleListeners.forEach(ruleListener -> ruleListener.afterEvaluate(rule, facts, evaluationResult));
-    }
-
-    private void triggerListenersOnEvaluationError(Rule rule, Facts facts, Exception exception) {
-        ruleListeners.forEach(ruleListener -> ruleListener.onEvaluationError(rule, facts, exception));
+    private Map<Rule, Boolean> doCheckInParallel(RulesPlan plan, Facts facts, int tasks) {
+        LOGGER.debug("Checking {} rules in {} parallel tasks", plan.size(), tasks);
+        boolean[] evaluated = new boolean[plan.size()];
+        boolean[] results = new boolean[plan.size()];
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[tasks - 1];
+        for (int task = 1; task < tasks; task++) {
+            int from = plan.size() * task / tasks;
+            int to = plan.size() * (task + 1) / tasks;
+            futures[task - 1] = CompletableFuture.runAsync(() -> check(plan, from, to, facts, evaluated, results), checkExecutor);
+        }
+        try {
+            check(plan, 0, plan.size() / tasks, facts, evaluated, results);
+        } finally {
+            join(futures);
+        }
+        Map<Rule, Boolean> result = new HashMap<>();
+        for (int i = 0; i < evaluated.length; i++) {
+            if (evaluated[i]) {
+                result.put(plan.getRule(i), results[i]);
+            }
+        }
+        return result;
     }
 
-    private void triggerListenersBeforeRules(Rules rule, Facts facts) {
-        rulesEngineListeners.forEach(rulesEngineListener -> rulesEngineListener.beforeEvaluate(rule, facts));
+    private void check(RulesPlan plan, int from, int to, Facts facts, boolean[] evaluated, boolean[] results) {
+        for (int i = from; i < to; i++) {
+            Rule rule = plan.getRule(i);
+            if (shouldBeEvaluatedConcurrently(rule, facts)) {
+                evaluated[i] = true;
+                results[i] = hasRequiredFacts(rule, facts) && rule.evaluate(facts);
+            }
+        }
     }
 
-    private void triggerListenersAfterRules(Rules rule, Facts facts) {
-        rulesEngineListeners.forEach(rulesEngineListener -> rulesEngineListener.afterExecute(rule, facts));
+    private static void join(CompletableFuture<?>[] futures) {
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw exception;
+        }
     }
 
-    private boolean shouldBeEvaluated(Rule rule, Facts facts) {
-        return triggerListenersBeforeEvaluate(rule, facts);
+    private boolean shouldBeEvaluatedConcurrently(Rule rule, Facts facts) {
+        for (RuleListener ruleListener : ruleListenerArray) {
+            boolean shouldBeEvaluated;
+            if (ruleListener.supportsConcurrentCallbacks()) {
+                shouldBeEvaluated = ruleListener.beforeEvaluate(rule, facts);
+            } else {
+                ruleListenersLock.lock();
+                try {
+                    shouldBeEvaluated = ruleListener.beforeEvaluate(rule, facts);
+                } finally {
+                    ruleListenersLock.unlock();
+                }
+            }
+            if (!shouldBeEvaluated) {
+                return false;
+            }
+        }
+        return true;
     }
 
 }
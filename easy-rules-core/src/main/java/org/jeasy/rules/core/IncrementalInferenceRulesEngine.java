@@ -0,0 +1,212 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.core;
+
+import org.jeasy.rules.api.Fact;
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.Rule;
+import org.jeasy.rules.api.RuleListener;
+import org.jeasy.rules.api.Rules;
+import org.jeasy.rules.api.RulesEngine;
+import org.jeasy.rules.api.RulesEngineListener;
+import org.jeasy.rules.api.RulesEngineParameters;
+import org.jeasy.rules.api.RulesPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Incremental inference {@link RulesEngine} implementation.
+ *
+ * Like the {@link InferenceRulesEngine}, this engine continuously selects and fires
+ * rules until no more rules are applicable. However, instead of evaluating all rules
+ * to select candidates on each cycle, it evaluates all rules once, and then only
+ * re-evaluates after each cycle:
+ * <ul>
+ *     <li>the rules that have been fired during the cycle,</li>
+ *     <li>the rules depending on a fact that has been added, replaced or removed during the cycle,</li>
+ *     <li>the rules that do not declare the facts they depend on.</li>
+ * </ul>
+ *
+ * Facts a rule depends on are its dependencies (see {@link Rule#getDependencies()}),
+ * which are inferred from {@link org.jeasy.rules.annotation.Fact} parameters for annotated
+ * rules. Annotated rules having a condition method with a {@link Facts} parameter, as well
+ * as rules that do not declare any dependency, are re-evaluated on each cycle.
+ *
+ * Changes to facts are detected when facts are put, added or removed. Changing the
+ * state of a fact's value in place (for example with a setter) is not detected: actions
+ * should put the fact again so that rules depending on it are re-evaluated.
+ *
+ * Like the {@link InferenceRulesEngine}, this engine supports firing candidate rules
+ * without evaluating them again (see {@link RulesEngineParameters#isEvaluateCandidatesOnce()}).
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public final class IncrementalInferenceRulesEngine extends AbstractRulesEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalInferenceRulesEngine.class);
+
+    private final DefaultRulesEngine delegate;
+    private volatile RuleDependencies ruleDependencies;
+
+    /**
+     * Create a new incremental inference rules engine with default parameters.
+     */
+    public IncrementalInferenceRulesEngine() {
+        this(new RulesEngineParameters());
+    }
+
+    /**
+     * Create a new incremental inference rules engine.
+     *
+     * @param parameters of the engine
+     */
+    public IncrementalInferenceRulesEngine(RulesEngineParameters parameters) {
+        super(parameters);
+        delegate = new DefaultRulesEngine(parameters);
+    }
+
+    @Override
+    public void fire(Rules rules, Facts facts) {
+        Objects.requireNonNull(rules, "Rules must not be null");
+        Objects.requireNonNull(facts, "Facts must not be null");
+        RuleDependencies dependencies = getRuleDependencies(rules.compile());
+        facts.startEvaluationPass();
+        try {
+            fire(dependencies, facts);
+        } finally {
+            facts.endEvaluationPass();
+        }
+    }
+
+    private void fire(RuleDependencies dependencies, Facts facts) {
+        RulesPlan plan = dependencies.getPlan();
+        String[] factNames = dependencies.getFactNames();
+
+        BitSet candidates = new BitSet(plan.size());
+        BitSet rulesToEvaluate = new BitSet(plan.size());
+        rulesToEvaluate.set(0, plan.size());
+        Fact<?>[] knownFacts = new Fact<?>[factNames.length];
+        for (int i = 0; i < factNames.length; i++) {
+            knownFacts[i] = facts.getFact(factNames[i]);
+        }
+        LOGGER.debug("Selecting candidate rules based on the following facts: {}", facts);
+        evaluate(plan, rulesToEvaluate, candidates, facts);
+        while (!candidates.isEmpty()) {
+            if (parameters.isEvaluateCandidatesOnce()) {
+                delegate.fireCandidates(plan, candidates, facts);
+            } else {
+                Set<Rule> selectedRules = new TreeSet<>();
+                for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                    selectedRules.add(plan.getRule(i));
+                }
+                delegate.fire(new Rules(selectedRules), facts);
+            }
+
+            rulesToEvaluate.clear();
+            rulesToEvaluate.or(candidates);
+            for (int i = 0; i < factNames.length; i++) {
+                Fact<?> fact = facts.getFact(factNames[i]);
+                if (fact != knownFacts[i]) {
+                    knownFacts[i] = fact;
+                    for (int rule : dependencies.getDependentRules(i)) {
+                        rulesToEvaluate.set(rule);
+                    }
+                }
+            }
+            for (int rule : dependencies.getUndeclaredDependencyRules()) {
+                rulesToEvaluate.set(rule);
+            }
+            LOGGER.debug("Re-evaluating {} rule(s) out of {} based on the following facts: {}",
+                    rulesToEvaluate.cardinality(), plan.size(), facts);
+            evaluate(plan, rulesToEvaluate, candidates, facts);
+        }
+        LOGGER.debug("No candidate rules found for facts: {}", facts);
+    }
+
+    private void evaluate(RulesPlan plan, BitSet rulesToEvaluate, BitSet candidates, Facts facts) {
+        for (int i = rulesToEvaluate.nextSetBit(0); i >= 0; i = rulesToEvaluate.nextSetBit(i + 1)) {
+            Rule rule = plan.getRule(i);
+            candidates.set(i, hasRequiredFacts(rule, facts) && rule.evaluate(facts));
+        }
+    }
+
+    private RuleDependencies getRuleDependencies(RulesPlan plan) {
+        RuleDependencies dependencies = this.ruleDependencies;
+        if (dependencies == null || dependencies.getPlan() != plan) {
+            dependencies = new RuleDependencies(plan);
+            this.ruleDependencies = dependencies;
+        }
+        return dependencies;
+    }
+
+    @Override
+    public Map<Rule, Boolean> check(Rules rules, Facts facts) {
+        Objects.requireNonNull(rules, "Rules must not be null");
+        Objects.requireNonNull(facts, "Facts must not be null");
+        return delegate.check(rules, facts);
+    }
+
+    /**
+     * Register a rule listener.
+     * @param ruleListener to register
+     */
+    public void registerRuleListener(RuleListener ruleListener) {
+        super.registerRuleListener(ruleListener);
+        delegate.registerRuleListener(ruleListener);
+    }
+
+    /**
+     * Register a list of rule listener.
+     * @param ruleListeners to register
+     */
+    public void registerRuleListeners(List<RuleListener> ruleListeners) {
+        super.registerRuleListeners(ruleListeners);
+        delegate.registerRuleListeners(ruleListeners);
+    }
+
+    /**
+     * Register a rules engine listener.
+     * @param rulesEngineListener to register
+     */
+    public void registerRulesEngineListener(RulesEngineListener rulesEngineListener) {
+        super.registerRulesEngineListener(rulesEngineListener);
+        delegate.registerRulesEngineListener(rulesEngineListener);
+    }
+
+    /**
+     * Register a list of rules engine listener.
+     * @param rulesEngineListeners to register
+     */
+    public void registerRulesEngineListeners(List<RulesEngineListener> rulesEngineListeners) {
+        super.registerRulesEngineListeners(rulesEngineListeners);
+        delegate.registerRulesEngineListeners(rulesEngineListeners);
+    }
+}
@@ -30,9 +30,11 @@ import org.jeasy.rules.api.Rules;
 import org.jeasy.rules.api.RulesEngine;
 import org.jeasy.rules.api.RulesEngineListener;
 import org.jeasy.rules.api.RulesEngineParameters;
+import org.jeasy.rules.api.RulesPlan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -46,6 +48,9 @@ import java.util.TreeSet;
  * order which is priority by default. This implementation continuously selects
  * and fires rules until no more rules are applicable.
  *
+ * By default, candidate rules are evaluated again when they are fired. This
+ * can be avoided with {@link RulesEngineParameters#isEvaluateCandidatesOnce()}.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 public final class InferenceRulesEngine extends AbstractRulesEngine {
@@ -75,10 +80,24 @@ public final class InferenceRulesEngine extends AbstractRulesEngine {
     public void fire(Rules rules, Facts facts) {
         Objects.requireNonNull(rules, "Rules must not be null");
         Objects.requireNonNull(facts, "Facts must not be null");
+        RulesPlan plan = rules.compile();
+        facts.startEvaluationPass();
+        try {
+            if (parameters.isEvaluateCandidatesOnce()) {
+                fireEvaluatingCandidatesOnce(plan, facts);
+            } else {
+                fireSelectingCandidates(plan, facts);
+            }
+        } finally {
+            facts.endEvaluationPass();
+        }
+    }
+
+    private void fireSelectingCandidates(RulesPlan plan, Facts facts) {
         Set<Rule> selectedRules;
         do {
             LOGGER.debug("Selecting candidate rules based on the following facts: {}", facts);
-            selectedRules = selectCandidates(rules, facts);
+            selectedRules = selectCandidates(plan, facts);
             if (!selectedRules.isEmpty()) {
                 delegate.fire(new Rules(selectedRules), facts);
             } else {
@@ -87,10 +106,29 @@ public final class InferenceRulesEngine extends AbstractRulesEngine {
         } while (!selectedRules.isEmpty());
     }
 
-    private Set<Rule> selectCandidates(Rules rules, Facts facts) {
+    private void fireEvaluatingCandidatesOnce(RulesPlan plan, Facts facts) {
+        BitSet candidates = new BitSet(plan.size());
+        do {
+            LOGGER.debug("Selecting candidate rules based on the following facts: {}", facts);
+            candidates.clear();
+            for (int i = 0; i < plan.size(); i++) {
+                Rule rule = plan.getRule(i);
+                if (hasRequiredFacts(rule, facts) && rule.evaluate(facts)) {
+                    candidates.set(i);
+                }
+            }
+            if (!candidates.isEmpty()) {
+                delegate.fireCandidates(plan, candidates, facts);
+            } else {
+                LOGGER.debug("No candidate rules found for facts: {}", facts);
+            }
+        } while (!candidates.isEmpty());
+    }
+
+    private Set<Rule> selectCandidates(RulesPlan plan, Facts facts) {
         Set<Rule> candidates = new TreeSet<>();
-        for (Rule rule : rules) {
-            if (rule.evaluate(facts)) {
+        for (Rule rule : plan) {
+            if (hasRequiredFacts(rule, facts) && rule.evaluate(facts)) {
                 candidates.add(rule);
             }
         }
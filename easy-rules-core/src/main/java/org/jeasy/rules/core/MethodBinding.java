@@ -0,0 +1,218 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.core;
+
+import org.jeasy.rules.annotation.Fact;
+import org.jeasy.rules.api.Facts;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.lang.String.format;
+
+/**
+ * Binding of facts to the parameters of a condition or action method of an annotated rule.
+ * Fact names and the position of the {@link Facts} parameter are resolved once, so that
+ * binding facts at invocation time does not require any annotation lookup.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+final class MethodBinding {
+
+    /**
+     * Actual parameters returned by {@link #tryBind(Facts)} when the type of a fact
+     * does not match the type of the corresponding parameter.
+     */
+    static final Object[] MISMATCHED_TYPES = new Object[0];
+
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+    // primitive types to which values of each primitive type can be converted when invoking a method
+    private static final Map<Class<?>, List<Class<?>>> WIDENING_CONVERSIONS = new HashMap<>();
+    private static final Map<Class<?>, Class<?>> PRIMITIVE_TYPES = new HashMap<>();
+
+    static {
+        WIDENING_CONVERSIONS.put(boolean.class, Arrays.asList(boolean.class));
+        WIDENING_CONVERSIONS.put(byte.class, Arrays.asList(byte.class, short.class, int.class, long.class, float.class, double.class));
+        WIDENING_CONVERSIONS.put(short.class, Arrays.asList(short.class, int.class, long.class, float.class, double.class));
+        WIDENING_CONVERSIONS.put(char.class, Arrays.asList(char.class, int.class, long.class, float.class, double.class));
+        WIDENING_CONVERSIONS.put(int.class, Arrays.asList(int.class, long.class, float.class, double.class));
+        WIDENING_CONVERSIONS.put(long.class, Arrays.asList(long.class, float.class, double.class));
+        WIDENING_CONVERSIONS.put(float.class, Arrays.asList(float.class, double.class));
+        WIDENING_CONVERSIONS.put(double.class, Arrays.asList(double.class));
+        PRIMITIVE_TYPES.put(Boolean.class, boolean.class);
+        PRIMITIVE_TYPES.put(Byte.class, byte.class);
+        PRIMITIVE_TYPES.put(Short.class, short.class);
+        PRIMITIVE_TYPES.put(Character.class, char.class);
+        PRIMITIVE_TYPES.put(Integer.class, int.class);
+        PRIMITIVE_TYPES.put(Long.class, long.class);
+        PRIMITIVE_TYPES.put(Float.class, float.class);
+        PRIMITIVE_TYPES.put(Double.class, double.class);
+    }
+
+    private final Method method;
+    private final String[] factNames; // a null entry marks the Facts parameter
+    private final Class<?>[] parameterTypes;
+    private final Set<String> requiredFacts;
+    private final boolean factsParameter;
+
+    MethodBinding(final Method method) {
+        this.method = method;
+        this.parameterTypes = method.getParameterTypes();
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        this.factNames = new String[parameterAnnotations.length];
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            for (Annotation annotation : parameterAnnotations[i]) {
+                if (annotation instanceof Fact) {
+                    factNames[i] = ((Fact) annotation).value(); // validated upfront
+                }
+            }
+        }
+        Set<String> requiredFacts = new LinkedHashSet<>();
+        boolean factsParameter = false;
+        for (String factName : factNames) {
+            if (factName != null) {
+                requiredFacts.add(factName);
+            } else {
+                factsParameter = true;
+            }
+        }
+        this.requiredFacts = Collections.unmodifiableSet(requiredFacts);
+        this.factsParameter = factsParameter;
+    }
+
+    Method getMethod() {
+        return method;
+    }
+
+    int getParameterCount() {
+        return factNames.length;
+    }
+
+    /**
+     * Return the names of the facts injected in the method.
+     *
+     * @return names of injected facts
+     */
+    Set<String> getRequiredFacts() {
+        return requiredFacts;
+    }
+
+    /**
+     * Return the names of the facts the method depends on, which are its injected facts
+     * unless it has a {@link Facts} parameter giving access to any fact.
+     *
+     * @return names of the facts the method depends on, empty if unknown
+     */
+    Set<String> getDependencies() {
+        return factsParameter ? Collections.<String>emptySet() : requiredFacts;
+    }
+
+    /**
+     * Create the actual parameters of the method from known facts.
+     *
+     * @param facts known facts
+     * @return actual parameters of the method
+     * @throws NoSuchFactException if a declared fact is missing
+     * @throws IllegalArgumentException if the type of a fact does not match the type of its parameter
+     */
+    Object[] bind(final Facts facts) {
+        Object[] actualParameters = tryBind(facts);
+        if (actualParameters == null) {
+            String missingFact = getMissingFact(facts);
+            throw new NoSuchFactException(format("No fact named '%s' found in known facts: %n%s", missingFact, facts), missingFact);
+        }
+        if (actualParameters == MISMATCHED_TYPES) {
+            throw new IllegalArgumentException(format("Types of injected facts in method '%s' do not match parameters types", method.getName()));
+        }
+        return actualParameters;
+    }
+
+    /**
+     * Create the actual parameters of the method from known facts, without
+     * failing if a declared fact is missing or if its type does not match the
+     * type of its parameter. Types are checked before invoking the method, so
+     * that exceptions thrown by the method itself are never mistaken for a
+     * type mismatch.
+     *
+     * @param facts known facts
+     * @return actual parameters of the method, null if a declared fact is missing,
+     * or {@link #MISMATCHED_TYPES} if the type of a fact does not match the type of its parameter
+     */
+    Object[] tryBind(final Facts facts) {
+        if (factNames.length == 0) {
+            return NO_ARGUMENTS;
+        }
+        Object[] actualParameters = new Object[factNames.length];
+        boolean mismatchedTypes = false;
+        for (int i = 0; i < factNames.length; i++) {
+            String factName = factNames[i];
+            if (factName == null) {
+                actualParameters[i] = facts; // validated upfront, there may be only one parameter not annotated and which is of type Facts.class
+            } else {
+                org.jeasy.rules.api.Fact<?> fact = facts.getFact(factName);
+                if (fact == null) {
+                    return null;
+                }
+                actualParameters[i] = fact.getValue();
+                mismatchedTypes |= !isAssignable(parameterTypes[i], actualParameters[i]);
+            }
+        }
+        return mismatchedTypes ? MISMATCHED_TYPES : actualParameters;
+    }
+
+    /**
+     * Return the name of the first declared fact missing in known facts.
+     *
+     * @param facts known facts
+     * @return the name of the missing fact, or null if all declared facts are known
+     */
+    String getMissingFact(final Facts facts) {
+        for (String factName : requiredFacts) {
+            if (facts.getFact(factName) == null) {
+                return factName;
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Same rules as reflective invocations: values of primitive parameters are unboxed
+     * and may be widened (for example, an Integer fact can be injected in a long parameter).
+     */
+    static boolean isAssignable(final Class<?> parameterType, final Object value) {
+        if (!parameterType.isPrimitive()) {
+            return parameterType.isInstance(value);
+        }
+        Class<?> valueType = PRIMITIVE_TYPES.get(value.getClass());
+        return valueType != null && WIDENING_CONVERSIONS.get(valueType).contains(parameterType);
+    }
+
+}
@@ -0,0 +1,252 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.core;
+
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.Rule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * {@link Rule} implementation that adapts an annotated rule object using method
+ * handles bound to the rule object. Unlike rules created by {@link RuleProxy},
+ * this adapter resolves rule metadata (name, description and priority) and
+ * condition/action methods once at creation time, so that invoking a rule
+ * does not go through a dynamic proxy and reflective calls.
+ *
+ * Method handles are bound to the rule object, so they are kept in final instance fields.
+ * The JIT compiler does not trust instance fields as constants, so it does not inline the
+ * annotated methods into the call site as it would for a handle in a static final field.
+ * Each call goes through the compiled form of the handle instead, which still skips the
+ * proxy dispatch and the access checks of reflective calls. Holding handles in static final
+ * fields would require generating a class per rule class. The {@code easy-rules-processor}
+ * annotation processor does this at compile time: its {@link RuleAdapter}s call the annotated
+ * methods directly and are preferred over this class by {@link RuleProxy}.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+final class MethodHandleRule implements Rule {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandleRule.class);
+
+    private static final MethodType CONDITION_TYPE = MethodType.methodType(boolean.class, Object[].class);
+    private static final MethodType ACTION_TYPE = MethodType.methodType(void.class, Object[].class);
+    private static final MethodType COMPARE_TO_TYPE = MethodType.methodType(int.class, Object.class);
+
+    private final Object target;
+    private final String name;
+    private final String description;
+    private final int priority;
+    private final MethodBinding condition;
+    private final MethodHandle conditionHandle;
+    private final MethodBinding[] actions;
+    private final MethodHandle[] actionHandles;
+    private final MethodHandle compareTo;
+
+    /**
+     * Create a new {@link MethodHandleRule}. The rule definition is expected to be validated upfront
+     * with a {@link RuleDefinitionValidator}.
+     *
+     * @param target the annotated rule object
+     * @throws IllegalAccessException if a method of the rule object is not accessible
+     */
+    MethodHandleRule(final Object target) throws IllegalAccessException {
+        this.target = target;
+        RuleBindingPlan plan = RuleBindingPlan.of(target.getClass());
+        this.condition = plan.getCondition();
+        this.conditionHandle = spread(unreflect(condition.getMethod()), condition, CONDITION_TYPE);
+        this.actions = plan.getActions();
+        this.actionHandles = new MethodHandle[actions.length];
+        for (int i = 0; i < actions.length; i++) {
+            this.actionHandles[i] = spread(unreflect(actions[i].getMethod()), actions[i], ACTION_TYPE);
+        }
+        Method compareToMethod = plan.getCompareToMethod();
+        if (compareToMethod != null) {
+            if (compareToMethod.getParameterCount() != 1) {
+                throw new IllegalArgumentException("compareTo method must have a single argument");
+            }
+            this.compareTo = unreflect(compareToMethod).bindTo(target).asType(COMPARE_TO_TYPE);
+        } else {
+            this.compareTo = null;
+        }
+
+        org.jeasy.rules.annotation.Rule annotation = plan.getAnnotation();
+        this.name = plan.getName();
+        this.description = plan.getDescription();
+        Method priorityMethod = plan.getPriorityMethod();
+        this.priority = priorityMethod != null ? invokePriorityMethod(priorityMethod) : annotation.priority();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+
+    @Override
+    public Set<String> getRequiredFacts() {
+        return condition.getRequiredFacts();
+    }
+
+    @Override
+    public Set<String> getDependencies() {
+        return condition.getDependencies();
+    }
+
+    @Override
+    public boolean evaluate(final Facts facts) {
+        Object[] actualParameters = condition.tryBind(facts);
+        if (actualParameters == null) {
+            MissingFactReporter.report(target.getClass().getName(), condition.getMissingFact(facts), facts);
+            return false;
+        }
+        if (actualParameters == MethodBinding.MISMATCHED_TYPES) {
+            LOGGER.warn("Types of injected facts in method '{}' in rule '{}' do not match parameters types",
+                    condition.getMethod().getName(), target.getClass().getName());
+            return false;
+        }
+        try {
+            return (boolean) conditionHandle.invokeExact(actualParameters);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable throwable) {
+            throw new UndeclaredThrowableException(throwable);
+        }
+    }
+
+    @Override
+    public void execute(final Facts facts) throws Exception {
+        for (int i = 0; i < actions.length; i++) {
+            Object[] actualParameters = actions[i].bind(facts);
+            try {
+                actionHandles[i].invokeExact(actualParameters);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable throwable) {
+                throw new UndeclaredThrowableException(throwable);
+            }
+        }
+    }
+
+    @Override
+    public int compareTo(final Rule otherRule) {
+        Object otherTarget = Utils.getTarget(otherRule);
+        if (compareTo != null && otherTarget != null) {
+            try {
+                return (int) compareTo.invokeExact(otherTarget);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable throwable) {
+                throw new UndeclaredThrowableException(throwable);
+            }
+        }
+        int otherPriority = otherRule.getPriority();
+        if (priority < otherPriority) {
+            return -1;
+        } else if (priority > otherPriority) {
+            return 1;
+        } else {
+            return name.compareTo(otherRule.getName());
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Rule)) {
+            return false;
+        }
+        Rule otherRule = (Rule) o;
+        return priority == otherRule.getPriority()
+                && name.equals(otherRule.getName())
+                && Objects.equals(description, otherRule.getDescription());
+    }
+
+    @Override
+    public int hashCode() {
+        int result = name.hashCode();
+        result = 31 * result + (description != null ? description.hashCode() : 0);
+        result = 31 * result + priority;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return target.toString();
+    }
+
+    Object getTarget() {
+        return target;
+    }
+
+    MethodBinding getCondition() {
+        return condition;
+    }
+
+    private int invokePriorityMethod(Method priorityMethod) throws IllegalAccessException {
+        try {
+            return (int) unreflect(priorityMethod).bindTo(target).invoke();
+        } catch (IllegalAccessException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable throwable) {
+            throw new UndeclaredThrowableException(throwable);
+        }
+    }
+
+    private MethodHandle spread(MethodHandle methodHandle, MethodBinding binding, MethodType type) {
+        return methodHandle.bindTo(target)
+                .asSpreader(Object[].class, binding.getParameterCount())
+                .asType(type);
+    }
+
+    private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+        try {
+            // rule classes are not required to be public
+            method.setAccessible(true);
+        } catch (RuntimeException e) {
+            LOGGER.debug("Unable to make method '{}' accessible", method, e);
+        }
+        return MethodHandles.lookup().unreflect(method);
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.core;
+
+import org.jeasy.rules.api.Facts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports rules evaluated to false because of a declared but missing fact.
+ *
+ * Missing facts are reported at debug level by default. Warnings can be enabled for a rules
+ * engine with {@link org.jeasy.rules.api.RulesEngineParameters#missingFactWarnings(boolean)},
+ * or for all rules with the system property {@value RuleProxy#MISSING_FACT_WARNINGS_PROPERTY}
+ * (read once, when this class is initialized). At most one warning per rule and missing fact
+ * is logged every minute.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+final class MissingFactReporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MissingFactReporter.class);
+    private static final long WARNING_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+    private static final boolean WARNINGS = Boolean.getBoolean(RuleProxy.MISSING_FACT_WARNINGS_PROPERTY);
+    private static final Map<String, Long> lastWarnings = new ConcurrentHashMap<>();
+
+    private MissingFactReporter() { }
+
+    static void report(final String rule, final String missingFact, final Facts facts) {
+        report(rule, missingFact, facts, false);
+    }
+
+    static void report(final String rule, final String missingFact, final Facts facts, final boolean warnings) {
+        if ((warnings || WARNINGS) && shouldWarn(rule, missingFact)) {
+            LOGGER.warn("Rule '{}' has been evaluated to false due to a declared but missing fact '{}' in {}",
+                    rule, missingFact, facts);
+        } else {
+            LOGGER.debug("Rule '{}' has been evaluated to false due to a declared but missing fact '{}'", rule, missingFact);
+        }
+    }
+
+    private static boolean shouldWarn(final String rule, final String missingFact) {
+        long now = System.nanoTime();
+        String key = rule + '#' + missingFact;
+        Long lastWarning = lastWarnings.get(key);
+        if (lastWarning != null && now - lastWarning < WARNING_INTERVAL) {
+            return false;
+        }
+        // concurrent reports of the same missing fact may both win: an extra warning is acceptable
+        lastWarnings.put(key, now);
+        return true;
+    }
+
+}
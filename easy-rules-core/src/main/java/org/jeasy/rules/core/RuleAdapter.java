@@ -0,0 +1,274 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.core;
+
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.Rule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import static java.lang.String.format;
+
+/**
+ * Base class of {@link Rule} adapters generated at compile time for classes annotated
+ * with {@link org.jeasy.rules.annotation.Rule} by the {@code easy-rules-processor}
+ * annotation processor.
+ *
+ * A generated adapter is named after the binary name of the rule class where '$' is
+ * replaced with "__" and '_' with "_1", followed by the {@value #ADAPTER_CLASS_NAME_SUFFIX}
+ * suffix (see {@link #adapterClassName(String)}), and declares a public constructor accepting an
+ * instance of the rule class. When such an adapter exists, {@link RuleProxy#asRule(Object)}
+ * uses it instead of validating the rule object and creating a dynamic proxy.
+ *
+ * This class is not intended to be extended by hand.
+ *
+ * @param <T> type of the annotated rule object
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public abstract class RuleAdapter<T> implements Rule {
+
+    /**
+     * Suffix of generated adapter class names.
+     */
+    public static final String ADAPTER_CLASS_NAME_SUFFIX = "_RuleAdapter";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RuleAdapter.class);
+
+    /**
+     * The annotated rule object.
+     */
+    protected final T target;
+
+    private final String name;
+    private final String description;
+    private final int priority;
+    private final Set<String> requiredFacts;
+
+    /**
+     * Create a new {@link RuleAdapter}.
+     *
+     * @param target the annotated rule object
+     * @param name rule name
+     * @param description rule description
+     * @param priority rule priority
+     * @param requiredFacts names of the facts injected in the condition method
+     */
+    protected RuleAdapter(final T target, final String name, final String description, final int priority, final String... requiredFacts) {
+        this.target = Objects.requireNonNull(target, "target must not be null");
+        this.name = name;
+        this.description = description;
+        this.priority = priority;
+        this.requiredFacts = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(requiredFacts)));
+    }
+
+    /**
+     * Return the fully qualified name of the adapter generated for a rule class.
+     *
+     * @param ruleClassName binary name of the rule class, as returned by {@link Class#getName()}
+     * @return the fully qualified name of the generated adapter
+     */
+    public static String adapterClassName(final String ruleClassName) {
+        int packageEnd = ruleClassName.lastIndexOf('.');
+        String packagePrefix = ruleClassName.substring(0, packageEnd + 1);
+        // escaped so that different rule classes (like A$B and A_B) never share an adapter name
+        String simpleName = ruleClassName.substring(packageEnd + 1).replace("_", "_1").replace("$", "__");
+        return packagePrefix + simpleName + ADAPTER_CLASS_NAME_SUFFIX;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+
+    @Override
+    public Set<String> getRequiredFacts() {
+        return requiredFacts;
+    }
+
+    @Override
+    public Set<String> getDependencies() {
+        return readsUndeclaredFacts() ? Collections.<String>emptySet() : requiredFacts;
+    }
+
+    @Override
+    public final boolean evaluate(final Facts facts) {
+        for (String requiredFact : requiredFacts) {
+            if (facts.getFact(requiredFact) == null) {
+                MissingFactReporter.report(target.getClass().getName(), requiredFact, facts);
+                return false;
+            }
+        }
+        try {
+            return doEvaluate(facts);
+        } catch (NoSuchFactException e) {
+            MissingFactReporter.report(target.getClass().getName(), e.getMissingFact(), facts);
+            return false;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    /**
+     * Invoke the condition method of the rule object.
+     *
+     * @param facts known facts
+     * @return the result of the condition method
+     * @throws Exception thrown by the condition method
+     */
+    protected abstract boolean doEvaluate(Facts facts) throws Exception;
+
+    /**
+     * Return the value of a fact injected in a condition or action method.
+     *
+     * @param facts known facts
+     * @param factName name of the fact
+     * @return the value of the fact
+     * @throws RuntimeException if there is no fact with the given name
+     */
+    protected Object getFact(final Facts facts, final String factName) {
+        org.jeasy.rules.api.Fact<?> fact = facts.getFact(factName);
+        if (fact == null) {
+            throw new NoSuchFactException(format("No fact named '%s' found in known facts: %n%s", factName, facts), factName);
+        }
+        return fact.getValue();
+    }
+
+    /**
+     * Check if a fact can be injected in a primitive parameter. As with reflective invocations,
+     * the fact is unboxed and may be widened (for example, an Integer fact can be injected in a
+     * long parameter).
+     *
+     * @param value of the fact
+     * @param primitiveType type of the parameter
+     * @return true if the fact can be injected in the parameter
+     */
+    protected static boolean isAssignable(final Object value, final Class<?> primitiveType) {
+        return MethodBinding.isAssignable(primitiveType, value);
+    }
+
+    /**
+     * Return a fact to be injected in a numeric primitive parameter as a number.
+     *
+     * @param value of the fact, a {@link Number} or a {@link Character}
+     * @return the fact as a number
+     */
+    protected static Number numberValue(final Object value) {
+        return value instanceof Character ? Integer.valueOf((Character) value) : (Number) value;
+    }
+
+    /**
+     * Check if the condition method may access other facts than its required facts,
+     * which is the case when it has a {@link Facts} parameter.
+     *
+     * @return false by default
+     */
+    protected boolean readsUndeclaredFacts() {
+        return false;
+    }
+
+    /**
+     * Called when facts injected in the condition method do not match its parameters types.
+     *
+     * @param methodName name of the condition method
+     * @return the result of the evaluation, false by default
+     */
+    protected boolean onParameterTypeMismatch(final String methodName) {
+        LOGGER.warn("Types of injected facts in method '{}' in rule '{}' do not match parameters types",
+                methodName, target.getClass().getName());
+        return false;
+    }
+
+    @Override
+    public int compareTo(final Rule otherRule) {
+        int otherPriority = otherRule.getPriority();
+        if (priority < otherPriority) {
+            return -1;
+        } else if (priority > otherPriority) {
+            return 1;
+        } else {
+            return name.compareTo(otherRule.getName());
+        }
+    }
+
+    /**
+     * Return the annotated object adapted by another rule, if any.
+     *
+     * @param otherRule another rule
+     * @return the annotated object adapted by the other rule, or null if it does not adapt an annotated object
+     */
+    protected static Object getTargetOf(final Rule otherRule) {
+        return Utils.getTarget(otherRule);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Rule)) {
+            return false;
+        }
+        Rule otherRule = (Rule) o;
+        return priority == otherRule.getPriority()
+                && name.equals(otherRule.getName())
+                && Objects.equals(description, otherRule.getDescription());
+    }
+
+    @Override
+    public int hashCode() {
+        int result = name.hashCode();
+        result = 31 * result + (description != null ? description.hashCode() : 0);
+        result = 31 * result + priority;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return target.toString();
+    }
+
+    T getTarget() {
+        return target;
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.core;
+
+import org.jeasy.rules.annotation.Action;
+import org.jeasy.rules.annotation.Condition;
+import org.jeasy.rules.annotation.Priority;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Methods of an annotated rule class, resolved once per rule class and shared by
+ * all the rules created from instances of this class. The rule definition is
+ * expected to be validated upfront with a {@link RuleDefinitionValidator}.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+final class RuleBindingPlan {
+
+    private static final ClassValue<RuleBindingPlan> plans = new ClassValue<RuleBindingPlan>() {
+        @Override
+        protected RuleBindingPlan computeValue(Class<?> ruleClass) {
+            return new RuleBindingPlan(ruleClass);
+        }
+    };
+
+    private final org.jeasy.rules.annotation.Rule annotation;
+    private final String name;
+    private final String description;
+    private final MethodBinding condition;
+    private final MethodBinding[] actions;
+    private final Method priorityMethod;
+    private final Method compareToMethod;
+    private final Method toStringMethod;
+
+    private RuleBindingPlan(final Class<?> ruleClass) {
+        Method conditionMethod = null;
+        Method priorityMethod = null;
+        Method compareToMethod = null;
+        Method toStringMethod = null;
+        Set<ActionMethodOrderBean> actionMethods = new TreeSet<>();
+        for (Method method : ruleClass.getMethods()) {
+            if (conditionMethod == null && method.isAnnotationPresent(Condition.class)) {
+                conditionMethod = method;
+            }
+            if (method.isAnnotationPresent(Action.class)) {
+                actionMethods.add(new ActionMethodOrderBean(method, method.getAnnotation(Action.class).order()));
+            }
+            if (priorityMethod == null && method.isAnnotationPresent(Priority.class)) {
+                priorityMethod = method;
+            }
+            if (compareToMethod == null && method.getName().equals("compareTo")) {
+                compareToMethod = method;
+            }
+            if (toStringMethod == null && method.getName().equals("toString")) {
+                toStringMethod = method;
+            }
+        }
+        this.condition = new MethodBinding(conditionMethod);
+        this.actions = new MethodBinding[actionMethods.size()];
+        int i = 0;
+        for (ActionMethodOrderBean actionMethodBean : actionMethods) {
+            this.actions[i++] = new MethodBinding(actionMethodBean.getMethod());
+        }
+        this.priorityMethod = priorityMethod;
+        this.compareToMethod = compareToMethod;
+        this.toStringMethod = toStringMethod;
+        this.annotation = Utils.findAnnotation(org.jeasy.rules.annotation.Rule.class, ruleClass);
+        this.name = annotation.name().equals(org.jeasy.rules.api.Rule.DEFAULT_NAME) ? ruleClass.getSimpleName() : annotation.name();
+        this.description = annotation.description().equals(org.jeasy.rules.api.Rule.DEFAULT_DESCRIPTION) ? getDefaultDescription(conditionMethod, this.actions) : annotation.description();
+    }
+
+    /**
+     * Return the binding plan of the given rule class.
+     *
+     * @param ruleClass annotated rule class
+     * @return the binding plan of the rule class
+     */
+    static RuleBindingPlan of(final Class<?> ruleClass) {
+        return plans.get(ruleClass);
+    }
+
+    org.jeasy.rules.annotation.Rule getAnnotation() {
+        return annotation;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getDescription() {
+        return description;
+    }
+
+    MethodBinding getCondition() {
+        return condition;
+    }
+
+    Set<String> getRequiredFacts() {
+        return condition.getRequiredFacts();
+    }
+
+    Set<String> getDependencies() {
+        return condition.getDependencies();
+    }
+
+    MethodBinding[] getActions() {
+        return actions;
+    }
+
+    Method getPriorityMethod() {
+        return priorityMethod;
+    }
+
+    Method getCompareToMethod() {
+        return compareToMethod;
+    }
+
+    Method getToStringMethod() {
+        return toStringMethod;
+    }
+
+    private static String getDefaultDescription(Method conditionMethod, MethodBinding[] actions) {
+        // Default description = "when " + conditionMethodName + " then " + comma separated actionMethodsNames
+        StringBuilder description = new StringBuilder();
+        description.append("when ");
+        description.append(conditionMethod.getName());
+        description.append(" then ");
+        for (int i = 0; i < actions.length; i++) {
+            description.append(actions[i].getMethod().getName());
+            if (i < actions.length - 1) {
+                description.append(",");
+            }
+        }
+        return description.toString();
+    }
+
+}
@@ -24,11 +24,15 @@
 package org.jeasy.rules.core;
 
 import org.jeasy.rules.api.Action;
+import org.jeasy.rules.api.AsyncAction;
 import org.jeasy.rules.api.Condition;
 import org.jeasy.rules.api.Rule;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Builder to create {@link Rule} instances.
@@ -40,6 +44,8 @@ public class RuleBuilder {
     private String name = Rule.DEFAULT_NAME;
     private String description = Rule.DEFAULT_DESCRIPTION;
     private int priority = Rule.DEFAULT_PRIORITY;
+    private final Set<String> requiredFacts = new LinkedHashSet<>();
+    private final Set<String> dependencies = new LinkedHashSet<>();
 
     private Condition condition = Condition.FALSE;
     private final List<Action> actions = new ArrayList<>();
@@ -77,6 +83,31 @@ public class RuleBuilder {
         return this;
     }
 
+    /**
+     * Declare facts required to evaluate the rule condition. The rule is not evaluated when
+     * one of these facts is missing.
+     *
+     * @param factNames names of the facts required to evaluate the rule condition
+     * @return the builder instance
+     */
+    public RuleBuilder requires(String... factNames) {
+        this.requiredFacts.addAll(Arrays.asList(factNames));
+        return this;
+    }
+
+    /**
+     * Declare facts the rule condition depends on, which may be missing. The condition must
+     * not read other facts than these ones and its required facts, so that the
+     * {@link IncrementalInferenceRulesEngine} only re-evaluates the rule when one of them changes.
+     *
+     * @param factNames names of the facts the rule condition depends on
+     * @return the builder instance
+     */
+    public RuleBuilder dependsOn(String... factNames) {
+        this.dependencies.addAll(Arrays.asList(factNames));
+        return this;
+    }
+
     /**
      * Set rule condition.
      *
@@ -99,12 +130,23 @@ public class RuleBuilder {
         return this;
     }
 
+    /**
+     * Add an asynchronous action to the rule.
+     *
+     * @param action to add
+     * @return the builder instance
+     */
+    public RuleBuilder thenAsync(AsyncAction action) {
+        this.actions.add(action);
+        return this;
+    }
+
     /**
      * Create a new {@link Rule}.
      *
      * @return a new rule instance
      */
     public Rule build() {
-        return new DefaultRule(name, description, priority, condition, actions);
+        return new DefaultRule(name, description, priority, requiredFacts, dependencies, condition, actions);
     }
 }
@@ -0,0 +1,108 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.core;
+
+import org.jeasy.rules.api.RulesPlan;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the rules of a {@link RulesPlan} by the facts their conditions depend on.
+ * Rules are identified by their position in the plan.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+final class RuleDependencies {
+
+    private final RulesPlan plan;
+    private final String[] factNames;
+    private final int[][] dependentRules;
+    private final int[] undeclaredDependencyRules;
+
+    RuleDependencies(final RulesPlan plan) {
+        this.plan = plan;
+        Map<String, List<Integer>> rulesByFact = new LinkedHashMap<>();
+        List<Integer> undeclaredDependencyRules = new ArrayList<>();
+        for (int i = 0; i < plan.size(); i++) {
+            Set<String> dependencies = plan.getRule(i).getDependencies();
+            if (dependencies.isEmpty()) {
+                undeclaredDependencyRules.add(i);
+            }
+            for (String factName : dependencies) {
+                rulesByFact.computeIfAbsent(factName, name -> new ArrayList<>()).add(i);
+            }
+        }
+        this.factNames = rulesByFact.keySet().toArray(new String[0]);
+        this.dependentRules = new int[factNames.length][];
+        for (int i = 0; i < factNames.length; i++) {
+            this.dependentRules[i] = toArray(rulesByFact.get(factNames[i]));
+        }
+        this.undeclaredDependencyRules = toArray(undeclaredDependencyRules);
+    }
+
+    RulesPlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * Return the names of the facts rules depend on.
+     *
+     * @return names of the facts rules depend on
+     */
+    String[] getFactNames() {
+        return factNames;
+    }
+
+    /**
+     * Return the positions of the rules depending on a fact.
+     *
+     * @param factIndex position of the fact in {@link #getFactNames()}
+     * @return positions of the rules depending on the fact
+     */
+    int[] getDependentRules(final int factIndex) {
+        return dependentRules[factIndex];
+    }
+
+    /**
+     * Return the positions of the rules which do not declare the facts they depend on.
+     *
+     * @return positions of the rules having undeclared dependencies
+     */
+    int[] getUndeclaredDependencyRules() {
+        return undeclaredDependencyRules;
+    }
+
+    private static int[] toArray(final List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+}
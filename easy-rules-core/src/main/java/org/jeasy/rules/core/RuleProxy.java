@@ -23,26 +23,20 @@
  */
 package org.jeasy.rules.core;
 
-import org.jeasy.rules.annotation.Action;
-import org.jeasy.rules.annotation.Condition;
-import org.jeasy.rules.annotation.Fact;
-import org.jeasy.rules.annotation.Priority;
 import org.jeasy.rules.api.Facts;
 import org.jeasy.rules.api.Rule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Objects;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import static java.lang.String.format;
 
@@ -54,41 +48,130 @@ import static java.lang.String.format;
 public class RuleProxy implements InvocationHandler {
 
     private final Object target;
-    private String name;
-    private String description;
+    private final RuleBindingPlan plan;
     private Integer priority;
-    private Method[] methods;
-    private Method conditionMethod;
-    private Set<ActionMethodOrderBean> actionMethods;
-    private Method compareToMethod;
-    private Method toStringMethod;
-    private org.jeasy.rules.annotation.Rule annotation;
 
+    /**
+     * Name of the system property that enables method handles based rules by default. When this
+     * property is set to {@code true} at startup, {@link #asRule(Object)} adapts annotated rule
+     * objects with pre-bound method handles instead of creating dynamic proxies. Use
+     * {@link #asRule(Object, boolean)} to choose how a given rule object is adapted.
+     */
+    public static final String METHOD_HANDLES_PROPERTY = "org.jeasy.rules.methodHandles";
+
+    /**
+     * Name of the system property that enables warnings about rules evaluated to false
+     * because of a declared but missing fact, for all rules engines and rules. When this
+     * property is set to {@code true} at startup, at most one warning per rule and missing
+     * fact is logged every minute. Otherwise, missing facts are only reported at debug level,
+     * unless warnings are enabled with {@link org.jeasy.rules.api.RulesEngineParameters#missingFactWarnings(boolean)}.
+     */
+    public static final String MISSING_FACT_WARNINGS_PROPERTY = "org.jeasy.rules.missingFactWarnings";
+
+    private static final boolean METHOD_HANDLES = Boolean.getBoolean(METHOD_HANDLES_PROPERTY);
     private static final RuleDefinitionValidator ruleDefinitionValidator = new RuleDefinitionValidator();
+    private static final ClassValue<Optional<Constructor<?>>> ruleAdapterConstructors = new ClassValue<Optional<Constructor<?>>>() {
+        @Override
+        protected Optional<Constructor<?>> computeValue(Class<?> ruleClass) {
+            return findRuleAdapterConstructor(ruleClass);
+        }
+    };
     private static final Logger LOGGER = LoggerFactory.getLogger(RuleProxy.class);
 
     /**
      * Makes the rule object implement the {@link Rule} interface.
      *
+     * If a {@link RuleAdapter} has been generated at compile time for the class of the
+     * rule object, the returned rule is an instance of this adapter and the rule definition
+     * is not validated again at runtime.
+     *
+     * If the system property {@value #METHOD_HANDLES_PROPERTY} is set to {@code true},
+     * the returned rule invokes the annotated methods of the rule object through
+     * pre-bound method handles rather than through a dynamic proxy.
+     *
      * @param rule the annotated rule object.
      * @return a proxy that implements the {@link Rule} interface.
      */
     public static Rule asRule(final Object rule) {
+        return asRule(rule, METHOD_HANDLES);
+    }
+
+    /**
+     * Makes the rule object implement the {@link Rule} interface.
+     *
+     * If a {@link RuleAdapter} has been generated at compile time for the class of the
+     * rule object, the returned rule is an instance of this adapter and the rule definition
+     * is not validated again at runtime.
+     *
+     * @param rule the annotated rule object.
+     * @param methodHandles true to invoke the annotated methods of the rule object through
+     *                      pre-bound method handles, false to use a dynamic proxy
+     * @return a proxy that implements the {@link Rule} interface.
+     */
+    public static Rule asRule(final Object rule, final boolean methodHandles) {
         Rule result;
         if (rule instanceof Rule) {
             result = (Rule) rule;
         } else {
+            Optional<Constructor<?>> ruleAdapterConstructor = ruleAdapterConstructors.get(rule.getClass());
+            if (ruleAdapterConstructor.isPresent()) {
+                return newRuleAdapter(ruleAdapterConstructor.get(), rule);
+            }
             ruleDefinitionValidator.validateRuleDefinition(rule);
-            result = (Rule) Proxy.newProxyInstance(
-                    Rule.class.getClassLoader(),
-                    new Class[]{Rule.class, Comparable.class},
-                    new RuleProxy(rule));
+            result = methodHandles ? asMethodHandleRule(rule) : asProxy(rule);
         }
         return result;
     }
 
+    private static Rule asProxy(final Object rule) {
+        return (Rule) Proxy.newProxyInstance(
+                Rule.class.getClassLoader(),
+                new Class[]{Rule.class, Comparable.class},
+                new RuleProxy(rule));
+    }
+
+    private static Rule newRuleAdapter(final Constructor<?> ruleAdapterConstructor, final Object rule) {
+        try {
+            return (Rule) ruleAdapterConstructor.newInstance(rule);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalArgumentException(format("Unable to create rule adapter for rule '%s'", rule.getClass().getName()), cause);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(format("Unable to create rule adapter for rule '%s'", rule.getClass().getName()), e);
+        }
+    }
+
+    private static Optional<Constructor<?>> findRuleAdapterConstructor(final Class<?> ruleClass) {
+        String adapterClassName = RuleAdapter.adapterClassName(ruleClass.getName());
+        try {
+            Class<?> adapterClass = Class.forName(adapterClassName, true, ruleClass.getClassLoader());
+            if (!RuleAdapter.class.isAssignableFrom(adapterClass)) {
+                return Optional.empty();
+            }
+            return Optional.of(adapterClass.getConstructor(ruleClass));
+        } catch (ClassNotFoundException | NoSuchMethodException | LinkageError e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Rule asMethodHandleRule(final Object rule) {
+        try {
+            return new MethodHandleRule(rule);
+        } catch (IllegalAccessException e) {
+            LOGGER.debug("Unable to create method handles for rule '{}', falling back to a dynamic proxy", rule.getClass().getName(), e);
+            return asProxy(rule);
+        }
+    }
+
     private RuleProxy(final Object target) {
         this.target = target;
+        this.plan = RuleBindingPlan.of(target.getClass());
     }
 
     @Override
@@ -101,12 +184,18 @@ public class RuleProxy implements InvocationHandler {
                 return getRuleDescription();
             case "getPriority":
                 return getRulePriority();
+            case "getRequiredFacts":
+                return plan.getRequiredFacts();
+            case "getDependencies":
+                return plan.getDependencies();
             case "compareTo":
                 return compareToMethod(args);
             case "evaluate":
                 return evaluateMethod(args);
             case "execute":
                 return executeMethod(args);
+            case "executeAsync":
+                return executeAsyncMethod(args);
             case "equals":
                 return equalsMethod(args);
             case "hashCode":
@@ -120,14 +209,20 @@ public class RuleProxy implements InvocationHandler {
 
     private Object evaluateMethod(final Object[] args) throws IllegalAccessException, InvocationTargetException {
         Facts facts = (Facts) args[0];
-        Method conditionMethod = getConditionMethod();
-        try {
-            List<Object> actualParameters = getActualParameters(conditionMethod, facts);
-            return conditionMethod.invoke(target, actualParameters.toArray()); // validated upfront
-        } catch (NoSuchFactException e) {
-            LOGGER.warn("Rule '{}' has been evaluated to false due to a declared but missing fact '{}' in {}",
-                    getTargetClass().getName(), e.getMissingFact(), facts);
+        MethodBinding condition = plan.getCondition();
+        Method conditionMethod = condition.getMethod();
+        Object[] actualParameters = condition.tryBind(facts);
+        if (actualParameters == null) {
+            MissingFactReporter.report(getTargetClass().getName(), condition.getMissingFact(facts), facts);
+            return false;
+        }
+        if (actualParameters == MethodBinding.MISMATCHED_TYPES) {
+            LOGGER.warn("Types of injected facts in method '{}' in rule '{}' do not match parameters types",
+                    conditionMethod.getName(), getTargetClass().getName());
             return false;
+        }
+        try {
+            return conditionMethod.invoke(target, actualParameters); // validated upfront
         } catch (IllegalArgumentException e) {
             LOGGER.warn("Types of injected facts in method '{}' in rule '{}' do not match parameters types",
                     conditionMethod.getName(), getTargetClass().getName(), e);
@@ -137,46 +232,39 @@ public class RuleProxy implements InvocationHandler {
 
     private Object executeMethod(final Object[] args) throws IllegalAccessException, InvocationTargetException {
         Facts facts = (Facts) args[0];
-        for (ActionMethodOrderBean actionMethodBean : getActionMethodBeans()) {
-            Method actionMethod = actionMethodBean.getMethod();
-            List<Object> actualParameters = getActualParameters(actionMethod, facts);
-            actionMethod.invoke(target, actualParameters.toArray());
+        for (MethodBinding action : plan.getActions()) {
+            action.getMethod().invoke(target, action.bind(facts));
         }
         return null;
     }
 
+    private CompletionStage<Void> executeAsyncMethod(final Object[] args) {
+        CompletableFuture<Void> execution = new CompletableFuture<>();
+        try {
+            executeMethod(args);
+            execution.complete(null);
+        } catch (InvocationTargetException e) {
+            execution.completeExceptionally(e.getTargetException());
+        } catch (Exception e) {
+            execution.completeExceptionally(e);
+        }
+        return execution;
+    }
+
     private Object compareToMethod(final Object[] args) throws Exception {
-        Method compareToMethod = getCompareToMethod();
+        Method compareToMethod = plan.getCompareToMethod();
         Object otherRule = args[0]; // validated upfront
-        if (compareToMethod != null && Proxy.isProxyClass(otherRule.getClass())) {
+        Object otherTarget = Utils.getTarget((Rule) otherRule);
+        if (compareToMethod != null && otherTarget != null) {
             if (compareToMethod.getParameters().length != 1) {
                 throw new IllegalArgumentException("compareTo method must have a single argument");
             }
-            RuleProxy ruleProxy = (RuleProxy) Proxy.getInvocationHandler(otherRule);
-            return compareToMethod.invoke(target, ruleProxy.getTarget());
+            return compareToMethod.invoke(target, otherTarget);
         } else {
             return compareTo((Rule) otherRule);
         }
     }
 
-    private List<Object> getActualParameters(Method method, Facts facts) {
-        List<Object> actualParameters = new ArrayList<>();
-        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
-        for (Annotation[] annotations : parameterAnnotations) {
-            if (annotations.length == 1) {
-                String factName = ((Fact) (annotations[0])).value(); //validated upfront.
-                Object fact = facts.get(factName);
-                if (fact == null && !facts.asMap().containsKey(factName)) {
-                    throw new NoSuchFactException(format("No fact named '%s' found in known facts: %n%s", factName, facts), factName);
-                }
-                actualParameters.add(fact);
-            } else {
-                actualParameters.add(facts); //validated upfront, there may be only one parameter not annotated and which is of type Facts.class
-            }
-        }
-        return actualParameters;
-    }
-
     private boolean equalsMethod(final Object[] args) throws Exception {
         if (!(args[0] instanceof Rule)) {
             return false;
@@ -206,21 +294,8 @@ public class RuleProxy implements InvocationHandler {
         return result;
     }
 
-    private Method getToStringMethod() {
-        if (this.toStringMethod == null) {
-            Method[] methods = getMethods();
-            for (Method method : methods) {
-                if ("toString".equals(method.getName())) {
-                    this.toStringMethod = method;
-                    return this.toStringMethod;
-                }
-            }
-        }
-        return this.toStringMethod;
-    }
-
     private String toStringMethod() throws Exception {
-        Method toStringMethod = getToStringMethod();
+        Method toStringMethod = plan.getToStringMethod();
         if (toStringMethod != null) {
             return (String) toStringMethod.invoke(target);
         } else {
@@ -246,117 +321,28 @@ public class RuleProxy implements InvocationHandler {
         if (this.priority == null) {
             int priority = Rule.DEFAULT_PRIORITY;
 
-            org.jeasy.rules.annotation.Rule rule = getRuleAnnotation();
+            org.jeasy.rules.annotation.Rule rule = plan.getAnnotation();
             if (rule.priority() != Rule.DEFAULT_PRIORITY) {
                 priority = rule.priority();
             }
 
-            Method[] methods = getMethods();
-            for (Method method : methods) {
-                if (method.isAnnotationPresent(Priority.class)) {
-                    priority = (int) method.invoke(target);
-                    break;
-                }
+            Method priorityMethod = plan.getPriorityMethod();
+            if (priorityMethod != null) {
+                priority = (int) priorityMethod.invoke(target);
             }
             this.priority = priority;
         }
         return this.priority;
     }
 
-    private Method getConditionMethod() {
-        if (this.conditionMethod == null) {
-            Method[] methods = getMethods();
-            for (Method method : methods) {
-                if (method.isAnnotationPresent(Condition.class)) {
-                    this.conditionMethod = method;
-                    return this.conditionMethod;
-                }
-            }
-        }
-        return this.conditionMethod;
-    }
-
-    private Set<ActionMethodOrderBean> getActionMethodBeans() {
-        if (this.actionMethods == null) {
-            this.actionMethods = new TreeSet<>();
-            Method[] methods = getMethods();
-            for (Method method : methods) {
-                if (method.isAnnotationPresent(Action.class)) {
-                    Action actionAnnotation = method.getAnnotation(Action.class);
-                    int order = actionAnnotation.order();
-                    this.actionMethods.add(new ActionMethodOrderBean(method, order));
-                }
-            }
-        }
-        return this.actionMethods;
-    }
-
-    private Method getCompareToMethod() {
-        if (this.compareToMethod == null) {
-            Method[] methods = getMethods();
-            for (Method method : methods) {
-                if (method.getName().equals("compareTo")) {
-                    this.compareToMethod = method;
-                    return this.compareToMethod;
-                }
-            }
-        }
-        return this.compareToMethod;
-    }
-
-    private Method[] getMethods() {
-        if (this.methods == null) {
-            this.methods = getTargetClass().getMethods();
-        }
-        return this.methods;
-    }
-
-    private org.jeasy.rules.annotation.Rule getRuleAnnotation() {
-        if (this.annotation == null) {
-            this.annotation = Utils.findAnnotation(org.jeasy.rules.annotation.Rule.class, getTargetClass());
-        }
-        return this.annotation;
-    }
-
     private String getRuleName() {
-        if (this.name == null) {
-            org.jeasy.rules.annotation.Rule rule = getRuleAnnotation();
-            this.name = rule.name().equals(Rule.DEFAULT_NAME) ? getTargetClass().getSimpleName() : rule.name();
-        }
-        return this.name;
+        return plan.getName();
     }
 
     private String getRuleDescription() {
-        if (this.description == null) {
-            // Default description = "when " + conditionMethodName + " then " + comma separated actionMethodsNames
-            StringBuilder description = new StringBuilder();
-            appendConditionMethodName(description);
-            appendActionMethodsNames(description);
-            org.jeasy.rules.annotation.Rule rule = getRuleAnnotation();
-            this.description = rule.description().equals(Rule.DEFAULT_DESCRIPTION) ? description.toString() : rule.description();
-        }
-        return this.description;
-    }
-
-    private void appendConditionMethodName(StringBuilder description) {
-        Method method = getConditionMethod();
-        if (method != null) {
-            description.append("when ");
-            description.append(method.getName());
-            description.append(" then ");
-        }
+        return plan.getDescription();
     }
 
-    private void appendActionMethodsNames(StringBuilder description) {
-        Iterator<ActionMethodOrderBean> iterator = getActionMethodBeans().iterator();
-        while (iterator.hasNext()) {
-            description.append(iterator.next().getMethod().getName());
-            if (iterator.hasNext()) {
-                description.append(",");
-            }
-        }
-    }
-    
     public Object getTarget() {
         return target;
     }
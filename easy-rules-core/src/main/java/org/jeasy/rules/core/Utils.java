@@ -23,7 +23,10 @@
  */
 package org.jeasy.rules.core;
 
+import org.jeasy.rules.api.Rule;
+
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Proxy;
 
 final class Utils {
 
@@ -47,4 +50,23 @@ final class Utils {
         return findAnnotation(targetAnnotation, annotatedType) != null;
     }
 
+    /**
+     * Return the annotated object adapted by the given rule.
+     *
+     * @param rule a rule created from an annotated object
+     * @return the annotated object, or null if the given rule does not adapt an annotated object
+     */
+    static Object getTarget(final Rule rule) {
+        if (rule instanceof RuleAdapter) {
+            return ((RuleAdapter<?>) rule).getTarget();
+        }
+        if (rule instanceof MethodHandleRule) {
+            return ((MethodHandleRule) rule).getTarget();
+        }
+        if (Proxy.isProxyClass(rule.getClass()) && Proxy.getInvocationHandler(rule) instanceof RuleProxy) {
+            return ((RuleProxy) Proxy.getInvocationHandler(rule)).getTarget();
+        }
+        return null;
+    }
+
 }
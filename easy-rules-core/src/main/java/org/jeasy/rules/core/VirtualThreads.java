@@ -0,0 +1,96 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Factory of executors running each task in a new virtual thread, to be used with a
+ * {@link DefaultAsyncRulesEngine} so that each fire runs in its own virtual thread:
+ *
+ * <pre>
+ * AsyncRulesEngine rulesEngine = new DefaultAsyncRulesEngine(parameters, VirtualThreads.newThreadPerTaskExecutor());
+ * </pre>
+ *
+ * Virtual threads are available from Java 21. This class is replaced by a Java 21 version in
+ * the multi-release jar of Easy Rules. This version is used when classes are not loaded from
+ * the multi-release jar (for example from a build without the Java 21 layer, or from a jar
+ * repackaged without the {@code Multi-Release} manifest attribute): virtual threads are then
+ * looked up at runtime and executors fall back to platform threads if they are not available.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public final class VirtualThreads {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreads.class);
+    private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadPerTaskExecutorFactory();
+
+    private VirtualThreads() { }
+
+    /**
+     * Check if virtual threads are supported by the running JVM.
+     *
+     * @return true if virtual threads are supported, false otherwise
+     */
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Create an executor running each task in a new virtual thread, or in a new or cached
+     * platform thread if virtual threads are not supported by the running JVM.
+     *
+     * @return an executor running each task in a new thread
+     */
+    public static ExecutorService newThreadPerTaskExecutor() {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke();
+            } catch (Throwable throwable) {
+                LOGGER.warn("Unable to create a virtual thread per task executor, falling back to platform threads", throwable);
+            }
+        }
+        return Executors.newCachedThreadPool();
+    }
+
+    private static MethodHandle findVirtualThreadPerTaskExecutorFactory() {
+        try {
+            MethodHandle factory = MethodHandles.publicLookup().findStatic(Executors.class,
+                    "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            // virtual threads are a preview feature before Java 21
+            ((ExecutorService) factory.invoke()).shutdown();
+            return factory;
+        } catch (Throwable throwable) {
+            LOGGER.debug("Virtual threads are not supported, executors will use platform threads");
+            return null;
+        }
+    }
+}
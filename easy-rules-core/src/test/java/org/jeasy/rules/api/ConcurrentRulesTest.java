@@ -0,0 +1,157 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.api;
+
+import org.jeasy.rules.core.BasicRule;
+import org.jeasy.rules.core.DefaultRulesEngine;
+import org.jeasy.rules.core.RuleBuilder;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentRulesTest {
+
+    private final ConcurrentRules rules = new ConcurrentRules();
+
+    @Test
+    public void registerAndUnregister() {
+        // given
+        Rule r1 = new BasicRule("rule1");
+        Rule r2 = new BasicRule("rule2", "", 1);
+        Rule r3 = new BasicRule("rule3", "", 2);
+
+        // when
+        rules.register(r3, r1, r2);
+        rules.unregister(r2);
+        rules.unregister("RULE3");
+
+        // then
+        assertThat(rules).containsExactly(r1);
+        assertThat(rules.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void compiledSnapshotMustNotSeeLaterModifications() {
+        // given
+        Rule r1 = new BasicRule("rule1", "", 1);
+        Rule r2 = new BasicRule("rule2", "", 2);
+        rules.register(r1);
+        RulesPlan snapshot = rules.compile();
+
+        // when
+        rules.register(r2);
+
+        // then
+        assertThat(snapshot).containsExactly(r1);
+        assertThat(rules.compile()).containsExactly(r1, r2);
+        assertThat(rules.compile()).isSameAs(rules.compile());
+    }
+
+    @Test
+    public void replaceMustSwapAllRules() {
+        // given
+        Rule r1 = new BasicRule("rule1", "", 1);
+        Rule r2 = new BasicRule("rule2", "", 2);
+        Rule r3 = new BasicRule("rule3", "", 3);
+        rules.register(r1, r2);
+
+        // when
+        rules.replace(r3, r2);
+
+        // then
+        assertThat(rules).containsExactly(r2, r3);
+    }
+
+    @Test
+    public void inFlightFireMustKeepItsSnapshot() {
+        // given
+        List<String> firedRules = new ArrayList<>();
+        Rule late = new RuleBuilder().name("late").priority(2)
+                .when(facts -> true)
+                .then(facts -> firedRules.add("late"))
+                .build();
+        Rule early = new RuleBuilder().name("early").priority(1)
+                .when(facts -> true)
+                .then(facts -> {
+                    firedRules.add("early");
+                    rules.register(late);
+                })
+                .build();
+        rules.register(early);
+        DefaultRulesEngine rulesEngine = new DefaultRulesEngine();
+
+        // when
+        rulesEngine.fire(rules, new Facts());
+
+        // then
+        assertThat(firedRules).containsExactly("early");
+
+        // when
+        firedRules.clear();
+        rulesEngine.fire(rules, new Facts());
+
+        // then
+        assertThat(firedRules).containsExactly("early", "late");
+    }
+
+    @Test
+    public void concurrentModificationsMustNotBeLost() throws Exception {
+        // given
+        int threads = 8;
+        int rulesPerThread = 200;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> registrations = new ArrayList<>();
+
+        // when
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            registrations.add(executorService.submit(() -> {
+                start.await();
+                for (int i = 0; i < rulesPerThread; i++) {
+                    rules.register(new BasicRule("rule-" + thread + "-" + i));
+                    assertThat(rules.compile().size()).isPositive();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> registration : registrations) {
+            registration.get(1, TimeUnit.MINUTES);
+        }
+        executorService.shutdown();
+
+        // then
+        assertThat(rules.size()).isEqualTo(threads * rulesPerThread);
+    }
+
+}
@@ -28,6 +28,8 @@ import java.util.Map;
 import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 
 public class FactsTest {
 
@@ -108,6 +110,48 @@ public class FactsTest {
         assertThat(map).containsValues(1, 2);
     }
 
+    @Test
+    public void factsMustBeIteratedInInsertionOrder() {
+        facts.put("foo", 1);
+        facts.put("bar", 2);
+        facts.put("baz", 3);
+        facts.remove("bar");
+        facts.put("bar", 4);
+
+        assertThat(facts).extracting(Fact::getName).containsExactly("foo", "baz", "bar");
+    }
+
+    @Test
+    public void testRemoveNonExistingFact() {
+        facts.put("foo", 1);
+        facts.remove("bar");
+
+        assertThat(facts).containsExactly(new Fact<>("foo", 1));
+    }
+
+    @Test
+    public void testAsMapView() {
+        facts.put("foo", 1);
+        Map<String, Object> map = facts.asMapView();
+        facts.put("bar", 2);
+
+        assertThat(map).containsOnly(entry("foo", 1), entry("bar", 2));
+        assertThat(map.get("baz")).isNull();
+        assertThat(map.containsKey("baz")).isFalse();
+        assertThat(facts.asMapView()).isSameAs(map);
+    }
+
+    @Test
+    public void asMapViewMustBeReadOnly() {
+        facts.put("foo", 1);
+        Map<String, Object> map = facts.asMapView();
+
+        assertThatThrownBy(() -> map.put("bar", 2)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> map.remove("foo")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(map::clear).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(facts.getFact("foo").getValue()).isEqualTo(1);
+    }
+
     @Test
     public void testClear() {
         Facts facts = new Facts();
@@ -116,4 +160,63 @@ public class FactsTest {
         assertThat(facts).isEmpty();
     }
 
+    @Test
+    public void evaluationContextEntriesMustNotBeFacts() {
+        // given
+        Object key = new Object();
+        facts.put("foo", 1);
+
+        // when
+        facts.getEvaluationContext().put(key, "bar");
+
+        // then
+        assertThat(facts.getEvaluationContext()).containsOnly(entry(key, "bar"));
+        assertThat(facts.asMap()).containsOnly(entry("foo", 1));
+        assertThat(facts).hasSize(1);
+    }
+
+    @Test
+    public void clearMustClearEvaluationContext() {
+        // given
+        facts.put("foo", 1);
+        facts.getEvaluationContext().put(new Object(), "bar");
+
+        // when
+        facts.clear();
+
+        // then
+        assertThat(facts.getEvaluationContext()).isEmpty();
+    }
+
+    @Test
+    public void clearEvaluationContextMustNotClearFacts() {
+        // given
+        facts.put("foo", 1);
+        facts.getEvaluationContext().put(new Object(), "bar");
+
+        // when
+        facts.clearEvaluationContext();
+
+        // then
+        assertThat(facts.getEvaluationContext()).isEmpty();
+        assertThat(facts.asMap()).containsOnly(entry("foo", 1));
+    }
+
+    @Test
+    public void evaluationContextMustBeClearedWhenTheOutermostEvaluationPassEnds() {
+        // given
+        Object key = new Object();
+        facts.startEvaluationPass();
+        facts.getEvaluationContext().put(key, "bar");
+
+        // when
+        facts.startEvaluationPass();
+        facts.endEvaluationPass();
+
+        // then
+        assertThat(facts.getEvaluationContext()).containsOnly(entry(key, "bar"));
+        facts.endEvaluationPass();
+        assertThat(facts.getEvaluationContext()).isEmpty();
+    }
+
 }
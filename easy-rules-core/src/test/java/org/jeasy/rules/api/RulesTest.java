@@ -158,6 +158,52 @@ public class RulesTest {
         rules.register(null);
     }
 
+    @Test
+    public void compileShouldCreatePlanOfRulesInTheirNaturalOrder() {
+        rules.register(new BasicRule("ruleB", "", 2), new BasicRule("ruleA", "", 1), new BasicRule("ruleC", "", 2));
+
+        RulesPlan plan = rules.compile();
+
+        assertThat(plan.size()).isEqualTo(3);
+        assertThat(plan).extracting(Rule::getName).containsExactly("ruleA", "ruleB", "ruleC");
+        assertThat(plan.getName(1)).isEqualTo("ruleB");
+        assertThat(plan.getPriority(1)).isEqualTo(2);
+        assertThat(plan.limit(0)).isEqualTo(0);
+        assertThat(plan.limit(1)).isEqualTo(1);
+        assertThat(plan.limit(2)).isEqualTo(3);
+    }
+
+    @Test
+    public void limitShouldBeRecomputedWhenThresholdChanges() {
+        rules.register(new BasicRule("ruleA", "", 1), new BasicRule("ruleB", "", 2));
+        RulesPlan plan = rules.compile();
+
+        assertThat(plan.limit(1)).isEqualTo(1);
+        assertThat(plan.limit(1)).isEqualTo(1);
+        assertThat(plan.limit(2)).isEqualTo(2);
+        assertThat(plan.limit(0)).isEqualTo(0);
+        assertThat(plan.limit(1)).isEqualTo(1);
+    }
+
+    @Test
+    public void compileShouldReturnCachedPlanUntilRulesAreModified() {
+        rules.register(new BasicRule("ruleA"));
+        RulesPlan plan = rules.compile();
+        assertThat(rules.compile()).isSameAs(plan);
+
+        rules.register(new BasicRule("ruleB"));
+        RulesPlan planAfterRegister = rules.compile();
+        assertThat(planAfterRegister).isNotSameAs(plan);
+        assertThat(planAfterRegister.size()).isEqualTo(2);
+        assertThat(plan.size()).isEqualTo(1);
+
+        rules.unregister("ruleA");
+        assertThat(rules.compile().size()).isEqualTo(1);
+
+        rules.clear();
+        assertThat(rules.compile().isEmpty()).isTrue();
+    }
+
     @org.jeasy.rules.annotation.Rule
 	static class DummyRule {
         @Condition
@@ -0,0 +1,215 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.core;
+
+import org.jeasy.rules.api.BatchParameters;
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.FireOutcome;
+import org.jeasy.rules.api.Rules;
+import org.jeasy.rules.api.RulesEngine;
+import org.jeasy.rules.api.RulesEngineParameters;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class BatchFiringTest {
+
+    private static final int BATCH_SIZE = 100;
+
+    private Rules rules;
+    private RulesEngine rulesEngine;
+
+    @Before
+    public void setUp() {
+        rules = new Rules(new RuleBuilder()
+                .name("double rule")
+                .when(facts -> facts.get("value") != null)
+                .then(facts -> facts.put("result", 2 * (int) facts.get("value")))
+                .build());
+        rulesEngine = new DefaultRulesEngine();
+    }
+
+    @Test
+    public void outcomesShouldBeReturnedInTheOrderOfFacts() {
+        // given
+        BatchParameters parameters = new BatchParameters().parallelism(4);
+
+        // when
+        List<FireOutcome> outcomes = rulesEngine.fireBatch(rules, createBatch(), parameters);
+
+        // then
+        assertThat(outcomes).hasSize(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            FireOutcome outcome = outcomes.get(i);
+            assertThat(outcome.getIndex()).isEqualTo(i);
+            assertThat(outcome.isSuccessful()).isTrue();
+            assertThat((int) outcome.getFacts().get("result")).isEqualTo(2 * i);
+        }
+    }
+
+    @Test
+    public void outcomesShouldBeReturnedForAllFactsWhenOrderIsNotPreserved() {
+        // given
+        BatchParameters parameters = new BatchParameters().parallelism(4).preserveOrder(false);
+
+        // when
+        List<FireOutcome> outcomes = rulesEngine.fireBatch(rules, createBatch(), parameters);
+
+        // then
+        assertThat(outcomes.stream().map(FireOutcome::getIndex).collect(Collectors.toSet()))
+                .isEqualTo(LongStream.range(0, BATCH_SIZE).boxed().collect(Collectors.toSet()));
+        assertThat(outcomes).allMatch(outcome -> (int) outcome.getFacts().get("result") == 2 * (int) outcome.getFacts().get("value"));
+    }
+
+    @Test
+    public void factsShouldBeFiredInTheCallingThreadWithoutParallelism() {
+        // given
+        Thread callingThread = Thread.currentThread();
+        List<Thread> threads = new ArrayList<>();
+        rules.register(new RuleBuilder()
+                .name("thread rule")
+                .when(facts -> true)
+                .then(facts -> threads.add(Thread.currentThread()))
+                .build());
+        BatchParameters parameters = new BatchParameters().parallelism(1);
+
+        // when
+        rulesEngine.fireBatch(rules, createBatch(), parameters);
+
+        // then
+        assertThat(threads).hasSize(BATCH_SIZE).containsOnly(callingThread);
+    }
+
+    @Test
+    public void factsShouldBeFiredWithTheGivenExecutor() {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        BatchParameters parameters = new BatchParameters().parallelism(2).executor(executor);
+        Stream<Facts> batch = createBatch().stream();
+
+        // when
+        List<FireOutcome> outcomes = rulesEngine.fireBatch(rules, batch::iterator, parameters);
+
+        // then
+        assertThat(outcomes).hasSize(BATCH_SIZE).allMatch(FireOutcome::isSuccessful);
+        assertThat(executor.isShutdown()).isFalse();
+        executor.shutdown();
+    }
+
+    @Test
+    public void errorsShouldBeReportedInOutcomes() {
+        // given
+        List<Facts> batch = createBatch();
+        batch.set(1, null);
+        BatchParameters parameters = new BatchParameters().parallelism(4);
+        List<FireOutcome> outcomes = new ArrayList<>();
+
+        // when
+        rulesEngine.fireBatch(rules, batch, parameters, outcomes::add);
+
+        // then
+        assertThat(outcomes).hasSize(BATCH_SIZE);
+        assertThat(outcomes.get(0).isSuccessful()).isTrue();
+        assertThat(outcomes.get(1).isSuccessful()).isFalse();
+        assertThat(outcomes.get(1).getError()).isInstanceOf(NullPointerException.class);
+        assertThat(outcomes.get(2).isSuccessful()).isTrue();
+    }
+
+    @Test
+    public void consumerExceptionsShouldStopTheBatch() {
+        // given
+        BatchParameters parameters = new BatchParameters().parallelism(4);
+        List<FireOutcome> outcomes = new ArrayList<>();
+
+        // when
+        Throwable throwable = catchThrowable(() -> rulesEngine.fireBatch(rules, createBatch(), parameters,
+                outcome -> failOnSecondOutcome(outcomes, outcome)));
+
+        // then
+        assertThat(throwable).isInstanceOf(IllegalStateException.class).hasMessage("consumer failure");
+        assertThat(outcomes).extracting(FireOutcome::getIndex).containsExactly(0L, 1L);
+        assertThat(outcomes).allMatch(FireOutcome::isSuccessful);
+    }
+
+    @Test
+    public void consumerExceptionsShouldStopTheBatchWithTheDefaultImplementation() {
+        // given
+        RulesEngine defaultImplementation = new RulesEngine() {
+            @Override
+            public RulesEngineParameters getParameters() {
+                return new RulesEngineParameters();
+            }
+
+            @Override
+            public void fire(Rules rules, Facts facts) {
+                rulesEngine.fire(rules, facts);
+            }
+        };
+        List<FireOutcome> outcomes = new ArrayList<>();
+
+        // when
+        Throwable throwable = catchThrowable(() -> defaultImplementation.fireBatch(rules, createBatch(), new BatchParameters(),
+                outcome -> failOnSecondOutcome(outcomes, outcome)));
+
+        // then
+        assertThat(throwable).isInstanceOf(IllegalStateException.class).hasMessage("consumer failure");
+        assertThat(outcomes).extracting(FireOutcome::getIndex).containsExactly(0L, 1L);
+        assertThat(outcomes).allMatch(FireOutcome::isSuccessful);
+    }
+
+    @Test
+    public void parallelismMustBeGreaterThanZero() {
+        assertThatThrownBy(() -> new BatchParameters().parallelism(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void failOnSecondOutcome(List<FireOutcome> outcomes, FireOutcome outcome) {
+        outcomes.add(outcome);
+        if (outcomes.size() == 2) {
+            throw new IllegalStateException("consumer failure");
+        }
+    }
+
+    private static List<Facts> createBatch() {
+        return IntStream.range(0, BATCH_SIZE)
+                .mapToObj(value -> {
+                    Facts facts = new Facts();
+                    facts.put("value", value);
+                    return facts;
+                })
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.core;
+
+import org.jeasy.rules.annotation.Action;
+import org.jeasy.rules.annotation.Condition;
+import org.jeasy.rules.annotation.Fact;
+import org.jeasy.rules.annotation.Rule;
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.RuleListener;
+import org.jeasy.rules.api.Rules;
+import org.jeasy.rules.api.RulesEngineParameters;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DefaultAsyncRulesEngineTest {
+
+    private ExecutorService executor;
+    private DefaultAsyncRulesEngine rulesEngine;
+    private Facts facts;
+    private List<String> events;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        rulesEngine = new DefaultAsyncRulesEngine(new RulesEngineParameters(), executor);
+        facts = new Facts();
+        events = new CopyOnWriteArrayList<>();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void whenFireRules_thenNullRulesShouldNotBeAccepted() {
+        rulesEngine.fireAsync(null, new Facts());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void whenCheckRules_thenNullFactsShouldNotBeAccepted() {
+        rulesEngine.checkAsync(new Rules(), null);
+    }
+
+    @Test
+    public void rulesShouldBeFiredInOrderOnTheExecutor() {
+        // given
+        Thread callingThread = Thread.currentThread();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        Rules rules = new Rules(
+                recordingRule("rule1", 1).then(facts -> threads.add(Thread.currentThread())).build(),
+                recordingRule("rule2", 2).build());
+
+        // when
+        rulesEngine.fireAsync(rules, facts).join();
+
+        // then
+        assertThat(events).containsExactly("rule1", "rule2");
+        assertThat(threads).hasSize(1).doesNotContain(callingThread);
+    }
+
+    @Test
+    public void nextRulesShouldBeFiredWhenAsyncActionsAreCompleted() {
+        // given
+        CompletableFuture<String> response = new CompletableFuture<>();
+        Rules rules = new Rules(
+                recordingRule("rule1", 1)
+                        .thenAsync(facts -> response.thenAccept(value -> facts.put("response", value)))
+                        .build(),
+                new RuleBuilder()
+                        .name("rule2")
+                        .priority(2)
+                        .when(facts -> facts.get("response") != null)
+                        .then(facts -> events.add("rule2 " + facts.get("response")))
+                        .build());
+
+        // when
+        CompletableFuture<Void> firing = rulesEngine.fireAsync(rules, facts);
+
+        // then
+        assertThat(firing).isNotDone();
+        response.complete("ok");
+        firing.join();
+        assertThat(events).containsExactly("rule1", "rule2 ok");
+    }
+
+    @Test
+    public void failedAsyncActionsShouldBeReportedToListeners() {
+        // given
+        CompletableFuture<Void> failure = new CompletableFuture<>();
+        failure.completeExceptionally(new IllegalStateException("downstream failure"));
+        Rules rules = new Rules(
+                recordingRule("rule1", 1).thenAsync(facts -> failure).build(),
+                recordingRule("rule2", 2).build());
+        List<Exception> failures = new CopyOnWriteArrayList<>();
+        rulesEngine.registerRuleListener(new RuleListener() {
+            @Override
+            public void onFailure(org.jeasy.rules.api.Rule rule, Facts facts, Exception exception) {
+                failures.add(exception);
+            }
+        });
+
+        // when
+        rulesEngine.fireAsync(rules, facts).join();
+
+        // then
+        assertThat(failures).hasSize(1);
+        assertThat(failures.get(0)).isInstanceOf(IllegalStateException.class).hasMessage("downstream failure");
+        assertThat(events).containsExactly("rule1", "rule2");
+    }
+
+    @Test
+    public void nextRulesShouldBeSkippedOnFirstFailedAsyncAction() {
+        // given
+        CompletableFuture<Void> failure = new CompletableFuture<>();
+        DefaultAsyncRulesEngine rulesEngine = new DefaultAsyncRulesEngine(
+                new RulesEngineParameters().skipOnFirstFailedRule(true), executor);
+        Rules rules = new Rules(
+                recordingRule("rule1", 1).thenAsync(facts -> failure).build(),
+                recordingRule("rule2", 2).build());
+
+        // when
+        CompletableFuture<Void> firing = rulesEngine.fireAsync(rules, facts);
+        failure.completeExceptionally(new IllegalStateException("downstream failure"));
+        firing.join();
+
+        // then
+        assertThat(events).containsExactly("rule1");
+    }
+
+    @Test
+    public void annotatedRulesShouldBeFiredAsynchronously() {
+        // given
+        facts.put("age", 18);
+        AdultRule adultRule = new AdultRule();
+
+        // when
+        rulesEngine.fireAsync(new Rules(adultRule), facts).join();
+
+        // then
+        assertThat(adultRule.isExecuted()).isTrue();
+    }
+
+    @Test
+    public void checkAsyncShouldReturnTheResultOfEvaluations() {
+        // given
+        facts.put("age", 17);
+        Rules rules = new Rules(new AdultRule());
+
+        // when
+        Map<org.jeasy.rules.api.Rule, Boolean> result = rulesEngine.checkAsync(rules, facts).join();
+
+        // then
+        assertThat(result).hasSize(1).containsValue(false);
+    }
+
+    @Test
+    public void synchronousFireShouldWaitForAsyncActions() {
+        // given
+        Rules rules = new Rules(recordingRule("rule1", 1)
+                .thenAsync(facts -> CompletableFuture.runAsync(() -> facts.put("done", true), executor))
+                .build());
+
+        // when
+        rulesEngine.fire(rules, facts);
+
+        // then
+        assertThat((boolean) facts.get("done")).isTrue();
+    }
+
+    private RuleBuilder recordingRule(String name, int priority) {
+        return new RuleBuilder()
+                .name(name)
+                .priority(priority)
+                .when(facts -> true)
+                .then(facts -> events.add(name));
+    }
+
+    @Rule
+    public static class AdultRule {
+
+        private boolean executed;
+
+        @Condition
+        public boolean isAdult(@Fact("age") int age) {
+            return age >= 18;
+        }
+
+        @Action
+        public void then() {
+            executed = true;
+        }
+
+        public boolean isExecuted() {
+            return executed;
+        }
+    }
+}
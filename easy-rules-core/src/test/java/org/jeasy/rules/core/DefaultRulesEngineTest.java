@@ -227,7 +227,10 @@ public class DefaultRulesEngineTest extends AbstractTest {
                 .skipOnFirstAppliedRule(true)
                 .skipOnFirstFailedRule(true)
                 .skipOnFirstNonTriggeredRule(true)
-                .priorityThreshold(42);
+                .priorityThreshold(42)
+                .evaluateCandidatesOnce(true)
+                .recheckCandidatesOnFactChange(true)
+                .missingFactWarnings(true);
         DefaultRulesEngine rulesEngine = new DefaultRulesEngine(parameters);
 
         // When
@@ -0,0 +1,352 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.core;
+
+import org.jeasy.rules.annotation.Action;
+import org.jeasy.rules.annotation.Condition;
+import org.jeasy.rules.annotation.Fact;
+import org.jeasy.rules.annotation.Priority;
+import org.jeasy.rules.annotation.Rule;
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.Rules;
+import org.jeasy.rules.api.RulesEngine;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IncrementalInferenceRulesEngineTest {
+
+    @Test(expected = NullPointerException.class)
+    public void whenFireRules_thenNullRulesShouldNotBeAccepted() {
+        IncrementalInferenceRulesEngine engine = new IncrementalInferenceRulesEngine();
+        engine.fire(null, new Facts());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void whenFireRules_thenNullFactsShouldNotBeAccepted() {
+        IncrementalInferenceRulesEngine engine = new IncrementalInferenceRulesEngine();
+        engine.fire(new Rules(), null);
+    }
+
+    @Test
+    public void testCandidateSelection() {
+        // Given
+        Facts facts = new Facts();
+        facts.put("foo", true);
+        DecrementRule decrementRule = new DecrementRule();
+        CountingRule countingRule = new CountingRule();
+        Rules rules = new Rules(decrementRule, countingRule);
+        RulesEngine rulesEngine = new IncrementalInferenceRulesEngine();
+
+        // When
+        rulesEngine.fire(rules, facts);
+
+        // Then
+        assertThat(decrementRule.getExecutions()).isZero();
+        assertThat(countingRule.getExecutions()).isZero();
+    }
+
+    @Test
+    public void whenFactsAreReplaced_thenDependentRulesShouldBeReEvaluated() {
+        // Given
+        Facts facts = new Facts();
+        facts.put("counter", 3);
+        facts.put("bar", false);
+        DecrementRule decrementRule = new DecrementRule();
+        CountingRule countingRule = new CountingRule();
+        Rules rules = new Rules(decrementRule, countingRule);
+        RulesEngine rulesEngine = new IncrementalInferenceRulesEngine();
+
+        // When
+        rulesEngine.fire(rules, facts);
+
+        // Then
+        assertThat(decrementRule.getExecutions()).isEqualTo(3);
+        assertThat((int) facts.get("counter")).isZero();
+        assertThat(countingRule.getExecutions()).isEqualTo(1);
+        // the rule depending on "bar" is not re-evaluated while only "counter" is replaced:
+        // initial evaluation + one evaluation after each of the 2 cycles replacing "bar"
+        // + one evaluation when the rule is fired
+        assertThat(countingRule.getEvaluations()).isEqualTo(4);
+    }
+
+    @Test
+    public void whenARuleAddsAFact_thenRulesDependingOnItShouldBeFired() {
+        // Given
+        Facts facts = new Facts();
+        facts.put("counter", 2);
+        DecrementRule decrementRule = new DecrementRule();
+        CountingRule countingRule = new CountingRule();
+        Rules rules = new Rules(decrementRule, countingRule);
+        RulesEngine rulesEngine = new IncrementalInferenceRulesEngine();
+
+        // When
+        rulesEngine.fire(rules, facts);
+
+        // Then
+        assertThat(decrementRule.getExecutions()).isEqualTo(2);
+        assertThat(countingRule.getExecutions()).isEqualTo(1);
+        assertThat((boolean) facts.get("bar")).isFalse();
+    }
+
+    @Test
+    public void rulesWithFactsParameterShouldBeReEvaluatedOnEachCycle() {
+        // Given
+        Facts facts = new Facts();
+        facts.put("counter", 2);
+        DecrementRule decrementRule = new DecrementRule();
+        FactsRule factsRule = new FactsRule();
+        Rules rules = new Rules(decrementRule, factsRule);
+        RulesEngine rulesEngine = new IncrementalInferenceRulesEngine();
+
+        // When
+        rulesEngine.fire(rules, facts);
+
+        // Then
+        // initial evaluation + one evaluation after each of the 2 cycles
+        assertThat(factsRule.getEvaluations()).isEqualTo(3);
+    }
+
+    @Test
+    public void builtRulesDeclaringDependenciesShouldNotBeReEvaluatedWhenOtherFactsChange() {
+        // Given
+        Facts facts = new Facts();
+        facts.put("counter", 2);
+        facts.put("bar", false);
+        DecrementRule decrementRule = new DecrementRule();
+        AtomicInteger evaluations = new AtomicInteger();
+        org.jeasy.rules.api.Rule barRule = new RuleBuilder()
+                .name("bar rule")
+                .dependsOn("bar")
+                .when(f -> {
+                    evaluations.incrementAndGet();
+                    return false;
+                })
+                .then(f -> { })
+                .build();
+        Rules rules = new Rules(decrementRule, barRule);
+        RulesEngine rulesEngine = new IncrementalInferenceRulesEngine();
+
+        // When
+        rulesEngine.fire(rules, facts);
+
+        // Then
+        assertThat(decrementRule.getExecutions()).isEqualTo(2);
+        // initial evaluation + one evaluation after the cycle replacing "bar"
+        assertThat(evaluations.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void builtRulesShouldBeEvaluatedWhenAnOptionalDependencyIsMissing() {
+        // Given
+        Facts facts = new Facts();
+        facts.put("counter", 2);
+        DecrementRule decrementRule = new DecrementRule();
+        List<Object> evaluatedBars = new ArrayList<>();
+        org.jeasy.rules.api.Rule barRule = new RuleBuilder()
+                .name("bar rule")
+                .dependsOn("bar")
+                .when(f -> {
+                    evaluatedBars.add(f.get("bar"));
+                    return f.get("bar") != null;
+                })
+                .then(f -> f.remove("bar"))
+                .build();
+        Rules rules = new Rules(decrementRule, barRule);
+        RulesEngine rulesEngine = new IncrementalInferenceRulesEngine();
+
+        // When
+        rulesEngine.fire(rules, facts);
+
+        // Then
+        assertThat(barRule.getRequiredFacts()).isEmpty();
+        assertThat(barRule.getDependencies()).containsExactly("bar");
+        // evaluated although "bar" is missing, then only when "bar" is added (and fired) and removed
+        assertThat(evaluatedBars).containsExactly(null, true, true, null);
+    }
+
+    @Test
+    public void builtRulesDeclaringRequiredFactsOnlyShouldBeReEvaluatedOnEachCycle() {
+        // Given
+        Facts facts = new Facts();
+        facts.put("counter", 2);
+        facts.put("bar", false);
+        DecrementRule decrementRule = new DecrementRule();
+        AtomicInteger evaluations = new AtomicInteger();
+        org.jeasy.rules.api.Rule barRule = new RuleBuilder()
+                .name("bar rule")
+                .requires("bar")
+                .when(f -> {
+                    evaluations.incrementAndGet();
+                    return false;
+                })
+                .then(f -> { })
+                .build();
+        Rules rules = new Rules(decrementRule, barRule);
+        RulesEngine rulesEngine = new IncrementalInferenceRulesEngine();
+
+        // When
+        rulesEngine.fire(rules, facts);
+
+        // Then
+        // required facts do not tell which other facts the condition reads:
+        // initial evaluation + one evaluation after each of the 2 cycles
+        assertThat(barRule.getDependencies()).isEmpty();
+        assertThat(evaluations.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void builtRulesNotDeclaringRequiredFactsShouldBeReEvaluatedOnEachCycle() {
+        // Given
+        Facts facts = new Facts();
+        facts.put("counter", 2);
+        facts.put("bar", false);
+        DecrementRule decrementRule = new DecrementRule();
+        AtomicInteger evaluations = new AtomicInteger();
+        org.jeasy.rules.api.Rule barRule = new RuleBuilder()
+                .name("bar rule")
+                .when(f -> {
+                    evaluations.incrementAndGet();
+                    return false;
+                })
+                .then(f -> { })
+                .build();
+        Rules rules = new Rules(decrementRule, barRule);
+        RulesEngine rulesEngine = new IncrementalInferenceRulesEngine();
+
+        // When
+        rulesEngine.fire(rules, facts);
+
+        // Then
+        // initial evaluation + one evaluation after each of the 2 cycles
+        assertThat(evaluations.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testSameResultsAsInferenceRulesEngine() {
+        // Given
+        Facts facts = new Facts();
+        facts.put("counter", 5);
+        Facts otherFacts = new Facts();
+        otherFacts.put("counter", 5);
+        DecrementRule decrementRule = new DecrementRule();
+        CountingRule countingRule = new CountingRule();
+        DecrementRule otherDecrementRule = new DecrementRule();
+        CountingRule otherCountingRule = new CountingRule();
+
+        // When
+        new IncrementalInferenceRulesEngine().fire(new Rules(decrementRule, countingRule), facts);
+        new InferenceRulesEngine().fire(new Rules(otherDecrementRule, otherCountingRule), otherFacts);
+
+        // Then
+        assertThat(facts.asMap()).isEqualTo(otherFacts.asMap());
+        assertThat(decrementRule.getExecutions()).isEqualTo(otherDecrementRule.getExecutions());
+        assertThat(countingRule.getExecutions()).isEqualTo(otherCountingRule.getExecutions());
+    }
+
+    @Rule
+    static class DecrementRule {
+
+        private int executions;
+
+        @Condition
+        public boolean when(@Fact("counter") int counter) {
+            return counter > 0;
+        }
+
+        @Action
+        public void then(Facts facts, @Fact("counter") int counter) {
+            executions++;
+            facts.put("counter", counter - 1);
+            if (counter == 1) {
+                facts.put("bar", true);
+            }
+        }
+
+        @Priority
+        public int priority() {
+            return 1;
+        }
+
+        public int getExecutions() {
+            return executions;
+        }
+    }
+
+    @Rule
+    static class CountingRule {
+
+        private int evaluations;
+        private int executions;
+
+        @Condition
+        public boolean when(@Fact("bar") boolean bar) {
+            evaluations++;
+            return bar;
+        }
+
+        @Action
+        public void then(Facts facts) {
+            executions++;
+            facts.put("bar", false);
+        }
+
+        @Priority
+        public int priority() {
+            return 2;
+        }
+
+        public int getEvaluations() {
+            return evaluations;
+        }
+
+        public int getExecutions() {
+            return executions;
+        }
+    }
+
+    @Rule
+    static class FactsRule {
+
+        private int evaluations;
+
+        @Condition
+        public boolean when(Facts facts) {
+            evaluations++;
+            return false;
+        }
+
+        @Action
+        public void then() {
+        }
+
+        public int getEvaluations() {
+            return evaluations;
+        }
+    }
+}
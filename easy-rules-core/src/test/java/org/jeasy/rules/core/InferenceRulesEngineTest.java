@@ -29,11 +29,16 @@ import org.jeasy.rules.annotation.Fact;
 import org.jeasy.rules.annotation.Priority;
 import org.jeasy.rules.annotation.Rule;
 import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.RuleListener;
 import org.jeasy.rules.api.Rules;
 import org.jeasy.rules.api.RulesEngine;
 import org.jeasy.rules.api.RulesEngineListener;
+import org.jeasy.rules.api.RulesEngineParameters;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class InferenceRulesEngineTest {
@@ -145,6 +150,182 @@ public class InferenceRulesEngineTest {
         assertThat(rule.isExecuted()).isTrue();
     }
 
+    @Test
+    public void whenEvaluateCandidatesOnce_thenConditionsShouldBeEvaluatedOncePerCycle() {
+        // Given
+        Facts facts = new Facts();
+        facts.put("counter", 3);
+        CountdownRule countdownRule = new CountdownRule();
+        Rules rules = new Rules(countdownRule);
+        RulesEngineParameters parameters = new RulesEngineParameters().evaluateCandidatesOnce(true);
+        RulesEngine rulesEngine = new InferenceRulesEngine(parameters);
+
+        // When
+        rulesEngine.fire(rules, facts);
+
+        // Then
+        assertThat(countdownRule.getExecutions()).isEqualTo(3);
+        // 3 cycles firing the rule + 1 cycle finding no candidate
+        assertThat(countdownRule.getEvaluations()).isEqualTo(4);
+    }
+
+    @Test
+    public void whenEvaluateCandidatesOnce_thenListenersShouldBeNotifiedAsByDefault() {
+        // Given
+        List<String> events = new ArrayList<>();
+        List<String> eventsWithSingleEvaluation = new ArrayList<>();
+        Facts facts = new Facts();
+        facts.put("counter", 2);
+        Facts otherFacts = new Facts();
+        otherFacts.put("counter", 2);
+        InferenceRulesEngine rulesEngine = new InferenceRulesEngine();
+        rulesEngine.registerRuleListener(new RecordingRuleListener(events));
+        rulesEngine.registerRulesEngineListener(new RecordingRulesEngineListener(events));
+        InferenceRulesEngine otherRulesEngine = new InferenceRulesEngine(new RulesEngineParameters().evaluateCandidatesOnce(true));
+        otherRulesEngine.registerRuleListener(new RecordingRuleListener(eventsWithSingleEvaluation));
+        otherRulesEngine.registerRulesEngineListener(new RecordingRulesEngineListener(eventsWithSingleEvaluation));
+
+        // When
+        rulesEngine.fire(new Rules(new CountdownRule()), facts);
+        otherRulesEngine.fire(new Rules(new CountdownRule()), otherFacts);
+
+        // Then
+        assertThat(eventsWithSingleEvaluation).isEqualTo(events).isNotEmpty();
+    }
+
+    @Test
+    public void whenRecheckCandidatesOnFactChange_thenCandidatesShouldBeReEvaluatedIfTheirFactsChanged() {
+        // Given
+        Facts facts = new Facts();
+        facts.put("counter", 1);
+        CountdownRule countdownRule = new CountdownRule();
+        AnotherCountdownRule anotherCountdownRule = new AnotherCountdownRule();
+        Rules rules = new Rules(countdownRule, anotherCountdownRule);
+        RulesEngineParameters parameters = new RulesEngineParameters()
+                .evaluateCandidatesOnce(true)
+                .recheckCandidatesOnFactChange(true);
+        RulesEngine rulesEngine = new InferenceRulesEngine(parameters);
+
+        // When
+        rulesEngine.fire(rules, facts);
+
+        // Then
+        assertThat(countdownRule.getExecutions()).isEqualTo(1);
+        // the counter has been decremented by the first rule in the same cycle
+        assertThat(anotherCountdownRule.getExecutions()).isZero();
+        assertThat((int) facts.get("counter")).isZero();
+    }
+
+    @Test
+    public void whenCandidatesAreNotRechecked_thenCandidatesShouldBeFiredEvenIfTheirFactsChanged() {
+        // Given
+        Facts facts = new Facts();
+        facts.put("counter", 1);
+        CountdownRule countdownRule = new CountdownRule();
+        AnotherCountdownRule anotherCountdownRule = new AnotherCountdownRule();
+        Rules rules = new Rules(countdownRule, anotherCountdownRule);
+        RulesEngineParameters parameters = new RulesEngineParameters().evaluateCandidatesOnce(true);
+        RulesEngine rulesEngine = new InferenceRulesEngine(parameters);
+
+        // When
+        rulesEngine.fire(rules, facts);
+
+        // Then
+        assertThat(countdownRule.getExecutions()).isEqualTo(1);
+        assertThat(anotherCountdownRule.getExecutions()).isEqualTo(1);
+        assertThat((int) facts.get("counter")).isEqualTo(-1);
+    }
+
+    static class RecordingRuleListener implements RuleListener {
+
+        private final List<String> events;
+
+        RecordingRuleListener(List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public boolean beforeEvaluate(org.jeasy.rules.api.Rule rule, Facts facts) {
+            events.add("beforeEvaluate " + rule.getName());
+            return true;
+        }
+
+        @Override
+        public void afterEvaluate(org.jeasy.rules.api.Rule rule, Facts facts, boolean evaluationResult) {
+            events.add("afterEvaluate " + rule.getName() + " " + evaluationResult);
+        }
+
+        @Override
+        public void beforeExecute(org.jeasy.rules.api.Rule rule, Facts facts) {
+            events.add("beforeExecute " + rule.getName());
+        }
+
+        @Override
+        public void onSuccess(org.jeasy.rules.api.Rule rule, Facts facts) {
+            events.add("onSuccess " + rule.getName());
+        }
+    }
+
+    static class RecordingRulesEngineListener implements RulesEngineListener {
+
+        private final List<String> events;
+
+        RecordingRulesEngineListener(List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void beforeEvaluate(Rules rules, Facts facts) {
+            events.add("beforeEvaluate " + rules.size() + " rule(s) " + facts);
+        }
+
+        @Override
+        public void afterExecute(Rules rules, Facts facts) {
+            events.add("afterExecute " + rules.size() + " rule(s) " + facts);
+        }
+    }
+
+    @Rule
+    static class CountdownRule {
+
+        private int evaluations;
+        private int executions;
+
+        @Condition
+        public boolean when(@Fact("counter") int counter) {
+            evaluations++;
+            return counter > 0;
+        }
+
+        @Action
+        public void then(Facts facts, @Fact("counter") int counter) {
+            executions++;
+            facts.put("counter", counter - 1);
+        }
+
+        @Priority
+        public int priority() {
+            return 1;
+        }
+
+        public int getEvaluations() {
+            return evaluations;
+        }
+
+        public int getExecutions() {
+            return executions;
+        }
+    }
+
+    @Rule
+    static class AnotherCountdownRule extends CountdownRule {
+
+        @Priority
+        public int priority() {
+            return 2;
+        }
+    }
+
     @Rule
 	static class DummyRule {
 
@@ -0,0 +1,259 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.core;
+
+import org.jeasy.rules.annotation.Action;
+import org.jeasy.rules.annotation.Condition;
+import org.jeasy.rules.annotation.Fact;
+import org.jeasy.rules.annotation.Priority;
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.Rule;
+import org.jeasy.rules.api.Rules;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MethodHandleRuleTest {
+
+    @Test
+    public void asRuleShouldCreateMethodHandleRuleWhenRequested() {
+        // When
+        Rule rule = RuleProxy.asRule(new MyRule(), true);
+
+        // Then
+        assertThat(rule).isInstanceOf(MethodHandleRule.class);
+        assertThat(rule.getName()).isEqualTo("myRule");
+        assertThat(rule.getDescription()).isEqualTo("when when then first,second");
+        assertThat(rule.getPriority()).isEqualTo(2);
+        assertThat(rule.toString()).isEqualTo("I am myRule");
+    }
+
+    @Test
+    public void methodHandleRuleShouldBeEqualToProxyOfTheSameRule() {
+        // Given
+        Rule rule = RuleProxy.asRule(new MyRule(), true);
+
+        // When
+        Rule proxy = RuleProxy.asRule(new MyRule(), false);
+
+        // Then
+        assertThat(rule).isEqualTo(proxy);
+        assertThat(proxy).isEqualTo(rule);
+        assertThat(rule.hashCode()).isEqualTo(proxy.hashCode());
+        assertThat(rule.compareTo(proxy)).isZero();
+    }
+
+    @Test
+    public void factsShouldBeInjectedAndActionsExecutedInOrder() throws Exception {
+        // Given
+        MyRule myRule = new MyRule();
+        Rule rule = RuleProxy.asRule(myRule, true);
+        Facts facts = new Facts();
+        facts.put("age", 18);
+
+        // When
+        boolean evaluationResult = rule.evaluate(facts);
+        rule.execute(facts);
+
+        // Then
+        assertThat(evaluationResult).isTrue();
+        assertThat(myRule.executions).containsExactly("first", "second:18");
+    }
+
+    @Test
+    public void whenADeclaredFactIsMissing_thenTheRuleShouldBeEvaluatedToFalse() {
+        // Given
+        Rule rule = RuleProxy.asRule(new MyRule(), true);
+
+        // When
+        boolean evaluationResult = rule.evaluate(new Facts());
+
+        // Then
+        assertThat(evaluationResult).isFalse();
+    }
+
+    @Test
+    public void whenFactTypeDoesNotMatchParameterType_thenTheRuleShouldBeEvaluatedToFalse() {
+        // Given
+        Rule rule = RuleProxy.asRule(new MyRule(), true);
+        Facts facts = new Facts();
+        facts.put("age", "foo");
+
+        // When
+        boolean evaluationResult = rule.evaluate(facts);
+
+        // Then
+        assertThat(evaluationResult).isFalse();
+    }
+
+    @Test
+    public void whenFactTypeCanBeWidenedToParameterType_thenTheFactShouldBeInjected() {
+        // Given
+        Rule rule = RuleProxy.asRule(new WideningRule(), true);
+        Facts facts = new Facts();
+        facts.put("age", 20);
+
+        // When
+        boolean evaluationResult = rule.evaluate(facts);
+
+        // Then
+        assertThat(evaluationResult).isTrue();
+    }
+
+    @Test
+    public void conditionClassCastExceptionShouldBePropagatedAsIs() {
+        // Given
+        Rule rule = RuleProxy.asRule(new CastingRule(), true);
+        Facts facts = new Facts();
+        facts.put("value", "foo");
+
+        // When/Then
+        assertThatThrownBy(() -> rule.evaluate(facts)).isInstanceOf(ClassCastException.class);
+    }
+
+    @Test
+    public void actionExceptionShouldBePropagatedAsIs() {
+        // Given
+        Rule rule = RuleProxy.asRule(new FailingRule(), true);
+
+        // When/Then
+        assertThatThrownBy(() -> rule.execute(new Facts()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+    }
+
+    @Test
+    public void customCompareToMethodShouldBeUsed() {
+        // Given
+        Rule rule1 = RuleProxy.asRule(new ComparableRule(1), true);
+        Rule rule2 = RuleProxy.asRule(new ComparableRule(2), true);
+
+        // When
+        Rules rules = new Rules(rule2, rule1);
+
+        // Then
+        assertThat(rule1.compareTo(rule2)).isNegative();
+        assertThat(rule2.compareTo(rule1)).isPositive();
+        assertThat(rules).containsExactly(rule1, rule2);
+    }
+
+    @org.jeasy.rules.annotation.Rule(name = "myRule", priority = 1)
+    static class MyRule {
+
+        private final List<String> executions = new ArrayList<>();
+
+        @Condition
+        public boolean when(@Fact("age") int age) {
+            return age >= 18;
+        }
+
+        @Action(order = 2)
+        public void second(Facts facts, @Fact("age") Integer age) {
+            executions.add("second:" + age);
+        }
+
+        @Action(order = 1)
+        public void first() {
+            executions.add("first");
+        }
+
+        @Priority
+        public int getPriority() {
+            return 2;
+        }
+
+        @Override
+        public String toString() {
+            return "I am myRule";
+        }
+    }
+
+    @org.jeasy.rules.annotation.Rule
+    static class FailingRule {
+
+        @Condition
+        public boolean when() {
+            return true;
+        }
+
+        @Action
+        public void then() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    @org.jeasy.rules.annotation.Rule
+    static class WideningRule {
+
+        @Condition
+        public boolean when(@Fact("age") long age) {
+            return age >= 18;
+        }
+
+        @Action
+        public void then() {
+        }
+    }
+
+    @org.jeasy.rules.annotation.Rule
+    static class CastingRule {
+
+        @Condition
+        public boolean when(@Fact("value") Object value) {
+            return (Integer) value > 0;
+        }
+
+        @Action
+        public void then() {
+        }
+    }
+
+    @org.jeasy.rules.annotation.Rule
+    static class ComparableRule implements Comparable<ComparableRule> {
+
+        private final int order;
+
+        ComparableRule(int order) {
+            this.order = order;
+        }
+
+        @Condition
+        public boolean when() {
+            return true;
+        }
+
+        @Action
+        public void then() {
+        }
+
+        @Override
+        public int compareTo(ComparableRule other) {
+            return Integer.compare(order, other.order);
+        }
+    }
+}
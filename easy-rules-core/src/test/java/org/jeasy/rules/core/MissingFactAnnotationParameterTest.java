@@ -29,11 +29,20 @@ import org.jeasy.rules.annotation.Fact;
 import org.jeasy.rules.annotation.Rule;
 import org.jeasy.rules.api.Facts;
 import org.jeasy.rules.api.Rules;
+import org.jeasy.rules.api.RuleListener;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Collections;
 import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
 /**
  * Null facts are not accepted by design, a declared fact can be missing though.
  */
@@ -54,6 +63,47 @@ public class MissingFactAnnotationParameterTest extends AbstractTest {
         }
     }
 
+    @Test
+    public void requiredFactsShouldBeTheFactsDeclaredInTheConditionMethod() {
+        // when
+        org.jeasy.rules.api.Rule rule = RuleProxy.asRule(new AnnotatedParametersRule());
+
+        // then
+        assertThat(rule.getRequiredFacts()).containsExactly("fact1", "fact2");
+    }
+
+    @Test
+    public void ruleShouldNotBeEvaluatedWhenARequiredFactIsMissing() throws Exception {
+        // given
+        when(rule1.getRequiredFacts()).thenReturn(Collections.singleton("fact3"));
+        RuleListener ruleListener = mock(RuleListener.class);
+        when(ruleListener.beforeEvaluate(any(), any())).thenReturn(true);
+        rulesEngine.registerRuleListener(ruleListener);
+        rules.register(rule1);
+
+        // when
+        rulesEngine.fire(rules, facts);
+
+        // then
+        verify(rule1, never()).evaluate(facts);
+        verify(rule1, never()).execute(facts);
+        verify(ruleListener).afterEvaluate(rule1, facts, false);
+    }
+
+    @Test
+    public void ruleShouldBeCheckedAsNotTriggeredWhenARequiredFactIsMissing() {
+        // given
+        when(rule1.getRequiredFacts()).thenReturn(Collections.singleton("fact3"));
+        rules.register(rule1);
+
+        // when
+        Map<org.jeasy.rules.api.Rule, Boolean> results = rulesEngine.check(rules, facts);
+
+        // then
+        verify(rule1, never()).evaluate(facts);
+        assertThat(results).containsEntry(rule1, false);
+    }
+
     @Rule
     public static class AnnotatedParametersRule {
 
@@ -0,0 +1,190 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.core;
+
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.Rule;
+import org.jeasy.rules.api.RuleListener;
+import org.jeasy.rules.api.Rules;
+import org.jeasy.rules.api.RulesEngineParameters;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ParallelCheckTest {
+
+    private static final int RULE_COUNT = 1000;
+
+    private ExecutorService executor;
+    private Facts facts;
+    private Rules rules;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        facts = new Facts();
+        facts.put("threshold", RULE_COUNT / 2);
+        rules = new Rules();
+        for (int i = 0; i < RULE_COUNT; i++) {
+            int value = i;
+            rules.register(new RuleBuilder()
+                    .name("rule" + i)
+                    .priority(i)
+                    .when(facts -> value < (int) facts.get("threshold"))
+                    .build());
+        }
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void checkParallelismMustBeGreaterThanZero() {
+        new DefaultRulesEngine(new RulesEngineParameters(), executor, 0);
+    }
+
+    @Test
+    public void parallelCheckShouldReturnTheSameResultAsSequentialCheck() {
+        // given
+        DefaultRulesEngine rulesEngine = new DefaultRulesEngine(new RulesEngineParameters(), executor, 4);
+
+        // when
+        Map<Rule, Boolean> result = rulesEngine.check(rules, facts);
+
+        // then
+        assertThat(result).hasSize(RULE_COUNT);
+        assertThat(result).isEqualTo(new DefaultRulesEngine().check(rules, facts));
+        assertThat(result.values().stream().filter(Boolean::booleanValue).count()).isEqualTo(RULE_COUNT / 2);
+    }
+
+    @Test
+    public void rulesSkippedByListenersShouldNotBeChecked() {
+        // given
+        DefaultRulesEngine rulesEngine = new DefaultRulesEngine(new RulesEngineParameters(), executor, 4);
+        rulesEngine.registerRuleListener(new RuleListener() {
+            @Override
+            public boolean beforeEvaluate(Rule rule, Facts facts) {
+                return rule.getPriority() % 2 == 0;
+            }
+        });
+
+        // when
+        Map<Rule, Boolean> result = rulesEngine.check(rules, facts);
+
+        // then
+        assertThat(result).hasSize(RULE_COUNT / 2);
+        assertThat(result.keySet()).allMatch(rule -> rule.getPriority() % 2 == 0);
+    }
+
+    @Test
+    public void listenersNotSupportingConcurrentCallbacksShouldBeCalledSequentially() {
+        // given
+        ConcurrencyTrackingListener listener = new ConcurrencyTrackingListener(false);
+        DefaultRulesEngine rulesEngine = new DefaultRulesEngine(new RulesEngineParameters(), executor, 4);
+        rulesEngine.registerRuleListener(listener);
+
+        // when
+        rulesEngine.check(rules, facts);
+
+        // then
+        assertThat(listener.getCalls()).isEqualTo(RULE_COUNT);
+        assertThat(listener.getMaxConcurrentCalls()).isEqualTo(1);
+    }
+
+    @Test
+    public void listenersSupportingConcurrentCallbacksShouldBeCalledForEachRule() {
+        // given
+        ConcurrencyTrackingListener listener = new ConcurrencyTrackingListener(true);
+        DefaultRulesEngine rulesEngine = new DefaultRulesEngine(new RulesEngineParameters(), executor, 4);
+        rulesEngine.registerRuleListener(listener);
+
+        // when
+        rulesEngine.check(rules, facts);
+
+        // then
+        assertThat(listener.getCalls()).isEqualTo(RULE_COUNT);
+    }
+
+    @Test
+    public void evaluationErrorsShouldBePropagated() {
+        // given
+        rules.register(new RuleBuilder()
+                .name("failing rule")
+                .priority(RULE_COUNT)
+                .when(facts -> {
+                    throw new IllegalStateException("boom");
+                })
+                .build());
+        DefaultRulesEngine rulesEngine = new DefaultRulesEngine(new RulesEngineParameters(), executor, 4);
+
+        // when/then
+        assertThatThrownBy(() -> rulesEngine.check(rules, facts))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+    }
+
+    static class ConcurrencyTrackingListener implements RuleListener {
+
+        private final boolean supportsConcurrentCallbacks;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger concurrentCalls = new AtomicInteger();
+        private final AtomicInteger maxConcurrentCalls = new AtomicInteger();
+
+        ConcurrencyTrackingListener(boolean supportsConcurrentCallbacks) {
+            this.supportsConcurrentCallbacks = supportsConcurrentCallbacks;
+        }
+
+        @Override
+        public boolean beforeEvaluate(Rule rule, Facts facts) {
+            int current = concurrentCalls.incrementAndGet();
+            maxConcurrentCalls.accumulateAndGet(current, Math::max);
+            calls.incrementAndGet();
+            concurrentCalls.decrementAndGet();
+            return true;
+        }
+
+        @Override
+        public boolean supportsConcurrentCallbacks() {
+            return supportsConcurrentCallbacks;
+        }
+
+        int getCalls() {
+            return calls.get();
+        }
+
+        int getMaxConcurrentCalls() {
+            return maxConcurrentCalls.get();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.core;
+
+import org.jeasy.rules.annotation.Action;
+import org.jeasy.rules.annotation.Condition;
+import org.jeasy.rules.annotation.Fact;
+import org.jeasy.rules.annotation.Priority;
+import org.jeasy.rules.api.Facts;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RuleBindingPlanTest {
+
+    @Test
+    public void planShouldBeComputedOncePerRuleClass() {
+        // When
+        RuleBindingPlan plan1 = RuleBindingPlan.of(MyRule.class);
+        RuleBindingPlan plan2 = RuleBindingPlan.of(MyRule.class);
+
+        // Then
+        assertThat(plan1).isSameAs(plan2);
+    }
+
+    @Test
+    public void planShouldResolveRuleMethods() {
+        // When
+        RuleBindingPlan plan = RuleBindingPlan.of(MyRule.class);
+
+        // Then
+        assertThat(plan.getName()).isEqualTo("myRule");
+        assertThat(plan.getDescription()).isEqualTo("when when then first,second");
+        assertThat(plan.getCondition().getMethod().getName()).isEqualTo("when");
+        assertThat(plan.getActions()).extracting(action -> action.getMethod().getName()).containsExactly("first", "second");
+        assertThat(plan.getPriorityMethod().getName()).isEqualTo("getPriority");
+        assertThat(plan.getCompareToMethod()).isNull();
+    }
+
+    @Test
+    public void bindingShouldInjectFactsInDeclarationOrder() {
+        // Given
+        MethodBinding condition = RuleBindingPlan.of(MyRule.class).getCondition();
+        Facts facts = new Facts();
+        facts.put("age", 18);
+        facts.put("name", "foo");
+
+        // When
+        Object[] actualParameters = condition.bind(facts);
+
+        // Then
+        assertThat(actualParameters).containsExactly("foo", facts, 18);
+    }
+
+    @Test
+    public void bindingShouldNotAllocateArgumentsForMethodsWithoutParameters() {
+        // Given
+        MethodBinding action = RuleBindingPlan.of(MyRule.class).getActions()[0];
+
+        // When
+        Object[] actualParameters1 = action.bind(new Facts());
+        Object[] actualParameters2 = action.bind(new Facts());
+
+        // Then
+        assertThat(actualParameters1).isEmpty();
+        assertThat(actualParameters1).isSameAs(actualParameters2);
+    }
+
+    @Test
+    public void bindingShouldFailWhenAFactIsMissing() {
+        // Given
+        MethodBinding condition = RuleBindingPlan.of(MyRule.class).getCondition();
+        Facts facts = new Facts();
+        facts.put("name", "foo");
+
+        // When, Then
+        assertThatThrownBy(() -> condition.bind(facts))
+                .isInstanceOf(NoSuchFactException.class)
+                .extracting("missingFact").isEqualTo("age");
+    }
+
+    @org.jeasy.rules.annotation.Rule(name = "myRule")
+    public static class MyRule {
+
+        @Condition
+        public boolean when(@Fact("name") String name, Facts facts, @Fact("age") int age) {
+            return true;
+        }
+
+        @Action(order = 2)
+        public void second() {
+        }
+
+        @Action(order = 1)
+        public void first() {
+        }
+
+        @Priority
+        public int getPriority() {
+            return 1;
+        }
+    }
+
+}
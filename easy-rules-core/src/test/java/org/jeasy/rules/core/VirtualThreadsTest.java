@@ -0,0 +1,93 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.core;
+
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.Rules;
+import org.jeasy.rules.api.RulesEngineParameters;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class VirtualThreadsTest {
+
+    @Test
+    public void virtualThreadsShouldNotBeSupportedBeforeJava21() {
+        assumeTrue(javaVersion() < 21);
+        assertThat(VirtualThreads.isSupported()).isFalse();
+    }
+
+    @Test
+    public void virtualThreadsShouldBeSupportedFromJava21() throws Exception {
+        // given
+        assumeTrue(javaVersion() >= 21);
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor();
+        Method isVirtual = Thread.class.getMethod("isVirtual");
+
+        // when
+        boolean virtual = executor.submit(() -> (boolean) isVirtual.invoke(Thread.currentThread())).get();
+
+        // then
+        assertThat(VirtualThreads.isSupported()).isTrue();
+        assertThat(virtual).isTrue();
+        executor.shutdown();
+    }
+
+    @Test
+    public void java21VersionShouldBeLoadedFromTheMultiReleaseJar() {
+        // the Java 21 version of the class is only used from the multi-release jar (see the java21 profile)
+        assumeTrue(javaVersion() >= 21 && Boolean.getBoolean("multiReleaseJar"));
+        URL classFile = VirtualThreads.class.getResource("VirtualThreads.class");
+        assertThat(classFile.toString()).contains("META-INF/versions/21/");
+    }
+
+    @Test
+    public void rulesShouldBeFiredWithAThreadPerTaskExecutor() {
+        // given
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor();
+        DefaultAsyncRulesEngine rulesEngine = new DefaultAsyncRulesEngine(new RulesEngineParameters(), executor);
+        Facts facts = new Facts();
+        Rules rules = new Rules(new RuleBuilder()
+                .when(f -> true)
+                .then(f -> f.put("processed", true))
+                .build());
+
+        // when
+        rulesEngine.fireAsync(rules, facts).join();
+
+        // then
+        assertThat((boolean) facts.get("processed")).isTrue();
+        executor.shutdown();
+    }
+
+    private static int javaVersion() {
+        String version = System.getProperty("java.specification.version");
+        return version.startsWith("1.") ? Integer.parseInt(version.substring(2)) : Integer.parseInt(version);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.jexl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.jexl3.JexlContext;
+import org.jeasy.rules.api.Facts;
+
+/**
+ * {@link JexlContext} backed by {@link Facts}. Facts are read without being copied.
+ *
+ * When created with {@code writeFacts} set to true, assigning a variable having
+ * the name of an existing fact updates the fact. Other variables are local to
+ * the context.
+ *
+ * @author Lauri Kimmel
+ * @author Mahmoud Ben Hassine
+ */
+class FactsContext implements JexlContext {
+
+    private final Facts facts;
+    private final boolean writeFacts;
+    private Map<String, Object> variables;
+
+    FactsContext(Facts facts, boolean writeFacts) {
+        this.facts = facts;
+        this.writeFacts = writeFacts;
+    }
+
+    @Override
+    public Object get(String name) {
+        if (variables != null && variables.containsKey(name)) {
+            return variables.get(name);
+        }
+        return facts.get(name);
+    }
+
+    @Override
+    public void set(String name, Object value) {
+        if (writeFacts && facts.getFact(name) != null) {
+            if (value != null) {
+                facts.put(name, value);
+            } else {
+                facts.remove(name);
+            }
+        } else {
+            if (variables == null) {
+                variables = new HashMap<>();
+            }
+            variables.put(name, value);
+        }
+    }
+
+    @Override
+    public boolean has(String name) {
+        return (variables != null && variables.containsKey(name)) || facts.getFact(name) != null;
+    }
+}
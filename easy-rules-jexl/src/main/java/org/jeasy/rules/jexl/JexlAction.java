@@ -25,12 +25,16 @@ package org.jeasy.rules.jexl;
 
 import java.util.Objects;
 
+import org.apache.commons.jexl3.JexlContext;
 import org.apache.commons.jexl3.JexlEngine;
 import org.apache.commons.jexl3.JexlException;
+import org.apache.commons.jexl3.JexlInfo;
 import org.apache.commons.jexl3.JexlScript;
-import org.apache.commons.jexl3.MapContext;
 import org.jeasy.rules.api.Action;
 import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.support.expression.CompilableExpression;
+import org.jeasy.rules.support.expression.CompilationMode;
+import org.jeasy.rules.support.expression.ExpressionCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,28 +46,38 @@ public class JexlAction implements Action {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JexlAction.class);
 
-    private final JexlScript compiledScript;
-    private final String expression;
+    private final CompilableExpression<JexlScript> compiledScript;
 
     public JexlAction(String expression) {
-        this.expression = Objects.requireNonNull(expression, "expression cannot be null");
-        this.compiledScript = JexlRule.DEFAULT_JEXL.createScript(expression);
+        this(expression, JexlRule.DEFAULT_JEXL);
     }
 
     public JexlAction(String expression, JexlEngine jexl) {
-        this.expression = Objects.requireNonNull(expression, "expression cannot be null");
+        this(expression, jexl, CompilationMode.EAGER);
+    }
+
+    public JexlAction(String expression, JexlEngine jexl, CompilationMode compilationMode) {
+        this(expression, jexl, compilationMode, JexlRule.defaultCacheFor(jexl));
+    }
+
+    JexlAction(String expression, JexlEngine jexl, CompilationMode compilationMode, ExpressionCache<JexlScript> expressionCache) {
+        Objects.requireNonNull(expression, "expression cannot be null");
         Objects.requireNonNull(jexl, "jexl cannot be null");
-        this.compiledScript = jexl.createScript(expression);
+        JexlInfo info = jexl.createInfo(); // report errors at the rule creation site, even when compiled lazily
+        this.compiledScript = CompilableExpression.of(expression, source -> expressionCache == null
+                ? jexl.createScript(info, source, (String[]) null)
+                : expressionCache.get(source, jexl, script -> jexl.createScript(info, script, (String[]) null)),
+                source -> jexl.createScript(info, source, (String[]) null), compilationMode);
     }
 
     @Override
     public void execute(Facts facts) {
         Objects.requireNonNull(facts, "facts cannot be null");
-        MapContext ctx = new MapContext(facts.asMap());
+        JexlContext ctx = new FactsContext(facts, true);
         try {
-            compiledScript.execute(ctx);
+            compiledScript.get().execute(ctx);
         } catch (JexlException e) {
-            LOGGER.error("Unable to execute expression: '" + expression + "' on facts: " + facts, e);
+            LOGGER.error("Unable to execute expression: '" + compiledScript.getExpression() + "' on facts: " + facts, e);
             throw e;
         }
     }
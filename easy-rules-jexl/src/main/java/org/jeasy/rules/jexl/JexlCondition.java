@@ -25,11 +25,15 @@ package org.jeasy.rules.jexl;
 
 import java.util.Objects;
 
+import org.apache.commons.jexl3.JexlContext;
 import org.apache.commons.jexl3.JexlEngine;
+import org.apache.commons.jexl3.JexlInfo;
 import org.apache.commons.jexl3.JexlScript;
-import org.apache.commons.jexl3.MapContext;
 import org.jeasy.rules.api.Condition;
 import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.support.expression.CompilableExpression;
+import org.jeasy.rules.support.expression.CompilationMode;
+import org.jeasy.rules.support.expression.ExpressionCache;
 
 /**
  * @author Lauri Kimmel
@@ -37,23 +41,34 @@ import org.jeasy.rules.api.Facts;
  */
 public class JexlCondition implements Condition {
 
-    private final JexlScript compiledScript;
+    private final CompilableExpression<JexlScript> compiledScript;
 
     public JexlCondition(String expression) {
-        Objects.requireNonNull(expression, "expression cannot be null");
-        this.compiledScript = JexlRule.DEFAULT_JEXL.createScript(expression);
+        this(expression, JexlRule.DEFAULT_JEXL);
     }
 
     public JexlCondition(String expression, JexlEngine jexl) {
+        this(expression, jexl, CompilationMode.EAGER);
+    }
+
+    public JexlCondition(String expression, JexlEngine jexl, CompilationMode compilationMode) {
+        this(expression, jexl, compilationMode, JexlRule.defaultCacheFor(jexl));
+    }
+
+    JexlCondition(String expression, JexlEngine jexl, CompilationMode compilationMode, ExpressionCache<JexlScript> expressionCache) {
         Objects.requireNonNull(expression, "expression cannot be null");
         Objects.requireNonNull(jexl, "jexl cannot be null");
-        this.compiledScript = jexl.createScript(expression);
+        JexlInfo info = jexl.createInfo(); // report errors at the rule creation site, even when compiled lazily
+        this.compiledScript = CompilableExpression.of(expression, source -> expressionCache == null
+                ? jexl.createScript(info, source, (String[]) null)
+                : expressionCache.get(source, jexl, script -> jexl.createScript(info, script, (String[]) null)),
+                source -> jexl.createScript(info, source, (String[]) null), compilationMode);
     }
 
     @Override
     public boolean evaluate(Facts facts) {
         Objects.requireNonNull(facts, "facts cannot be null");
-        MapContext ctx = new MapContext(facts.asMap());
-        return (Boolean) compiledScript.execute(ctx);
+        JexlContext ctx = new FactsContext(facts, false);
+        return (Boolean) compiledScript.get().execute(ctx);
     }
 }
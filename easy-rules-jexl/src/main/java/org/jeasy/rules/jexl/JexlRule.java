@@ -24,16 +24,20 @@
 package org.jeasy.rules.jexl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
 import org.apache.commons.jexl3.JexlBuilder;
 import org.apache.commons.jexl3.JexlEngine;
+import org.apache.commons.jexl3.JexlScript;
 import org.jeasy.rules.api.Action;
 import org.jeasy.rules.api.Condition;
 import org.jeasy.rules.api.Facts;
 import org.jeasy.rules.api.Rule;
 import org.jeasy.rules.core.BasicRule;
+import org.jeasy.rules.support.expression.CompilationMode;
+import org.jeasy.rules.support.expression.ExpressionCache;
 
 /**
  * @author Lauri Kimmel
@@ -42,18 +46,48 @@ import org.jeasy.rules.core.BasicRule;
 public class JexlRule extends BasicRule {
 
     static final JexlEngine DEFAULT_JEXL = new JexlBuilder().create();
+    static final ExpressionCache<JexlScript> EXPRESSION_CACHE = new ExpressionCache<>();
 
     private Condition condition = Condition.FALSE;
     private final List<Action> actions = new ArrayList<>();
     private final JexlEngine jexl;
+    private final CompilationMode compilationMode;
+    private final ExpressionCache<JexlScript> expressionCache;
 
     public JexlRule() {
         this(DEFAULT_JEXL);
     }
 
     public JexlRule(JexlEngine jexl) {
+        this(jexl, CompilationMode.EAGER);
+    }
+
+    public JexlRule(JexlEngine jexl, CompilationMode compilationMode) {
+        this(jexl, compilationMode, defaultCacheFor(jexl));
+    }
+
+    JexlRule(JexlEngine jexl, CompilationMode compilationMode, ExpressionCache<JexlScript> expressionCache) {
         super(Rule.DEFAULT_NAME, Rule.DEFAULT_DESCRIPTION, Rule.DEFAULT_PRIORITY);
         this.jexl = Objects.requireNonNull(jexl, "jexl cannot be null");
+        this.compilationMode = Objects.requireNonNull(compilationMode, "compilationMode cannot be null");
+        this.expressionCache = expressionCache;
+    }
+
+    /**
+     * Return the cache of compiled scripts shared by JEXL conditions and actions created with
+     * the default JEXL engine. Scripts created by other engines are not cached in this cache, so
+     * that it does not keep these engines for ever: rules created by a {@link JexlRuleFactory}
+     * share the {@link JexlRuleFactory#getExpressionCache() cache of their factory} instead.
+     *
+     * @return the JEXL expression cache
+     */
+    public static ExpressionCache<JexlScript> getExpressionCache() {
+        return EXPRESSION_CACHE;
+    }
+
+    // compiled scripts reference their engine, so only scripts of the default engine are shared statically
+    static ExpressionCache<JexlScript> defaultCacheFor(JexlEngine jexl) {
+        return jexl == DEFAULT_JEXL ? EXPRESSION_CACHE : null;
     }
 
     public JexlRule name(String name) {
@@ -71,15 +105,39 @@ public class JexlRule extends BasicRule {
         return this;
     }
 
+    /**
+     * Set the names of the facts required to evaluate this rule.
+     *
+     * @param factNames of the facts required to evaluate the rule
+     * @return this rule
+     * @see #setRequiredFacts(java.util.Collection)
+     */
+    public JexlRule requires(String... factNames) {
+        setRequiredFacts(Arrays.asList(factNames));
+        return this;
+    }
+
+    /**
+     * Set the names of the facts this rule depends on.
+     *
+     * @param factNames of the facts the rule depends on
+     * @return this rule
+     * @see #setDependencies(java.util.Collection)
+     */
+    public JexlRule dependsOn(String... factNames) {
+        setDependencies(Arrays.asList(factNames));
+        return this;
+    }
+
     public JexlRule when(String condition) {
         Objects.requireNonNull(condition, "condition cannot be null");
-        this.condition = new JexlCondition(condition, jexl);
+        this.condition = new JexlCondition(condition, jexl, compilationMode, expressionCache);
         return this;
     }
 
     public JexlRule then(String action) {
         Objects.requireNonNull(action, "action cannot be null");
-        this.actions.add(new JexlAction(action, jexl));
+        this.actions.add(new JexlAction(action, jexl, compilationMode, expressionCache));
         return this;
     }
 
@@ -24,14 +24,18 @@
 package org.jeasy.rules.jexl;
 
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 import org.apache.commons.jexl3.JexlEngine;
+import org.apache.commons.jexl3.JexlScript;
 import org.jeasy.rules.api.Rule;
 import org.jeasy.rules.api.Rules;
 import org.jeasy.rules.support.AbstractRuleFactory;
 import org.jeasy.rules.support.RuleDefinition;
+import org.jeasy.rules.support.expression.ExpressionCache;
 import org.jeasy.rules.support.reader.RuleDefinitionReader;
 
 /**
@@ -42,6 +46,7 @@ public class JexlRuleFactory extends AbstractRuleFactory {
 
     private final RuleDefinitionReader reader;
     private final JexlEngine jexl;
+    private final ExpressionCache<JexlScript> expressionCache = new ExpressionCache<>();
 
     public JexlRuleFactory(RuleDefinitionReader reader) {
         this(reader, JexlRule.DEFAULT_JEXL);
@@ -52,6 +57,16 @@ public class JexlRuleFactory extends AbstractRuleFactory {
         this.jexl = Objects.requireNonNull(jexl, "Jexl Engine cannot be null");
     }
 
+    /**
+     * Return the cache of compiled scripts shared by rules created by this factory.
+     * The cache is released with the factory.
+     *
+     * @return the expression cache of this factory
+     */
+    public ExpressionCache<JexlScript> getExpressionCache() {
+        return expressionCache;
+    }
+
     public Rule createRule(Reader ruleDescriptor) throws Exception {
         Objects.requireNonNull(ruleDescriptor, "ruleDescriptor cannot be null");
         Objects.requireNonNull(jexl, "jexl cannot be null");
@@ -64,21 +79,22 @@ public class JexlRuleFactory extends AbstractRuleFactory {
 
     public Rules createRules(Reader rulesDescriptor) throws Exception {
         Objects.requireNonNull(rulesDescriptor, "rulesDescriptor cannot be null");
-        Rules rules = new Rules();
-        List<RuleDefinition> ruleDefinitions = reader.read(rulesDescriptor);
-        for (RuleDefinition ruleDefinition : ruleDefinitions) {
-            rules.register(createRule(ruleDefinition));
+        try (Stream<RuleDefinition> ruleDefinitions = reader.stream(rulesDescriptor)) {
+            return createRules(ruleDefinitions);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-        return rules;
     }
 
     @Override
     protected Rule createSimpleRule(RuleDefinition ruleDefinition) {
         Objects.requireNonNull(ruleDefinition, "ruleDefinition cannot be null");
-        JexlRule rule = new JexlRule(jexl)
+        JexlRule rule = new JexlRule(jexl, getCompilationMode(), expressionCache)
                 .name(ruleDefinition.getName())
                 .description(ruleDefinition.getDescription())
                 .priority(ruleDefinition.getPriority())
+                .requires(ruleDefinition.getRequiredFacts().toArray(new String[0]))
+                .dependsOn(ruleDefinition.getDependencies().toArray(new String[0]))
                 .when(ruleDefinition.getCondition());
         for (String action : ruleDefinition.getActions()) {
             rule.then(action);
@@ -63,6 +63,21 @@ public class JexlActionTest {
         assertThat(foo.isAdult()).isTrue();
     }
 
+    @Test
+    public void testJexlActionAssignmentIsWrittenBackToFacts() throws Exception {
+        // given
+        Action action = new JexlAction("age = age + 1; local = 42;");
+        Facts facts = new Facts();
+        facts.put("age", 20);
+
+        // when
+        action.execute(facts);
+
+        // then
+        assertThat(facts.getFact("age").getValue()).isEqualTo(21);
+        assertThat(facts.getFact("local")).isNull();
+    }
+
     @Test
     public void testJexlActionExecutionWithCustomFunction() throws Exception {
         // given
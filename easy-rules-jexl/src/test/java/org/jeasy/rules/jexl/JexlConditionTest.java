@@ -24,6 +24,7 @@
 package org.jeasy.rules.jexl;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -33,6 +34,7 @@ import org.apache.commons.jexl3.JexlBuilder;
 import org.apache.commons.jexl3.JexlEngine;
 import org.jeasy.rules.api.Condition;
 import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.support.expression.CompilationMode;
 import org.junit.Test;
 
 /**
@@ -87,4 +89,66 @@ public class JexlConditionTest {
         // then
         assertThat(evaluationResult).isTrue();
     }
+
+    @Test
+    public void testJexlConditionWithLazyCompilation() {
+        // given
+        Condition isAdult = new JexlCondition("person.age > 18", new JexlBuilder().create(), CompilationMode.LAZY);
+        Facts facts = new Facts();
+        facts.put("person", new Person("foo", 20));
+
+        // when
+        boolean evaluationResult = isAdult.evaluate(facts);
+
+        // then
+        assertThat(evaluationResult).isTrue();
+    }
+
+    @Test
+    public void testJexlConditionWithLazyCompilationReportsInvalidExpressionOnEvaluation() {
+        // given
+        Condition condition = new JexlCondition("person.age >", new JexlBuilder().create(), CompilationMode.LAZY);
+        Facts facts = new Facts();
+
+        // when, then
+        assertThatThrownBy(() -> condition.evaluate(facts)).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    public void testJexlConditionWithValidatedLazyCompilationRejectsInvalidExpression() {
+        assertThatThrownBy(() -> new JexlCondition("person.age >", new JexlBuilder().create(), CompilationMode.LAZY_VALIDATED)).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    public void testJexlConditionsWithSameExpressionShareCompiledExpression() {
+        // given
+        long hitCount = JexlRule.getExpressionCache().getStats().getHitCount();
+        Condition first = new JexlCondition("person.age > 19");
+        Facts facts = new Facts();
+        facts.put("person", new Person("foo", 20));
+
+        // when
+        Condition second = new JexlCondition("person.age > 19");
+
+        // then
+        assertThat(JexlRule.getExpressionCache().getStats().getHitCount()).isGreaterThan(hitCount);
+        assertThat(first.evaluate(facts)).isTrue();
+        assertThat(second.evaluate(facts)).isTrue();
+    }
+
+    @Test
+    public void testJexlConditionsWithCustomEngineAreNotCachedInSharedCache() {
+        // given
+        JexlEngine jexl = new JexlBuilder().create();
+        long missCount = JexlRule.getExpressionCache().getStats().getMissCount();
+        long hitCount = JexlRule.getExpressionCache().getStats().getHitCount();
+
+        // when
+        new JexlCondition("person.age > 21", jexl);
+        new JexlCondition("person.age > 21", jexl);
+
+        // then
+        assertThat(JexlRule.getExpressionCache().getStats().getMissCount()).isEqualTo(missCount);
+        assertThat(JexlRule.getExpressionCache().getStats().getHitCount()).isEqualTo(hitCount);
+    }
 }
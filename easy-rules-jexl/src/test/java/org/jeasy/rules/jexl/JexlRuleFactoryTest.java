@@ -44,6 +44,7 @@ import org.jeasy.rules.api.Rule;
 import org.jeasy.rules.api.Rules;
 import org.jeasy.rules.support.reader.JsonRuleDefinitionReader;
 import org.jeasy.rules.support.composite.UnitRuleGroup;
+import org.jeasy.rules.support.expression.CompilationMode;
 import org.jeasy.rules.support.reader.YamlRuleDefinitionReader;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -103,6 +104,34 @@ public class JexlRuleFactoryTest {
         assertThat(rule.getPriority()).isEqualTo(2);
     }
 
+    @Test
+    public void rulesMustShareCompiledExpressionsThroughTheCacheOfTheFactory() throws Exception {
+        // given
+        File rulesDescriptor = new File("src/test/resources/rules." + ext);
+        factory.createRules(new FileReader(rulesDescriptor));
+        long hitCount = factory.getExpressionCache().getStats().getHitCount();
+
+        // when
+        factory.createRules(new FileReader(rulesDescriptor));
+
+        // then
+        assertThat(factory.getExpressionCache().size()).isPositive();
+        assertThat(factory.getExpressionCache().getStats().getHitCount()).isGreaterThan(hitCount);
+    }
+
+    @Test
+    public void validatedLazyRulesMustNotFillTheCacheOfTheFactory() throws Exception {
+        // given
+        JexlRuleFactory factory = new JexlRuleFactory(new YamlRuleDefinitionReader());
+        factory.setCompilationMode(CompilationMode.LAZY_VALIDATED);
+
+        // when
+        factory.createRules(new FileReader("src/test/resources/rules.yml"));
+
+        // then
+        assertThat(factory.getExpressionCache().size()).isZero();
+    }
+
     @Test
     public void testRuleCreationFromFileReader() throws Exception {
         // given
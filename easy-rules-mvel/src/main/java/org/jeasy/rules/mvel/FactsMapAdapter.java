@@ -0,0 +1,109 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.mvel;
+
+import org.jeasy.rules.api.Facts;
+
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Map adapter used as MVEL variables when evaluating conditions and executing actions.
+ * Reads are served by {@link Facts#asMapView()} without copying facts. Variables assigned
+ * by expressions are kept in a local map, created only when an expression assigns a
+ * variable, except when executing actions: assigning a variable having the name of an
+ * existing fact updates the fact in the underlying {@link Facts}.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+class FactsMapAdapter extends AbstractMap<String, Object> {
+
+    private final Facts facts;
+    private final Map<String, Object> view;
+    private final boolean writeFacts;
+    private Map<String, Object> localVariables;
+
+    FactsMapAdapter(Facts facts, boolean writeFacts) {
+        this.facts = facts;
+        this.view = facts.asMapView();
+        this.writeFacts = writeFacts;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (localVariables != null && localVariables.containsKey(key)) {
+            return localVariables.get(key);
+        }
+        return view.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return (localVariables != null && localVariables.containsKey(key)) || view.containsKey(key);
+    }
+
+    /*
+     * Facts do not accept null values, assigning null to a variable removes the corresponding fact.
+     */
+    @Override
+    public Object put(String key, Object value) {
+        Object previous = get(key);
+        if (writeFacts && view.containsKey(key)) {
+            if (value == null) {
+                facts.remove(key);
+            } else {
+                facts.put(key, value);
+            }
+        } else {
+            if (localVariables == null) {
+                localVariables = new HashMap<>();
+            }
+            localVariables.put(key, value);
+        }
+        return previous;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        Object previous = get(key);
+        if (localVariables != null && localVariables.containsKey(key)) {
+            localVariables.remove(key);
+        } else if (writeFacts && key instanceof String) {
+            facts.remove((String) key);
+        }
+        return previous;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (localVariables == null) {
+            return view.entrySet();
+        }
+        Map<String, Object> variables = new HashMap<>(view);
+        variables.putAll(localVariables);
+        return variables.entrySet();
+    }
+}
@@ -25,8 +25,12 @@ package org.jeasy.rules.mvel;
 
 import org.jeasy.rules.api.Action;
 import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.support.expression.CompilableExpression;
+import org.jeasy.rules.support.expression.CompilationMode;
+import org.jeasy.rules.support.expression.ExpressionCache;
 import org.mvel2.MVEL;
 import org.mvel2.ParserContext;
+import org.mvel2.integration.impl.MapVariableResolverFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,14 +40,17 @@ import java.io.Serializable;
  * This class is an implementation of {@link Action} that uses
  * <a href="https://github.com/mvel/mvel">MVEL</a> to execute the action.
  *
+ * Facts are passed to MVEL without being copied. Assignments to existing facts
+ * are written back to facts, while new variables (and functions) declared by the
+ * action are local to its execution.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 public class MVELAction implements Action {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MVELAction.class);
 
-    private final String expression;
-    private final Serializable compiledExpression;
+    private final CompilableExpression<Serializable> compiledExpression;
 
     /**
      * Create a new {@link MVELAction}.
@@ -51,8 +58,7 @@ public class MVELAction implements Action {
      * @param expression the action written in expression language
      */
     public MVELAction(String expression) {
-        this.expression = expression;
-        compiledExpression = MVEL.compileExpression(expression);
+        this(expression, null, CompilationMode.EAGER);
     }
 
     /**
@@ -62,16 +68,42 @@ public class MVELAction implements Action {
      * @param parserContext the MVEL parser context
      */
     public MVELAction(String expression, ParserContext parserContext) {
-        this.expression = expression;
-        compiledExpression = MVEL.compileExpression(expression, parserContext);
+        this(expression, parserContext, CompilationMode.EAGER);
+    }
+
+    /**
+     * Create a new {@link MVELAction}.
+     *
+     * @param expression the action written in expression language
+     * @param parserContext the MVEL parser context, or null to use a new parser context
+     * @param compilationMode defining when the expression is compiled
+     */
+    public MVELAction(String expression, ParserContext parserContext, CompilationMode compilationMode) {
+        this(expression, parserContext, compilationMode, MVELExpressionCompiler.defaultCacheFor(parserContext));
+    }
+
+    /**
+     * Create a new {@link MVELAction}.
+     *
+     * @param expression the action written in expression language
+     * @param parserContext the MVEL parser context, or null to use a new parser context
+     * @param compilationMode defining when the expression is compiled
+     * @param expressionCache of compiled expressions, or null to not cache the compiled expression
+     */
+    MVELAction(String expression, ParserContext parserContext, CompilationMode compilationMode,
+            ExpressionCache<Serializable> expressionCache) {
+        compiledExpression = CompilableExpression.of(expression,
+                source -> MVELExpressionCompiler.compile(source, parserContext, expressionCache),
+                source -> MVELExpressionCompiler.validate(source, parserContext), compilationMode);
     }
 
     @Override
     public void execute(Facts facts) {
         try {
-            MVEL.executeExpression(compiledExpression, facts.asMap());
+            MapVariableResolverFactory factsResolverFactory = new MapVariableResolverFactory(new FactsMapAdapter(facts, true));
+            MVEL.executeExpression(compiledExpression.get(), factsResolverFactory);
         } catch (Exception e) {
-            LOGGER.error("Unable to evaluate expression: '" + expression + "' on facts: " + facts, e);
+            LOGGER.error("Unable to evaluate expression: '" + compiledExpression.getExpression() + "' on facts: " + facts, e);
             throw e;
         }
     }
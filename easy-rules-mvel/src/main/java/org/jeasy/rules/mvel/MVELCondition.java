@@ -25,8 +25,12 @@ package org.jeasy.rules.mvel;
 
 import org.jeasy.rules.api.Condition;
 import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.support.expression.CompilableExpression;
+import org.jeasy.rules.support.expression.CompilationMode;
+import org.jeasy.rules.support.expression.ExpressionCache;
 import org.mvel2.MVEL;
 import org.mvel2.ParserContext;
+import org.mvel2.integration.impl.MapVariableResolverFactory;
 
 import java.io.Serializable;
 
@@ -34,11 +38,16 @@ import java.io.Serializable;
  * This class is an implementation of {@link Condition} that uses
  * <a href="https://github.com/mvel/mvel">MVEL</a> to evaluate the condition.
  *
+ * Facts are read through {@link Facts#asMapView()} without being copied. Variables assigned
+ * by the condition are local to its evaluation, including variables having the name of an
+ * existing fact: such assignments shadow the fact during the evaluation, but facts are never
+ * modified by conditions.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 public class MVELCondition implements Condition {
 
-    private final Serializable compiledExpression;
+    private final CompilableExpression<Serializable> compiledExpression;
 
     /**
      * Create a new {@link MVELCondition}.
@@ -46,7 +55,7 @@ public class MVELCondition implements Condition {
      * @param expression the condition written in expression language
      */
     public MVELCondition(String expression) {
-        compiledExpression = MVEL.compileExpression(expression);
+        this(expression, null, CompilationMode.EAGER);
     }
 
     /**
@@ -56,12 +65,39 @@ public class MVELCondition implements Condition {
      * @param parserContext the MVEL parser context
      */
     public MVELCondition(String expression, ParserContext parserContext) {
-        compiledExpression = MVEL.compileExpression(expression, parserContext);
+        this(expression, parserContext, CompilationMode.EAGER);
+    }
+
+    /**
+     * Create a new {@link MVELCondition}.
+     *
+     * @param expression the condition written in expression language
+     * @param parserContext the MVEL parser context, or null to use a new parser context
+     * @param compilationMode defining when the expression is compiled
+     */
+    public MVELCondition(String expression, ParserContext parserContext, CompilationMode compilationMode) {
+        this(expression, parserContext, compilationMode, MVELExpressionCompiler.defaultCacheFor(parserContext));
+    }
+
+    /**
+     * Create a new {@link MVELCondition}.
+     *
+     * @param expression the condition written in expression language
+     * @param parserContext the MVEL parser context, or null to use a new parser context
+     * @param compilationMode defining when the expression is compiled
+     * @param expressionCache of compiled expressions, or null to not cache the compiled expression
+     */
+    MVELCondition(String expression, ParserContext parserContext, CompilationMode compilationMode,
+            ExpressionCache<Serializable> expressionCache) {
+        compiledExpression = CompilableExpression.of(expression,
+                source -> MVELExpressionCompiler.compile(source, parserContext, expressionCache),
+                source -> MVELExpressionCompiler.validate(source, parserContext), compilationMode);
     }
 
     @Override
     public boolean evaluate(Facts facts) {
         // MVEL.evalToBoolean does not accept compiled expressions..
-        return (boolean) MVEL.executeExpression(compiledExpression, facts.asMap());
+        MapVariableResolverFactory factsResolverFactory = new MapVariableResolverFactory(new FactsMapAdapter(facts, false));
+        return (boolean) MVEL.executeExpression(compiledExpression.get(), factsResolverFactory);
     }
 }
@@ -0,0 +1,113 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.mvel;
+
+import org.jeasy.rules.support.expression.ExpressionCache;
+import org.mvel2.MVEL;
+import org.mvel2.ParserContext;
+
+import java.io.Serializable;
+
+/**
+ * Compiles MVEL expressions of conditions and actions.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+final class MVELExpressionCompiler {
+
+    private MVELExpressionCompiler() { }
+
+    /**
+     * Return the cache of compiled expressions used by conditions and actions created without
+     * an expression cache. Expressions compiled without a parser context are cached in the shared
+     * {@link MVELRule#getExpressionCache() expression cache}. Expressions compiled with a parser
+     * context are not cached, since the cache would keep the parser context (and everything it
+     * references) as long as the compiled expressions are in the cache.
+     *
+     * @param parserContext the MVEL parser context, may be null
+     * @return the shared expression cache, or null if expressions should not be cached
+     */
+    static ExpressionCache<Serializable> defaultCacheFor(ParserContext parserContext) {
+        return parserContext == null ? MVELRule.EXPRESSION_CACHE : null;
+    }
+
+    /**
+     * Compile an expression, or return it from the given expression cache if it has already been
+     * compiled with the same parser configuration. MVEL parser contexts are not thread-safe, so
+     * expressions compiled with the same parser context, for example lazily on first evaluation
+     * of different rules, are compiled one at a time.
+     *
+     * @param expression to compile
+     * @param parserContext the MVEL parser context, or null to use a new parser context
+     * @param expressionCache of compiled expressions, or null to compile the expression without caching it
+     * @return the compiled expression
+     */
+    static Serializable compile(String expression, ParserContext parserContext, ExpressionCache<Serializable> expressionCache) {
+        if (expressionCache == null) {
+            return doCompile(expression, parserContext);
+        }
+        return expressionCache.get(expression, configurationOf(parserContext),
+                source -> doCompile(source, parserContext));
+    }
+
+    /**
+     * Check that an expression compiles, without caching its compiled form.
+     *
+     * @param expression to validate
+     * @param parserContext the MVEL parser context, or null to use a new parser context
+     */
+    static void validate(String expression, ParserContext parserContext) {
+        doCompile(expression, parserContext);
+    }
+
+    /*
+     * Untyped expressions only depend on the parser configuration (imports, etc), which is shared
+     * by copies of a parser context. Typed expressions also depend on inputs and variables of the
+     * parser context, so they are only shared between rules using the same parser context.
+     */
+    private static Object configurationOf(ParserContext parserContext) {
+        if (parserContext == null) {
+            return null;
+        }
+        if (parserContext.isStrongTyping() || parserContext.isStrictTypeEnforcement()) {
+            return parserContext;
+        }
+        return parserContext.getParserConfiguration();
+    }
+
+    /*
+     * The parser context is locked with its monitor since it is the only object shared by all rules
+     * using it. On Java 21, a virtual thread compiling an expression (or waiting to) pins its carrier
+     * thread. Compilation does not block, so carrier threads are pinned for the duration of compiling
+     * an expression at most, once per expression in lazy modes.
+     */
+    private static Serializable doCompile(String expression, ParserContext parserContext) {
+        if (parserContext == null) {
+            return MVEL.compileExpression(expression);
+        }
+        synchronized (parserContext) {
+            return MVEL.compileExpression(expression, parserContext);
+        }
+    }
+}
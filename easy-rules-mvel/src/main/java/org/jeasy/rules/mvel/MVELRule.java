@@ -28,9 +28,13 @@ import org.jeasy.rules.api.Condition;
 import org.jeasy.rules.api.Facts;
 import org.jeasy.rules.api.Rule;
 import org.jeasy.rules.core.BasicRule;
+import org.jeasy.rules.support.expression.CompilationMode;
+import org.jeasy.rules.support.expression.ExpressionCache;
 import org.mvel2.ParserContext;
 
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -41,25 +45,65 @@ import java.util.List;
  */
 public class MVELRule extends BasicRule {
 
+    static final ExpressionCache<Serializable> EXPRESSION_CACHE = new ExpressionCache<>();
+
     private Condition condition = Condition.FALSE;
     private final List<Action> actions = new ArrayList<>();
     private final ParserContext parserContext;
+    private final CompilationMode compilationMode;
+    private final ExpressionCache<Serializable> expressionCache;
 
     /**
      * Create a new MVEL rule.
      */
     public MVELRule() {
-        this(new ParserContext());
+        this(null);
     }
 
     /**
      * Create a new MVEL rule.
      * 
-     * @param parserContext used to parse condition/action expressions
+     * @param parserContext used to parse condition/action expressions, or null to use a new parser context
      */
     public MVELRule(ParserContext parserContext) {
+        this(parserContext, CompilationMode.EAGER);
+    }
+
+    /**
+     * Create a new MVEL rule.
+     *
+     * @param parserContext used to parse condition/action expressions, or null to use a new parser context
+     * @param compilationMode defining when condition/action expressions are compiled
+     */
+    public MVELRule(ParserContext parserContext, CompilationMode compilationMode) {
+        this(parserContext, compilationMode, MVELExpressionCompiler.defaultCacheFor(parserContext));
+    }
+
+    /**
+     * Create a new MVEL rule.
+     *
+     * @param parserContext used to parse condition/action expressions, or null to use a new parser context
+     * @param compilationMode defining when condition/action expressions are compiled
+     * @param expressionCache of compiled expressions, or null to not cache compiled expressions
+     */
+    MVELRule(ParserContext parserContext, CompilationMode compilationMode, ExpressionCache<Serializable> expressionCache) {
         super(Rule.DEFAULT_NAME, Rule.DEFAULT_DESCRIPTION, Rule.DEFAULT_PRIORITY);
         this.parserContext = parserContext;
+        this.compilationMode = compilationMode;
+        this.expressionCache = expressionCache;
+    }
+
+    /**
+     * Return the cache of compiled expressions shared by MVEL conditions and actions created
+     * without a parser context. Expressions compiled with a parser context are not cached in
+     * this cache, so that it does not keep parser contexts for ever: rules created by a
+     * {@link MVELRuleFactory} share the {@link MVELRuleFactory#getExpressionCache() cache of
+     * their factory} instead.
+     *
+     * @return the MVEL expression cache
+     */
+    public static ExpressionCache<Serializable> getExpressionCache() {
+        return EXPRESSION_CACHE;
     }
 
     /**
@@ -95,13 +139,37 @@ public class MVELRule extends BasicRule {
         return this;
     }
 
+    /**
+     * Set the names of the facts required to evaluate this rule.
+     *
+     * @param factNames of the facts required to evaluate the rule
+     * @return this rule
+     * @see #setRequiredFacts(java.util.Collection)
+     */
+    public MVELRule requires(String... factNames) {
+        setRequiredFacts(Arrays.asList(factNames));
+        return this;
+    }
+
+    /**
+     * Set the names of the facts this rule depends on.
+     *
+     * @param factNames of the facts the rule depends on
+     * @return this rule
+     * @see #setDependencies(java.util.Collection)
+     */
+    public MVELRule dependsOn(String... factNames) {
+        setDependencies(Arrays.asList(factNames));
+        return this;
+    }
+
     /**
      * Specify the rule's condition as MVEL expression.
      * @param condition of the rule
      * @return this rule
      */
     public MVELRule when(String condition) {
-        this.condition = new MVELCondition(condition, parserContext);
+        this.condition = new MVELCondition(condition, parserContext, compilationMode, expressionCache);
         return this;
     }
 
@@ -111,7 +179,7 @@ public class MVELRule extends BasicRule {
      * @return this rule
      */
     public MVELRule then(String action) {
-        this.actions.add(new MVELAction(action, parserContext));
+        this.actions.add(new MVELAction(action, parserContext, compilationMode, expressionCache));
         return this;
     }
 
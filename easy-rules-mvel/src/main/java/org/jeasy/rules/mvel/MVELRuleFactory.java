@@ -27,13 +27,17 @@ import org.jeasy.rules.api.Rule;
 import org.jeasy.rules.api.Rules;
 import org.jeasy.rules.support.AbstractRuleFactory;
 import org.jeasy.rules.support.RuleDefinition;
+import org.jeasy.rules.support.expression.ExpressionCache;
 import org.jeasy.rules.support.reader.JsonRuleDefinitionReader;
 import org.jeasy.rules.support.reader.RuleDefinitionReader;
 import org.jeasy.rules.support.reader.YamlRuleDefinitionReader;
 import org.mvel2.ParserContext;
 
 import java.io.Reader;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Factory to create {@link MVELRule} instances.
@@ -44,6 +48,7 @@ public class MVELRuleFactory extends AbstractRuleFactory {
 
     private final RuleDefinitionReader reader;
     private final ParserContext parserContext;
+    private final ExpressionCache<Serializable> expressionCache = new ExpressionCache<>();
 
     /**
      * Create a new {@link MVELRuleFactory} with a given reader.
@@ -69,6 +74,17 @@ public class MVELRuleFactory extends AbstractRuleFactory {
         this.parserContext = parserContext;
     }
 
+    /**
+     * Return the cache of compiled expressions shared by rules created by this factory.
+     * Expressions are shared when they have the same text and are compiled with the same
+     * parser configuration. The cache is released with the factory.
+     *
+     * @return the expression cache of this factory
+     */
+    public ExpressionCache<Serializable> getExpressionCache() {
+        return expressionCache;
+    }
+
     /**
      * Create a new {@link MVELRule} from a Reader.
      *
@@ -91,24 +107,36 @@ public class MVELRuleFactory extends AbstractRuleFactory {
     /**
      * Create a set of {@link MVELRule} from a rule descriptor.
      *
+     * Rule definitions are read and compiled one at a time, so that the rules descriptor
+     * is never fully loaded in memory when the reader supports streaming.
+     *
      * @param rulesDescriptor descriptor of rule definitions
      * @return a set of rules
      * @throws Exception if unable to create rules from the descriptor
      */
     public Rules createRules(Reader rulesDescriptor) throws Exception {
-        Rules rules = new Rules();
-        List<RuleDefinition> ruleDefinitions = reader.read(rulesDescriptor);
-        for (RuleDefinition ruleDefinition : ruleDefinitions) {
-            rules.register(createRule(ruleDefinition));
+        try (Stream<RuleDefinition> ruleDefinitions = reader.stream(rulesDescriptor)) {
+            return createRules(ruleDefinitions);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-        return rules;
     }
 
+    /**
+     * Create a {@link MVELRule}. When rules are compiled in parallel (see
+     * {@link #setCompilationExecutor(java.util.concurrent.Executor)}), each rule is compiled
+     * with its own copy of the parser context, since MVEL parser contexts are not thread-safe.
+     * Parser contexts share the parser configuration, which must not be modified while rules
+     * are compiled.
+     */
     protected Rule createSimpleRule(RuleDefinition ruleDefinition) {
-        MVELRule mvelRule = new MVELRule(parserContext)
+        ParserContext ruleParserContext = getCompilationExecutor() == null ? parserContext : copy(parserContext);
+        MVELRule mvelRule = new MVELRule(ruleParserContext, getCompilationMode(), expressionCache)
                 .name(ruleDefinition.getName())
                 .description(ruleDefinition.getDescription())
                 .priority(ruleDefinition.getPriority())
+                .requires(ruleDefinition.getRequiredFacts().toArray(new String[0]))
+                .dependsOn(ruleDefinition.getDependencies().toArray(new String[0]))
                 .when(ruleDefinition.getCondition());
         for (String action : ruleDefinition.getActions()) {
             mvelRule.then(action);
@@ -116,4 +144,17 @@ public class MVELRuleFactory extends AbstractRuleFactory {
         return mvelRule;
     }
 
+    private static ParserContext copy(ParserContext parserContext) {
+        ParserContext copy = new ParserContext(parserContext.getParserConfiguration());
+        copy.setStrictTypeEnforcement(parserContext.isStrictTypeEnforcement());
+        copy.setStrongTyping(parserContext.isStrongTyping());
+        if (parserContext.getInputs() != null) {
+            copy.addInputs(parserContext.getInputs());
+        }
+        if (parserContext.getVariables() != null) {
+            copy.addVariables(parserContext.getVariables());
+        }
+        return copy;
+    }
+
 }
@@ -49,6 +49,21 @@ public class MVELActionTest {
         assertThat(foo.isAdult()).isTrue();
     }
 
+    @Test
+    public void testMVELActionAssignmentIsWrittenBackToFacts() throws Exception {
+        // given
+        Action action = new MVELAction("age = age + 1; local = 42;");
+        Facts facts = new Facts();
+        facts.put("age", 20);
+
+        // when
+        action.execute(facts);
+
+        // then
+        assertThat((Integer) facts.get("age")).isEqualTo(21);
+        assertThat(facts.getFact("local")).isNull();
+    }
+
     @Test
     public void testMVELFunctionExecution() throws Exception {
         // given
@@ -61,6 +76,7 @@ public class MVELActionTest {
 
         // then
         assertThat(output).isEqualTo("Hello from MVEL!\n");
+        assertThat(facts).isEmpty();
     }
 
     @Test
@@ -25,10 +25,12 @@ package org.jeasy.rules.mvel;
 
 import org.jeasy.rules.api.Condition;
 import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.support.expression.CompilationMode;
 import org.junit.Test;
 import org.mvel2.ParserContext;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class MVELConditionTest {
 
@@ -46,6 +48,36 @@ public class MVELConditionTest {
         assertThat(evaluationResult).isTrue();
     }
 
+    @Test
+    public void testMVELConditionDoesNotModifyFacts() {
+        // given
+        Condition condition = new MVELCondition("threshold = 18; person.age > threshold");
+        Facts facts = new Facts();
+        facts.put("person", new Person("foo", 20));
+
+        // when
+        boolean evaluationResult = condition.evaluate(facts);
+
+        // then
+        assertThat(evaluationResult).isTrue();
+        assertThat(facts.getFact("threshold")).isNull();
+    }
+
+    @Test
+    public void testMVELConditionAssigningExistingFactDoesNotModifyFacts() {
+        // given
+        Condition condition = new MVELCondition("age = 30; age > 25");
+        Facts facts = new Facts();
+        facts.put("age", 20);
+
+        // when
+        boolean evaluationResult = condition.evaluate(facts);
+
+        // then
+        assertThat(evaluationResult).isTrue();
+        assertThat(facts.<Integer>get("age")).isEqualTo(20);
+    }
+
     // Note this behaviour is different in SpEL, where a missing fact is silently ignored and returns false
     @Test(expected = RuntimeException.class)
     public void whenDeclaredFactIsNotPresent_thenShouldThrowRuntimeException() {
@@ -73,4 +105,65 @@ public class MVELConditionTest {
         // then
         assertThat(evaluationResult).isTrue();
     }
+
+    @Test
+    public void testMVELConditionWithLazyCompilation() {
+        // given
+        Condition isAdult = new MVELCondition("person.age > 18", new ParserContext(), CompilationMode.LAZY);
+        Facts facts = new Facts();
+        facts.put("person", new Person("foo", 20));
+
+        // when
+        boolean evaluationResult = isAdult.evaluate(facts);
+
+        // then
+        assertThat(evaluationResult).isTrue();
+    }
+
+    @Test
+    public void testMVELConditionWithLazyCompilationReportsInvalidExpressionOnEvaluation() {
+        // given
+        Condition condition = new MVELCondition("person.age >", new ParserContext(), CompilationMode.LAZY);
+        Facts facts = new Facts();
+
+        // when, then
+        assertThatThrownBy(() -> condition.evaluate(facts)).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    public void testMVELConditionWithValidatedLazyCompilationRejectsInvalidExpression() {
+        assertThatThrownBy(() -> new MVELCondition("person.age >", new ParserContext(), CompilationMode.LAZY_VALIDATED)).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    public void testMVELConditionsWithSameExpressionShareCompiledExpression() {
+        // given
+        long hitCount = MVELRule.getExpressionCache().getStats().getHitCount();
+        Condition first = new MVELCondition("person.age > 19");
+        Facts facts = new Facts();
+        facts.put("person", new Person("foo", 20));
+
+        // when
+        Condition second = new MVELCondition("person.age > 19");
+
+        // then
+        assertThat(MVELRule.getExpressionCache().getStats().getHitCount()).isGreaterThan(hitCount);
+        assertThat(first.evaluate(facts)).isTrue();
+        assertThat(second.evaluate(facts)).isTrue();
+    }
+
+    @Test
+    public void testMVELConditionsWithParserContextAreNotCachedInSharedCache() {
+        // given
+        long missCount = MVELRule.getExpressionCache().getStats().getMissCount();
+        long hitCount = MVELRule.getExpressionCache().getStats().getHitCount();
+
+        // when
+        new MVELCondition("person.age > 21", new ParserContext());
+        new MVELCondition("person.age > 21", new ParserContext());
+
+        // then
+        assertThat(MVELRule.getExpressionCache().getStats().getMissCount()).isEqualTo(missCount);
+        assertThat(MVELRule.getExpressionCache().getStats().getHitCount()).isEqualTo(hitCount);
+    }
 }
@@ -33,11 +33,16 @@ import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
 
 import org.assertj.core.api.Assertions;
+import org.jeasy.rules.api.Facts;
 import org.jeasy.rules.api.Rule;
 import org.jeasy.rules.api.Rules;
+import org.jeasy.rules.support.RuleCompilationException;
+import org.jeasy.rules.support.RuleDefinition;
 import org.jeasy.rules.support.composite.UnitRuleGroup;
+import org.jeasy.rules.support.expression.CompilationMode;
 import org.jeasy.rules.support.reader.JsonRuleDefinitionReader;
 import org.jeasy.rules.support.reader.YamlRuleDefinitionReader;
 import org.junit.Test;
@@ -45,6 +50,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @RunWith(Parameterized.class)
 public class MVELRuleFactoryTest {
@@ -88,6 +94,40 @@ public class MVELRuleFactoryTest {
         assertThat(rule.getPriority()).isEqualTo(2);
     }
 
+    @Test
+    public void testRulesCreationReusingCompiledRules() throws Exception {
+        // given
+        MVELRuleFactory factory = new MVELRuleFactory(fileExtension.equals("yml")
+                ? new YamlRuleDefinitionReader() : new JsonRuleDefinitionReader());
+        factory.setReuseCompiledRules(true);
+        File rulesDescriptor = new File("src/test/resources/rules." + fileExtension);
+        Rules rules = factory.createRules(new FileReader(rulesDescriptor));
+
+        // when
+        Rules reloadedRules = factory.createRules(new FileReader(rulesDescriptor));
+
+        // then
+        Iterator<Rule> iterator = rules.iterator();
+        Iterator<Rule> reloadedIterator = reloadedRules.iterator();
+        assertThat(reloadedIterator.next()).isSameAs(iterator.next());
+        assertThat(reloadedIterator.next()).isSameAs(iterator.next());
+    }
+
+    @Test
+    public void rulesMustShareCompiledExpressionsThroughTheCacheOfTheFactory() throws Exception {
+        // given
+        File rulesDescriptor = new File("src/test/resources/rules." + fileExtension);
+        factory.createRules(new FileReader(rulesDescriptor));
+        long hitCount = factory.getExpressionCache().getStats().getHitCount();
+
+        // when
+        factory.createRules(new FileReader(rulesDescriptor));
+
+        // then
+        assertThat(factory.getExpressionCache().size()).isPositive();
+        assertThat(factory.getExpressionCache().getStats().getHitCount()).isGreaterThan(hitCount);
+    }
+
     @Test
     public void testRuleCreationFromFileReader() throws Exception {
         // given
@@ -143,6 +183,88 @@ public class MVELRuleFactoryTest {
         assertThat(rule.getPriority()).isEqualTo(1);
     }
 
+    @Test
+    public void testRulesCreationWithParallelCompilation() throws Exception {
+        // given
+        MVELRuleFactory factory = new MVELRuleFactory(fileExtension.equals("yml")
+                ? new YamlRuleDefinitionReader() : new JsonRuleDefinitionReader());
+        factory.setCompilationExecutor(ForkJoinPool.commonPool());
+        File rulesDescriptor = new File("src/test/resources/composite-rules." + fileExtension);
+
+        // when
+        Rules rules = factory.createRules(new FileReader(rulesDescriptor));
+
+        // then
+        assertThat(rules).extracting(Rule::getName).containsExactly("Movie id rule", "weather rule");
+        assertThat(rules.iterator().next()).isInstanceOf(UnitRuleGroup.class);
+    }
+
+    @Test
+    public void testRulesCreationWithParallelCompilation_shouldReportAllErrors() throws Exception {
+        // given
+        MVELRuleFactory factory = new MVELRuleFactory(new YamlRuleDefinitionReader());
+        factory.setCompilationExecutor(ForkJoinPool.commonPool());
+        String rulesDescriptor = "name: rule1\ncondition: \"x ==\"\nactions:\n  - \"y = 1;\"\n" +
+                "---\nname: rule2\ncondition: \"true\"\nactions:\n  - \"y = (;\"\n";
+
+        // when
+        Throwable throwable = Assertions.catchThrowable(() -> factory.createRules(new StringReader(rulesDescriptor)));
+
+        // then
+        assertThat(throwable).isInstanceOf(RuleCompilationException.class);
+        assertThat(((RuleCompilationException) throwable).getErrors())
+                .extracting(error -> error.getKey().getName()).containsExactly("rule1", "rule2");
+    }
+
+    @Test
+    public void testRulesCreationWithLazyCompilation() throws Exception {
+        // given
+        MVELRuleFactory factory = new MVELRuleFactory(new YamlRuleDefinitionReader());
+        factory.setCompilationMode(CompilationMode.LAZY);
+        String rulesDescriptor = "name: rule1\ncondition: \"x ==\"\nactions:\n  - \"y = 1;\"\n" +
+                "---\nname: rule2\ncondition: \"x == 1\"\nactions:\n  - \"y = 2;\"\n";
+        Rules rules = factory.createRules(new StringReader(rulesDescriptor));
+        Iterator<Rule> iterator = rules.iterator();
+        Rule invalidRule = iterator.next();
+        Rule validRule = iterator.next();
+        Facts facts = new Facts();
+        facts.put("x", 1);
+
+        // when
+        boolean evaluationResult = validRule.evaluate(facts);
+
+        // then
+        assertThat(evaluationResult).isTrue();
+        assertThatThrownBy(() -> invalidRule.evaluate(facts)).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    public void testRulesCreationWithValidatedLazyCompilation_shouldRejectInvalidExpressions() {
+        // given
+        MVELRuleFactory factory = new MVELRuleFactory(new YamlRuleDefinitionReader());
+        factory.setCompilationMode(CompilationMode.LAZY_VALIDATED);
+        String rulesDescriptor = "name: rule1\ncondition: \"x ==\"\nactions:\n  - \"y = 1;\"\n";
+
+        // when
+        Throwable throwable = Assertions.catchThrowable(() -> factory.createRules(new StringReader(rulesDescriptor)));
+
+        // then
+        assertThat(throwable).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    public void testRulesCreationWithValidatedLazyCompilation_shouldNotCacheValidatedExpressions() throws Exception {
+        // given
+        MVELRuleFactory factory = new MVELRuleFactory(new YamlRuleDefinitionReader());
+        factory.setCompilationMode(CompilationMode.LAZY_VALIDATED);
+
+        // when
+        factory.createRules(new FileReader("src/test/resources/rules.yml"));
+
+        // then
+        assertThat(factory.getExpressionCache().size()).isZero();
+    }
+
     @Test
     public void testRuleCreationFromFileReader_withInvalidCompositeRuleType() {
         // given
@@ -24,6 +24,8 @@
 package org.jeasy.rules.mvel;
 
 import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.Rules;
+import org.jeasy.rules.core.IncrementalInferenceRulesEngine;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -64,4 +66,48 @@ public class MVELRuleTest {
         // then
         assertThat(foo.isAdult()).isTrue();
     }
+
+    @Test
+    public void whenTheRuleDeclaresDependencies_thenItShouldNotBeReEvaluatedWhenOtherFactsChange() {
+        // given
+        EvaluationProbe probe = new EvaluationProbe();
+        facts.put("counter", 2);
+        facts.put("probe", probe);
+        MVELRule decrementRule = new MVELRule()
+                .name("decrement rule")
+                .priority(1)
+                .dependsOn("counter")
+                .when("counter > 0")
+                .then("counter = counter - 1;");
+        MVELRule probeRule = new MVELRule()
+                .name("probe rule")
+                .priority(2)
+                .requires("probe")
+                .dependsOn("probe")
+                .when("probe.evaluate()")
+                .then("probe.evaluate();");
+
+        // when
+        new IncrementalInferenceRulesEngine().fire(new Rules(decrementRule, probeRule), facts);
+
+        // then
+        assertThat((int) facts.get("counter")).isZero();
+        assertThat(probeRule.getDependencies()).containsExactly("probe");
+        // evaluated once only, since the rule does not depend on the "counter" fact
+        assertThat(probe.getEvaluations()).isEqualTo(1);
+    }
+
+    public static class EvaluationProbe {
+
+        private int evaluations;
+
+        public boolean evaluate() {
+            evaluations++;
+            return false;
+        }
+
+        public int getEvaluations() {
+            return evaluations;
+        }
+    }
 }
@@ -0,0 +1,526 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.processor;
+
+import org.jeasy.rules.annotation.Action;
+import org.jeasy.rules.annotation.Condition;
+import org.jeasy.rules.annotation.Fact;
+import org.jeasy.rules.annotation.Priority;
+import org.jeasy.rules.annotation.Rule;
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.core.RuleAdapter;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import static java.lang.String.format;
+
+/**
+ * Annotation processor that validates classes annotated with {@link Rule} at compile time
+ * and generates a {@link RuleAdapter} for each one of them.
+ *
+ * The processor applies the same checks as the runtime validation of annotated rules
+ * and reports violations as compilation errors. Generated adapters invoke the condition,
+ * action and priority methods of the rule object directly, and are picked up by
+ * {@link org.jeasy.rules.core.RuleProxy#asRule(Object)} (and therefore by
+ * {@link org.jeasy.rules.api.Rules#register(Object...)}) instead of dynamic proxies.
+ *
+ * Abstract, private and local rule classes are not adapted and are still proxied at runtime.
+ * Rule classes that already implement {@link org.jeasy.rules.api.Rule} are not adapted either.
+ * The processor only runs on compilations containing a class annotated with {@link Rule}:
+ * rule classes annotated with a meta-annotation, or inheriting {@link Rule} from their super
+ * class, are adapted when they are compiled together with such a class, and proxied otherwise.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+@SupportedAnnotationTypes("org.jeasy.rules.annotation.Rule")
+public class RuleAdapterProcessor extends AbstractProcessor {
+
+    private final Set<String> processedRules = new HashSet<>();
+    private Elements elements;
+    private Types types;
+    private Messager messager;
+    private TypeMirror factsType;
+    private TypeMirror ruleType;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.messager = processingEnv.getMessager();
+        this.factsType = elements.getTypeElement(Facts.class.getCanonicalName()).asType();
+        this.ruleType = elements.getTypeElement(org.jeasy.rules.api.Rule.class.getCanonicalName()).asType();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        List<TypeElement> ruleClasses = new ArrayList<>();
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            collectRuleClasses(type, ruleClasses);
+        }
+        for (TypeElement ruleClass : ruleClasses) {
+            if (processedRules.add(ruleClass.getQualifiedName().toString())) {
+                RuleDefinition ruleDefinition = validate(ruleClass);
+                if (ruleDefinition != null) {
+                    generateAdapter(ruleDefinition);
+                }
+            }
+        }
+        return false; // annotations may be claimed by other processors
+    }
+
+    private void collectRuleClasses(TypeElement type, List<TypeElement> ruleClasses) {
+        if (type.getKind() == ElementKind.CLASS && findRuleAnnotation(type) != null && isAdaptable(type)) {
+            ruleClasses.add(type);
+        }
+        for (TypeElement nestedType : ElementFilter.typesIn(type.getEnclosedElements())) {
+            collectRuleClasses(nestedType, ruleClasses);
+        }
+    }
+
+    private Rule findRuleAnnotation(TypeElement type) {
+        Rule rule = type.getAnnotation(Rule.class); // honours @Inherited
+        if (rule == null) {
+            for (AnnotationMirror annotationMirror : elements.getAllAnnotationMirrors(type)) {
+                rule = annotationMirror.getAnnotationType().asElement().getAnnotation(Rule.class);
+                if (rule != null) {
+                    break;
+                }
+            }
+        }
+        return rule;
+    }
+
+    private boolean isAdaptable(TypeElement type) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT) || types.isAssignable(type.asType(), ruleType)) {
+            return false; // objects implementing the Rule interface are used as is
+        }
+        Element element = type;
+        while (element.getKind().isClass() || element.getKind().isInterface()) {
+            TypeElement typeElement = (TypeElement) element;
+            if (typeElement.getModifiers().contains(Modifier.PRIVATE)
+                    || typeElement.getNestingKind() == NestingKind.LOCAL
+                    || typeElement.getNestingKind() == NestingKind.ANONYMOUS) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private RuleDefinition validate(TypeElement ruleClass) {
+        List<ExecutableElement> conditionMethods = new ArrayList<>();
+        List<ExecutableElement> actionMethods = new ArrayList<>();
+        List<ExecutableElement> priorityMethods = new ArrayList<>();
+        ExecutableElement compareToMethod = null;
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(ruleClass))) {
+            if (method.getAnnotation(Condition.class) != null) {
+                conditionMethods.add(method);
+            }
+            if (method.getAnnotation(Action.class) != null) {
+                actionMethods.add(method);
+            }
+            if (method.getAnnotation(Priority.class) != null) {
+                priorityMethods.add(method);
+            }
+            if (compareToMethod == null && method.getSimpleName().contentEquals("compareTo") && isPublic(method)) {
+                compareToMethod = method;
+            }
+        }
+
+        boolean valid = true;
+        if (conditionMethods.isEmpty()) {
+            error(ruleClass, "Rule '%s' must have a public method annotated with '%s'", ruleClass, Condition.class.getName());
+            valid = false;
+        } else if (conditionMethods.size() > 1) {
+            error(ruleClass, "Rule '%s' must have exactly one method annotated with '%s'", ruleClass, Condition.class.getName());
+            valid = false;
+        } else {
+            ExecutableElement conditionMethod = conditionMethods.get(0);
+            if (!isPublic(conditionMethod) || conditionMethod.getReturnType().getKind() != TypeKind.BOOLEAN || !hasValidParameters(conditionMethod)) {
+                error(conditionMethod, "Condition method '%s' defined in rule '%s' must be public, must return boolean type and may have parameters annotated with @Fact (and/or exactly one parameter of type Facts or one of its sub-types).", conditionMethod, ruleClass);
+                valid = false;
+            }
+        }
+
+        if (actionMethods.isEmpty()) {
+            error(ruleClass, "Rule '%s' must have at least one public method annotated with '%s'", ruleClass, Action.class.getName());
+            valid = false;
+        }
+        for (ExecutableElement actionMethod : actionMethods) {
+            if (!isPublic(actionMethod) || actionMethod.getReturnType().getKind() != TypeKind.VOID || !hasValidParameters(actionMethod)) {
+                error(actionMethod, "Action method '%s' defined in rule '%s' must be public, must return void type and may have parameters annotated with @Fact (and/or exactly one parameter of type Facts or one of its sub-types).", actionMethod, ruleClass);
+                valid = false;
+            }
+        }
+
+        if (priorityMethods.size() > 1) {
+            error(ruleClass, "Rule '%s' must have exactly one method annotated with '%s'", ruleClass, Priority.class.getName());
+            valid = false;
+        } else if (priorityMethods.size() == 1) {
+            ExecutableElement priorityMethod = priorityMethods.get(0);
+            if (!isPublic(priorityMethod) || priorityMethod.getReturnType().getKind() != TypeKind.INT || !priorityMethod.getParameters().isEmpty()) {
+                error(priorityMethod, "Priority method '%s' defined in rule '%s' must be public, have no parameters and return integer type.", priorityMethod, ruleClass);
+                valid = false;
+            }
+        }
+
+        if (compareToMethod != null && compareToMethod.getParameters().size() != 1) {
+            error(compareToMethod, "compareTo method defined in rule '%s' must have a single argument", ruleClass);
+            valid = false;
+        }
+
+        if (!valid) {
+            return null;
+        }
+        return new RuleDefinition(ruleClass, findRuleAnnotation(ruleClass), conditionMethods.get(0), sortActionMethods(actionMethods),
+                priorityMethods.isEmpty() ? null : priorityMethods.get(0), compareToMethod);
+    }
+
+    private boolean hasValidParameters(ExecutableElement method) {
+        int notAnnotatedParameterCount = 0;
+        for (VariableElement parameter : method.getParameters()) {
+            List<? extends AnnotationMirror> annotationMirrors = parameter.getAnnotationMirrors();
+            if (annotationMirrors.isEmpty()) {
+                notAnnotatedParameterCount += 1;
+                if (!types.isAssignable(parameter.asType(), factsType)) {
+                    return false;
+                }
+            } else if (annotationMirrors.size() > 1 || parameter.getAnnotation(Fact.class) == null) {
+                // annotation types has to be Fact
+                return false;
+            }
+        }
+        return notAnnotatedParameterCount <= 1;
+    }
+
+    // same order as RuleProxy: by order, then by name, then by parameter types
+    private List<ExecutableElement> sortActionMethods(List<ExecutableElement> actionMethods) {
+        List<ExecutableElement> sortedActionMethods = new ArrayList<>(actionMethods);
+        sortedActionMethods.sort(Comparator
+                .comparingInt((ExecutableElement method) -> method.getAnnotation(Action.class).order())
+                .thenComparing(method -> method.getSimpleName().toString())
+                .thenComparing(this::parameterTypes));
+        return sortedActionMethods;
+    }
+
+    // parameter types as returned by Class#getTypeName, so that actions are sorted like at runtime
+    private String parameterTypes(ExecutableElement method) {
+        StringJoiner parameterTypes = new StringJoiner(",");
+        for (VariableElement parameter : method.getParameters()) {
+            parameterTypes.add(runtimeTypeName(types.erasure(parameter.asType())));
+        }
+        return parameterTypes.toString();
+    }
+
+    private String runtimeTypeName(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return runtimeTypeName(((ArrayType) type).getComponentType()) + "[]";
+        }
+        if (type.getKind() == TypeKind.DECLARED) {
+            return elements.getBinaryName((TypeElement) types.asElement(type)).toString();
+        }
+        return type.toString();
+    }
+
+    private void generateAdapter(RuleDefinition ruleDefinition) {
+        TypeElement ruleClass = ruleDefinition.ruleClass;
+        String adapterClassName = RuleAdapter.adapterClassName(elements.getBinaryName(ruleClass).toString());
+        try {
+            JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(adapterClassName, ruleClass);
+            try (Writer writer = sourceFile.openWriter()) {
+                writer.write(new RuleAdapterWriter(ruleDefinition, adapterClassName).write());
+            }
+        } catch (IOException e) {
+            error(ruleClass, "Unable to generate rule adapter '%s': %s", adapterClassName, e.getMessage());
+        }
+    }
+
+    private static boolean isPublic(ExecutableElement method) {
+        return method.getModifiers().contains(Modifier.PUBLIC);
+    }
+
+    private void error(Element element, String message, Object... arguments) {
+        messager.printMessage(Diagnostic.Kind.ERROR, format(message, arguments), element);
+    }
+
+    private static final class RuleDefinition {
+
+        private final TypeElement ruleClass;
+        private final Rule annotation;
+        private final ExecutableElement conditionMethod;
+        private final List<ExecutableElement> actionMethods;
+        private final ExecutableElement priorityMethod;
+        private final ExecutableElement compareToMethod;
+
+        private RuleDefinition(TypeElement ruleClass, Rule annotation, ExecutableElement conditionMethod, List<ExecutableElement> actionMethods,
+                               ExecutableElement priorityMethod, ExecutableElement compareToMethod) {
+            this.ruleClass = ruleClass;
+            this.annotation = annotation;
+            this.conditionMethod = conditionMethod;
+            this.actionMethods = actionMethods;
+            this.priorityMethod = priorityMethod;
+            this.compareToMethod = compareToMethod;
+        }
+    }
+
+    private final class RuleAdapterWriter {
+
+        private final RuleDefinition ruleDefinition;
+        private final String packageName;
+        private final String simpleName;
+        private final String ruleClassName;
+        private final StringBuilder source = new StringBuilder();
+
+        private RuleAdapterWriter(RuleDefinition ruleDefinition, String adapterClassName) {
+            this.ruleDefinition = ruleDefinition;
+            PackageElement packageElement = elements.getPackageOf(ruleDefinition.ruleClass);
+            this.packageName = packageElement.getQualifiedName().toString();
+            this.simpleName = adapterClassName.substring(adapterClassName.lastIndexOf('.') + 1);
+            this.ruleClassName = typeName(ruleDefinition.ruleClass.asType());
+        }
+
+        private String write() {
+            if (!packageName.isEmpty()) {
+                line(0, "package %s;", packageName);
+                line(0, "");
+            }
+            line(0, "/**");
+            line(0, " * {@link %s} for rule {@link %s}.", RuleAdapter.class.getName(), ruleClassName);
+            line(0, " * Generated by %s, do not edit.", RuleAdapterProcessor.class.getName());
+            line(0, " */");
+            line(0, "@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+            line(0, "public final class %s extends %s<%s> {", simpleName, RuleAdapter.class.getName(), ruleClassName);
+            line(0, "");
+            writeConstructor();
+            writeDoEvaluate();
+            writeExecute();
+            if (conditionReadsFacts()) {
+                writeReadsUndeclaredFacts();
+            }
+            if (ruleDefinition.compareToMethod != null) {
+                writeCompareTo();
+            }
+            line(0, "}");
+            return source.toString();
+        }
+
+        private void writeConstructor() {
+            ExecutableElement priorityMethod = ruleDefinition.priorityMethod;
+            String thrownTypes = priorityMethod != null && !priorityMethod.getThrownTypes().isEmpty() ? " throws java.lang.Exception" : "";
+            String priority = priorityMethod != null
+                    ? format("target.%s()", priorityMethod.getSimpleName())
+                    : String.valueOf(ruleDefinition.annotation.priority());
+            StringBuilder requiredFacts = new StringBuilder();
+            Set<String> factNames = new LinkedHashSet<>();
+            for (VariableElement parameter : ruleDefinition.conditionMethod.getParameters()) {
+                Fact fact = parameter.getAnnotation(Fact.class);
+                if (fact != null && factNames.add(fact.value())) {
+                    requiredFacts.append(", ").append(literal(fact.value()));
+                }
+            }
+            line(1, "public %s(%s target)%s {", simpleName, ruleClassName, thrownTypes);
+            line(2, "super(target, %s, %s, %s%s);", literal(getName()), literal(getDescription()), priority, requiredFacts);
+            line(1, "}");
+            line(0, "");
+        }
+
+        private void writeDoEvaluate() {
+            ExecutableElement conditionMethod = ruleDefinition.conditionMethod;
+            List<? extends VariableElement> parameters = conditionMethod.getParameters();
+            List<String> arguments = new ArrayList<>();
+            line(1, "@Override");
+            line(1, "protected boolean doEvaluate(%s facts) throws java.lang.Exception {", Facts.class.getName());
+            for (int i = 0; i < parameters.size(); i++) {
+                VariableElement parameter = parameters.get(i);
+                String argument = "argument" + i;
+                Fact fact = parameter.getAnnotation(Fact.class);
+                if (fact == null && types.isSameType(parameter.asType(), factsType)) {
+                    arguments.add("facts");
+                    continue;
+                }
+                TypeMirror parameterType = parameter.asType();
+                line(2, "java.lang.Object %s = %s;", argument, fact == null ? "facts" : format("getFact(facts, %s)", literal(fact.value())));
+                if (parameterType.getKind().isPrimitive()) {
+                    line(2, "if (!isAssignable(%s, %s.class)) {", argument, parameterType);
+                } else {
+                    line(2, "if (!(%s instanceof %s)) {", argument, typeName(parameterType));
+                }
+                line(3, "return onParameterTypeMismatch(%s);", literal(conditionMethod.getSimpleName().toString()));
+                line(2, "}");
+                arguments.add(argument(parameterType, argument));
+            }
+            line(2, "return target.%s(%s);", conditionMethod.getSimpleName(), String.join(", ", arguments));
+            line(1, "}");
+            line(0, "");
+        }
+
+        private void writeExecute() {
+            line(1, "@Override");
+            line(1, "public void execute(%s facts) throws java.lang.Exception {", Facts.class.getName());
+            for (ExecutableElement actionMethod : ruleDefinition.actionMethods) {
+                List<String> arguments = new ArrayList<>();
+                for (VariableElement parameter : actionMethod.getParameters()) {
+                    Fact fact = parameter.getAnnotation(Fact.class);
+                    if (fact == null) {
+                        arguments.add(types.isSameType(parameter.asType(), factsType)
+                                ? "facts"
+                                : format("(%s) facts", typeName(parameter.asType())));
+                    } else {
+                        arguments.add(argument(parameter.asType(), format("getFact(facts, %s)", literal(fact.value()))));
+                    }
+                }
+                line(2, "target.%s(%s);", actionMethod.getSimpleName(), String.join(", ", arguments));
+            }
+            line(1, "}");
+            line(0, "");
+        }
+
+        private boolean conditionReadsFacts() {
+            for (VariableElement parameter : ruleDefinition.conditionMethod.getParameters()) {
+                if (parameter.getAnnotation(Fact.class) == null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void writeReadsUndeclaredFacts() {
+            line(1, "@Override");
+            line(1, "protected boolean readsUndeclaredFacts() {");
+            line(2, "return true;");
+            line(1, "}");
+            line(0, "");
+        }
+
+        private void writeCompareTo() {
+            ExecutableElement compareToMethod = ruleDefinition.compareToMethod;
+            String parameterType = typeName(compareToMethod.getParameters().get(0).asType());
+            line(1, "@Override");
+            line(1, "public int compareTo(%s otherRule) {", org.jeasy.rules.api.Rule.class.getName());
+            line(2, "java.lang.Object otherTarget = getTargetOf(otherRule);");
+            line(2, "if (otherTarget != null) {");
+            line(3, "return target.compareTo((%s) otherTarget);", parameterType);
+            line(2, "}");
+            line(2, "return super.compareTo(otherRule);");
+            line(1, "}");
+            line(0, "");
+        }
+
+        private String getName() {
+            String name = ruleDefinition.annotation.name();
+            return name.equals(org.jeasy.rules.api.Rule.DEFAULT_NAME)
+                    ? ruleDefinition.ruleClass.getSimpleName().toString()
+                    : name;
+        }
+
+        private String getDescription() {
+            String description = ruleDefinition.annotation.description();
+            if (!description.equals(org.jeasy.rules.api.Rule.DEFAULT_DESCRIPTION)) {
+                return description;
+            }
+            // Default description = "when " + conditionMethodName + " then " + comma separated actionMethodsNames
+            List<String> actionMethodNames = new ArrayList<>();
+            for (ExecutableElement actionMethod : ruleDefinition.actionMethods) {
+                actionMethodNames.add(actionMethod.getSimpleName().toString());
+            }
+            return "when " + ruleDefinition.conditionMethod.getSimpleName() + " then " + String.join(",", actionMethodNames);
+        }
+
+        private String typeName(TypeMirror type) {
+            return types.erasure(type).toString();
+        }
+
+        /*
+         * Facts injected in primitive parameters are unboxed and may be widened, like with reflective
+         * invocations (see RuleAdapter#isAssignable), so they are converted through Number when the
+         * parameter type is numeric and not only assignable from its own wrapper type.
+         */
+        private String argument(TypeMirror parameterType, String value) {
+            switch (parameterType.getKind()) {
+                case BOOLEAN:
+                case CHAR:
+                case BYTE:
+                    return format("(%s) %s", types.boxedClass((PrimitiveType) parameterType).getQualifiedName(), value);
+                case SHORT:
+                case INT:
+                case LONG:
+                case FLOAT:
+                case DOUBLE:
+                    return format("numberValue(%s).%sValue()", value, parameterType);
+                default:
+                    return format("(%s) %s", typeName(parameterType), value);
+            }
+        }
+
+        private String literal(String value) {
+            return elements.getConstantExpression(value);
+        }
+
+        private void line(int indentation, String format, Object... arguments) {
+            for (int i = 0; i < indentation; i++) {
+                source.append("    ");
+            }
+            source.append(format(format, arguments)).append('\n');
+        }
+    }
+
+}
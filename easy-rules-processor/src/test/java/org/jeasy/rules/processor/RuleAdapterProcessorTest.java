@@ -0,0 +1,252 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.processor;
+
+import org.jeasy.rules.core.RuleAdapter;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RuleAdapterProcessorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File outputDirectory;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    @Before
+    public void setUp() throws Exception {
+        outputDirectory = temporaryFolder.newFolder();
+        diagnostics = new DiagnosticCollector<>();
+    }
+
+    @Test
+    public void adapterShouldBeGeneratedForValidRule() throws Exception {
+        // given
+        String source = "package test;\n" +
+                "import org.jeasy.rules.annotation.*;\n" +
+                "import org.jeasy.rules.api.Facts;\n" +
+                "@Rule(name = \"my \\\"rule\\\"\")\n" +
+                "public class MyRule {\n" +
+                "    @Condition public boolean when(@Fact(\"age\") int age, Facts facts) { return age > 18; }\n" +
+                "    @Action public void then(@Fact(\"names\") java.util.List<String> names) { }\n" +
+                "}\n";
+
+        // when
+        boolean success = compile("test.MyRule", source);
+
+        // then
+        assertThat(success).isTrue();
+        Path adapter = outputDirectory.toPath().resolve(Paths.get("test", "MyRule_RuleAdapter.java"));
+        assertThat(adapter).exists();
+        String adapterSource = new String(Files.readAllBytes(adapter), UTF_8);
+        assertThat(adapterSource)
+                .contains("public final class MyRule_RuleAdapter extends " + RuleAdapter.class.getName() + "<test.MyRule>")
+                .contains("super(target, \"my \\\"rule\\\"\", \"when when then then\", 2147483646, \"age\");")
+                .contains("if (!isAssignable(argument0, int.class)) {")
+                .contains("return target.when(numberValue(argument0).intValue(), facts);")
+                .contains("target.then((java.util.List) getFact(facts, \"names\"));");
+        assertThat(outputDirectory.toPath().resolve(Paths.get("test", "MyRule_RuleAdapter.class"))).exists();
+    }
+
+    @Test
+    public void adapterShouldNotBeGeneratedForAbstractRule() throws Exception {
+        // given
+        String source = "package test;\n" +
+                "import org.jeasy.rules.annotation.*;\n" +
+                "@Rule\n" +
+                "public abstract class MyRule {\n" +
+                "    @Condition public boolean when() { return true; }\n" +
+                "    @Action public void then() { }\n" +
+                "}\n";
+
+        // when
+        boolean success = compile("test.MyRule", source);
+
+        // then
+        assertThat(success).isTrue();
+        assertThat(outputDirectory.toPath().resolve(Paths.get("test", "MyRule_RuleAdapter.java"))).doesNotExist();
+    }
+
+    @Test
+    public void ruleWithoutConditionMethodShouldNotCompile() throws Exception {
+        // given
+        String source = "package test;\n" +
+                "import org.jeasy.rules.annotation.*;\n" +
+                "@Rule\n" +
+                "public class MyRule {\n" +
+                "    @Action public void then() { }\n" +
+                "}\n";
+
+        // when
+        boolean success = compile("test.MyRule", source);
+
+        // then
+        assertThat(success).isFalse();
+        assertThat(errors()).containsExactly("Rule 'test.MyRule' must have a public method annotated with 'org.jeasy.rules.annotation.Condition'");
+    }
+
+    @Test
+    public void ruleWithConditionMethodHavingNonBooleanReturnTypeShouldNotCompile() throws Exception {
+        // given
+        String source = "package test;\n" +
+                "import org.jeasy.rules.annotation.*;\n" +
+                "@Rule\n" +
+                "public class MyRule {\n" +
+                "    @Condition public int when() { return 0; }\n" +
+                "    @Action public void then() { }\n" +
+                "}\n";
+
+        // when
+        boolean success = compile("test.MyRule", source);
+
+        // then
+        assertThat(success).isFalse();
+        assertThat(errors()).hasSize(1);
+        assertThat(errors().get(0)).startsWith("Condition method 'when()' defined in rule 'test.MyRule' must be public, must return boolean type");
+    }
+
+    @Test
+    public void ruleWithActionMethodHavingOneArgumentNotOfTypeFactsShouldNotCompile() throws Exception {
+        // given
+        String source = "package test;\n" +
+                "import org.jeasy.rules.annotation.*;\n" +
+                "@Rule\n" +
+                "public class MyRule {\n" +
+                "    @Condition public boolean when() { return true; }\n" +
+                "    @Action public void then(int i) { }\n" +
+                "}\n";
+
+        // when
+        boolean success = compile("test.MyRule", source);
+
+        // then
+        assertThat(success).isFalse();
+        assertThat(errors()).hasSize(1);
+        assertThat(errors().get(0)).startsWith("Action method 'then(int)' defined in rule 'test.MyRule' must be public, must return void type");
+    }
+
+    @Test
+    public void ruleWithNonPublicPriorityMethodShouldNotCompile() throws Exception {
+        // given
+        String source = "package test;\n" +
+                "import org.jeasy.rules.annotation.*;\n" +
+                "@Rule\n" +
+                "public class MyRule {\n" +
+                "    @Condition public boolean when() { return true; }\n" +
+                "    @Action public void then() { }\n" +
+                "    @Priority int getPriority() { return 1; }\n" +
+                "}\n";
+
+        // when
+        boolean success = compile("test.MyRule", source);
+
+        // then
+        assertThat(success).isFalse();
+        assertThat(errors()).containsExactly("Priority method 'getPriority()' defined in rule 'test.MyRule' must be public, have no parameters and return integer type.");
+    }
+
+    @Test
+    public void ruleWithCompareToMethodHavingIncorrectSignatureShouldNotCompile() throws Exception {
+        // given
+        String source = "package test;\n" +
+                "import org.jeasy.rules.annotation.*;\n" +
+                "@Rule\n" +
+                "public class MyRule {\n" +
+                "    @Condition public boolean when() { return true; }\n" +
+                "    @Action public void then() { }\n" +
+                "    public int compareTo() { return 0; }\n" +
+                "}\n";
+
+        // when
+        boolean success = compile("test.MyRule", source);
+
+        // then
+        assertThat(success).isFalse();
+        assertThat(errors()).containsExactly("compareTo method defined in rule 'test.MyRule' must have a single argument");
+    }
+
+    private boolean compile(String className, String source) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        JavaFileObject sourceFile = new SimpleJavaFileObject(
+                URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        List<String> options = Arrays.asList(
+                "-classpath", classpathOf(RuleAdapter.class, Logger.class),
+                "-d", outputDirectory.getPath(),
+                "-s", outputDirectory.getPath());
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, Collections.singletonList(sourceFile));
+        task.setProcessors(Collections.singletonList(new RuleAdapterProcessor()));
+        return task.call();
+    }
+
+    private List<String> errors() {
+        List<String> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(diagnostic.getMessage(null));
+            }
+        }
+        return errors;
+    }
+
+    private static String classpathOf(Class<?>... classes) {
+        List<String> entries = new ArrayList<>();
+        for (Class<?> type : classes) {
+            try {
+                entries.add(Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString());
+            } catch (Exception e) {
+                throw new IllegalStateException("Unable to locate " + type.getName(), e);
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+}
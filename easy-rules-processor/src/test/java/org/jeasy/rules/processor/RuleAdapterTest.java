@@ -0,0 +1,416 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.processor;
+
+import org.jeasy.rules.annotation.Action;
+import org.jeasy.rules.annotation.Condition;
+import org.jeasy.rules.annotation.Fact;
+import org.jeasy.rules.annotation.Priority;
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.Rule;
+import org.jeasy.rules.api.Rules;
+import org.jeasy.rules.api.RulesEngine;
+import org.jeasy.rules.core.DefaultRulesEngine;
+import org.jeasy.rules.core.RuleAdapter;
+import org.jeasy.rules.core.RuleProxy;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests of rule adapters generated by {@link RuleAdapterProcessor} for the rules
+ * declared in this class (test sources are compiled with the processor).
+ */
+public class RuleAdapterTest {
+
+    private Facts facts;
+
+    @Before
+    public void setUp() {
+        facts = new Facts();
+    }
+
+    @Test
+    public void asRuleShouldReturnGeneratedAdapter() {
+        // given
+        AgeRule ageRule = new AgeRule();
+
+        // when
+        Rule rule = RuleProxy.asRule(ageRule);
+
+        // then
+        assertThat(rule).isInstanceOf(RuleAdapter.class);
+        assertThat(rule.getClass().getName()).isEqualTo("org.jeasy.rules.processor.RuleAdapterTest__AgeRule_RuleAdapter");
+        assertThat(rule.toString()).isEqualTo(ageRule.toString());
+    }
+
+    @Test
+    public void generatedAdapterShouldUseDefaultNameAndDescriptionAndPriorityMethod() {
+        // when
+        Rule rule = RuleProxy.asRule(new AgeRule());
+
+        // then
+        assertThat(rule.getName()).isEqualTo("AgeRule");
+        assertThat(rule.getDescription()).isEqualTo("when isAdult then log,markAsAdult");
+        assertThat(rule.getPriority()).isEqualTo(2);
+        assertThat(rule.getRequiredFacts()).containsExactly("age");
+        assertThat(rule.getDependencies()).containsExactly("age");
+    }
+
+    @Test
+    public void generatedAdapterShouldUseRuleAnnotationAttributes() {
+        // when
+        Rule rule = RuleProxy.asRule(new WeatherRule());
+
+        // then
+        assertThat(rule.getName()).isEqualTo("weather rule");
+        assertThat(rule.getDescription()).isEqualTo("if it rains then take an umbrella");
+        assertThat(rule.getPriority()).isEqualTo(1);
+    }
+
+    @Test
+    public void generatedAdapterShouldEvaluateCondition() {
+        // given
+        Rule rule = RuleProxy.asRule(new AgeRule());
+
+        // when
+        facts.put("age", 18);
+        boolean adult = rule.evaluate(facts);
+        facts.put("age", 17);
+        boolean notAdult = rule.evaluate(facts);
+
+        // then
+        assertThat(adult).isTrue();
+        assertThat(notAdult).isFalse();
+    }
+
+    @Test
+    public void generatedAdapterShouldEvaluateToFalseWhenAFactIsMissing() {
+        // given
+        Rule rule = RuleProxy.asRule(new AgeRule());
+
+        // when
+        boolean evaluationResult = rule.evaluate(facts);
+
+        // then
+        assertThat(evaluationResult).isFalse();
+    }
+
+    @Test
+    public void generatedAdapterShouldEvaluateToFalseWhenAFactTypeDoesNotMatch() {
+        // given
+        Rule rule = RuleProxy.asRule(new AgeRule());
+        facts.put("age", "18");
+
+        // when
+        boolean evaluationResult = rule.evaluate(facts);
+
+        // then
+        assertThat(evaluationResult).isFalse();
+    }
+
+    @Test
+    public void generatedAdapterShouldExecuteActionsInOrder() throws Exception {
+        // given
+        AgeRule ageRule = new AgeRule();
+        Rule rule = RuleProxy.asRule(ageRule);
+        facts.put("name", "foo");
+
+        // when
+        rule.execute(facts);
+
+        // then
+        assertThat(ageRule.executedActions).containsExactly("log foo", "markAsAdult");
+        assertThat(facts.<Boolean>get("adult")).isTrue();
+    }
+
+    @Test
+    public void generatedAdapterShouldPropagateActionExceptions() {
+        // given
+        Rule rule = RuleProxy.asRule(new WeatherRule());
+
+        // when, then
+        assertThatThrownBy(() -> rule.execute(facts))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("no umbrella");
+    }
+
+    @Test
+    public void generatedAdapterShouldUseCompareToMethodOfRule() {
+        // given
+        Rule rule1 = RuleProxy.asRule(new ComparableRule(1));
+        Rule rule2 = RuleProxy.asRule(new ComparableRule(2));
+        Rule rule3 = RuleProxy.asRule(new ComparableRule(2));
+
+        // when, then
+        assertThat(rule1.compareTo(rule2)).isEqualTo(-1);
+        assertThat(rule2.compareTo(rule1)).isEqualTo(1);
+        assertThat(rule2.compareTo(rule3)).isEqualTo(0);
+    }
+
+    @Test
+    public void adaptersShouldBeGeneratedForMetaAnnotatedAndInheritedRules() {
+        // when
+        Rule metaAnnotatedRule = RuleProxy.asRule(new MetaAnnotatedRule());
+        Rule inheritedRule = RuleProxy.asRule(new ChildRule());
+
+        // then
+        assertThat(metaAnnotatedRule).isInstanceOf(RuleAdapter.class);
+        assertThat(metaAnnotatedRule.getName()).isEqualTo("meta rule");
+        assertThat(inheritedRule).isInstanceOf(RuleAdapter.class);
+        assertThat(inheritedRule.getName()).isEqualTo("ChildRule");
+        assertThat(inheritedRule.evaluate(facts)).isTrue();
+    }
+
+    @Test
+    public void privateRulesShouldStillBeProxied() {
+        // when
+        Rule rule = RuleProxy.asRule(new PrivateRule());
+
+        // then
+        assertThat(Proxy.isProxyClass(rule.getClass())).isTrue();
+    }
+
+    @Test
+    public void generatedAdapterShouldWidenPrimitiveFactsLikeProxies() {
+        // given
+        Rule adapter = RuleProxy.asRule(new AmountRule());
+        Rule proxy = RuleProxy.asRule(new ProxiedAmountRule() { });
+        facts.put("amount", 42);
+
+        // when
+        boolean adapterEvaluationResult = adapter.evaluate(facts);
+        boolean proxyEvaluationResult = proxy.evaluate(facts);
+
+        // then
+        assertThat(adapter).isInstanceOf(RuleAdapter.class);
+        assertThat(Proxy.isProxyClass(proxy.getClass())).isTrue();
+        assertThat(adapterEvaluationResult).isTrue();
+        assertThat(proxyEvaluationResult).isTrue();
+    }
+
+    @Test
+    public void generatedAdapterShouldSortActionsHavingTheSameOrderLikeProxies() throws Exception {
+        // given
+        AmountRule amountRule = new AmountRule();
+        Rule adapter = RuleProxy.asRule(amountRule);
+        Rule proxy = RuleProxy.asRule(new ProxiedAmountRule() { });
+
+        // when
+        adapter.execute(facts);
+
+        // then
+        assertThat(amountRule.executedActions).containsExactly("alpha", "zeta");
+        assertThat(adapter.getDescription()).isEqualTo("when hasAmount then alpha,zeta");
+        assertThat(proxy.getDescription()).isEqualTo(adapter.getDescription());
+    }
+
+    @Test
+    public void adapterClassNamesShouldNotCollide() {
+        assertThat(RuleAdapter.adapterClassName("test.A_B")).isEqualTo("test.A_1B_RuleAdapter");
+        assertThat(RuleAdapter.adapterClassName("test.A$B")).isEqualTo("test.A__B_RuleAdapter");
+    }
+
+    @Test
+    public void generatedAdaptersShouldBeFiredByRulesEngine() {
+        // given
+        AgeRule ageRule = new AgeRule();
+        Rules rules = new Rules();
+        rules.register(ageRule);
+        RulesEngine rulesEngine = new DefaultRulesEngine();
+        facts.put("age", 30);
+        facts.put("name", "foo");
+
+        // when
+        rulesEngine.fire(rules, facts);
+
+        // then
+        assertThat(rules.iterator().next()).isInstanceOf(RuleAdapter.class);
+        assertThat(ageRule.executedActions).containsExactly("log foo", "markAsAdult");
+        assertThat(facts.<Boolean>get("adult")).isTrue();
+    }
+
+    @org.jeasy.rules.annotation.Rule
+    static class AgeRule {
+
+        private final List<String> executedActions = new ArrayList<>();
+
+        @Condition
+        public boolean isAdult(@Fact("age") int age) {
+            return age >= 18;
+        }
+
+        @Action(order = 1)
+        public void markAsAdult(Facts facts) {
+            executedActions.add("markAsAdult");
+            facts.put("adult", true);
+        }
+
+        @Action
+        public void log(@Fact("name") String name) {
+            executedActions.add("log " + name);
+        }
+
+        @Priority
+        public int getPriority() {
+            return 2;
+        }
+    }
+
+    @org.jeasy.rules.annotation.Rule
+    static class AmountRule {
+
+        private final List<String> executedActions = new ArrayList<>();
+
+        @Condition
+        public boolean hasAmount(@Fact("amount") long amount) {
+            return amount > 0;
+        }
+
+        @Action
+        public void zeta() {
+            executedActions.add("zeta");
+        }
+
+        @Action
+        public void alpha() {
+            executedActions.add("alpha");
+        }
+    }
+
+    // abstract rules are not adapted, anonymous sub-classes are proxied
+    @org.jeasy.rules.annotation.Rule(name = "AmountRule")
+    public abstract static class ProxiedAmountRule {
+
+        @Condition
+        public boolean hasAmount(@Fact("amount") long amount) {
+            return amount > 0;
+        }
+
+        @Action
+        public void zeta() {
+        }
+
+        @Action
+        public void alpha() {
+        }
+    }
+
+    @org.jeasy.rules.annotation.Rule(name = "weather rule", description = "if it rains then take an umbrella", priority = 1)
+    static class WeatherRule {
+
+        @Condition
+        public boolean itRains(@Fact("rain") boolean rain) {
+            return rain;
+        }
+
+        @Action
+        public void takeAnUmbrella() {
+            throw new IllegalStateException("no umbrella");
+        }
+    }
+
+    @org.jeasy.rules.annotation.Rule
+    static class ComparableRule implements Comparable<ComparableRule> {
+
+        private final int comparisonCriteria;
+
+        ComparableRule(int comparisonCriteria) {
+            this.comparisonCriteria = comparisonCriteria;
+        }
+
+        @Condition
+        public boolean when() {
+            return true;
+        }
+
+        @Action
+        public void then() {
+        }
+
+        @Override
+        public int compareTo(ComparableRule otherRule) {
+            return Integer.compare(comparisonCriteria, otherRule.comparisonCriteria);
+        }
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @org.jeasy.rules.annotation.Rule(name = "meta rule")
+    @interface MetaRule {
+    }
+
+    @MetaRule
+    static class MetaAnnotatedRule {
+
+        @Condition
+        public boolean when() {
+            return true;
+        }
+
+        @Action
+        public void then() {
+        }
+    }
+
+    @org.jeasy.rules.annotation.Rule
+    abstract static class BaseRule {
+
+        @Condition
+        public boolean when() {
+            return true;
+        }
+
+        @Action
+        public void then() {
+        }
+    }
+
+    static class ChildRule extends BaseRule {
+    }
+
+    @org.jeasy.rules.annotation.Rule
+    private static class PrivateRule {
+
+        @Condition
+        public boolean when() {
+            return true;
+        }
+
+        @Action
+        public void then() {
+        }
+    }
+
+}
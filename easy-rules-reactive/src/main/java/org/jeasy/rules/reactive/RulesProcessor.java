@@ -0,0 +1,383 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.reactive;
+
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.FireOutcome;
+import org.jeasy.rules.api.Rules;
+import org.jeasy.rules.api.RulesEngine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Flow.Processor} firing a rule set on each facts of a stream, and publishing
+ * the outcome of each fire to a single subscriber.
+ *
+ * Facts are fired concurrently on an executor, with at most <code>maxInFlight</code> facts
+ * requested from upstream, being fired or waiting for downstream demand at any time: facts
+ * are only requested from upstream when the processor has capacity for them, so that no
+ * unbounded buffer is needed. Outcomes are published in completion order.
+ *
+ * Outcomes can also be passed by batches to a listener (see {@link #onOutcomes(int, Consumer)}),
+ * which avoids a callback per outcome for listeners such as metrics or audit writers.
+ *
+ * Since facts are fired concurrently, the rules engine, its listeners and the rules must
+ * be thread-safe, and the rule set must not be modified while facts are processed.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class RulesProcessor implements Flow.Processor<Facts, FireOutcome> {
+
+    private final RulesEngine rulesEngine;
+    private final Rules rules;
+    private final Executor executor;
+    private final int maxInFlight;
+
+    private final Lock lock = new ReentrantLock();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private final Queue<FireOutcome> outcomes = new ArrayDeque<>();
+
+    // guarded by lock
+    private Flow.Subscription upstream;
+    private Flow.Subscriber<? super FireOutcome> downstream;
+    private boolean subscribed;
+    private long demand;
+    private long upstreamPending;
+    private int inFlight;
+    private long nextIndex;
+    private boolean upstreamDone;
+    private Throwable upstreamError;
+    private boolean cancelled;
+    private boolean terminated;
+
+    // only accessed when draining
+    private int notificationBatchSize;
+    private Consumer<List<FireOutcome>> outcomesListener;
+    private List<FireOutcome> notificationBatch = new ArrayList<>();
+
+    /**
+     * Create a new {@link RulesProcessor} firing facts in the {@link ForkJoinPool#commonPool() common pool},
+     * with at most as many facts in flight as the parallelism of the common pool.
+     *
+     * @param rulesEngine firing rules
+     * @param rules to fire
+     */
+    public RulesProcessor(final RulesEngine rulesEngine, final Rules rules) {
+        this(rulesEngine, rules, ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Create a new {@link RulesProcessor}.
+     *
+     * @param rulesEngine firing rules
+     * @param rules to fire
+     * @param executor firing facts
+     * @param maxInFlight maximum number of facts requested from upstream, being fired or waiting for downstream demand
+     */
+    public RulesProcessor(final RulesEngine rulesEngine, final Rules rules, final Executor executor, final int maxInFlight) {
+        this.rulesEngine = Objects.requireNonNull(rulesEngine, "Rules engine must not be null");
+        this.rules = Objects.requireNonNull(rules, "Rules must not be null");
+        this.executor = Objects.requireNonNull(executor, "Executor must not be null");
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Max in flight must be greater than zero");
+        }
+        this.maxInFlight = maxInFlight;
+        // compile the rule set once before sharing it with workers
+        rules.compile();
+    }
+
+    /**
+     * Pass outcomes to the given listener by batches of the given size. Remaining outcomes are
+     * passed to the listener when the stream is completed. The listener is never called concurrently.
+     * This method must be called before subscribing to this processor.
+     *
+     * @param batchSize number of outcomes per notification
+     * @param listener of outcomes
+     * @return this processor
+     */
+    public RulesProcessor onOutcomes(final int batchSize, final Consumer<List<FireOutcome>> listener) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be greater than zero");
+        }
+        this.notificationBatchSize = batchSize;
+        this.outcomesListener = Objects.requireNonNull(listener, "Listener must not be null");
+        return this;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super FireOutcome> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber must not be null");
+        boolean accepted;
+        lock.lock();
+        try {
+            accepted = downstream == null;
+            if (accepted) {
+                downstream = subscriber;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (!accepted) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) { }
+
+                @Override
+                public void cancel() { }
+            });
+            subscriber.onError(new IllegalStateException("This processor supports a single subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new DownstreamSubscription());
+        lock.lock();
+        try {
+            subscribed = true;
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "Subscription must not be null");
+        boolean cancel;
+        lock.lock();
+        try {
+            cancel = upstream != null || cancelled;
+            if (upstream == null) {
+                upstream = subscription;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (cancel) {
+            subscription.cancel();
+            return;
+        }
+        drain();
+    }
+
+    @Override
+    public void onNext(final Facts facts) {
+        Objects.requireNonNull(facts, "Facts must not be null");
+        long index;
+        lock.lock();
+        try {
+            if (upstreamPending > 0) {
+                upstreamPending--;
+            }
+            inFlight++;
+            index = nextIndex++;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            executor.execute(() -> completed(fire(index, facts)));
+        } catch (RuntimeException e) {
+            completed(new FireOutcome(index, facts, e));
+        }
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        Objects.requireNonNull(throwable, "Throwable must not be null");
+        lock.lock();
+        try {
+            upstreamDone = true;
+            upstreamError = throwable;
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        lock.lock();
+        try {
+            upstreamDone = true;
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    private FireOutcome fire(final long index, final Facts facts) {
+        try {
+            rulesEngine.fire(rules, facts);
+            return new FireOutcome(index, facts, null);
+        } catch (RuntimeException e) {
+            return new FireOutcome(index, facts, e);
+        }
+    }
+
+    private void completed(final FireOutcome outcome) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (!cancelled) {
+                outcomes.add(outcome);
+            }
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    /**
+     * Deliver outcomes, terminate the downstream subscriber and request facts from upstream.
+     * Draining is serialized: a thread requesting a drain while another thread is draining
+     * makes the draining thread loop once more.
+     */
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        while (true) {
+            FireOutcome outcome = null;
+            boolean terminate = false;
+            Throwable error = null;
+            long toRequest = 0;
+            Flow.Subscription subscription = null;
+            lock.lock();
+            try {
+                if (subscribed && !cancelled && !terminated) {
+                    if (demand > 0 && !outcomes.isEmpty()) {
+                        outcome = outcomes.remove();
+                        demand--;
+                    } else if (upstreamDone && inFlight == 0 && outcomes.isEmpty()) {
+                        terminated = true;
+                        terminate = true;
+                        error = upstreamError;
+                    } else if (!upstreamDone && upstream != null) {
+                        toRequest = maxInFlight - inFlight - outcomes.size() - upstreamPending;
+                        if (toRequest > 0) {
+                            upstreamPending += toRequest;
+                            subscription = upstream;
+                        }
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (outcome != null) {
+                notifyListener(outcome);
+                downstream.onNext(outcome);
+                continue;
+            }
+            if (terminate) {
+                flushListener();
+                if (error != null) {
+                    downstream.onError(error);
+                } else {
+                    downstream.onComplete();
+                }
+            } else if (subscription != null) {
+                subscription.request(toRequest);
+            }
+            missed = drainRequests.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private void notifyListener(final FireOutcome outcome) {
+        if (outcomesListener != null) {
+            notificationBatch.add(outcome);
+            if (notificationBatch.size() >= notificationBatchSize) {
+                flushListener();
+            }
+        }
+    }
+
+    private void flushListener() {
+        if (outcomesListener != null && !notificationBatch.isEmpty()) {
+            List<FireOutcome> batch = notificationBatch;
+            notificationBatch = new ArrayList<>();
+            outcomesListener.accept(batch);
+        }
+    }
+
+    private class DownstreamSubscription implements Flow.Subscription {
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                boolean terminate;
+                lock.lock();
+                try {
+                    terminate = !terminated;
+                    terminated = true;
+                } finally {
+                    lock.unlock();
+                }
+                cancel();
+                if (terminate) {
+                    downstream.onError(new IllegalArgumentException("Requested number of outcomes must be positive"));
+                }
+                return;
+            }
+            lock.lock();
+            try {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            } finally {
+                lock.unlock();
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            Flow.Subscription subscription;
+            lock.lock();
+            try {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+                outcomes.clear();
+                subscription = upstream;
+            } finally {
+                lock.unlock();
+            }
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.reactive;
+
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.FireOutcome;
+import org.jeasy.rules.api.Rules;
+import org.jeasy.rules.core.DefaultRulesEngine;
+import org.jeasy.rules.core.RuleBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RulesProcessorTest {
+
+    private ExecutorService executor;
+    private Rules rules;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        rules = new Rules(new RuleBuilder()
+                .name("double rule")
+                .when(facts -> facts.get("value") != null)
+                .then(facts -> facts.put("result", 2 * (int) facts.get("value")))
+                .build());
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void allFactsShouldBeFiredAndPublished() throws Exception {
+        // given
+        RulesProcessor processor = new RulesProcessor(new DefaultRulesEngine(), rules, executor, 4);
+        TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+
+        // when
+        try (SubmissionPublisher<Facts> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            for (int i = 0; i < 100; i++) {
+                publisher.submit(facts(i));
+            }
+        }
+
+        // then
+        assertThat(subscriber.awaitTermination()).isTrue();
+        assertThat(subscriber.error).isNull();
+        assertThat(subscriber.outcomes).hasSize(100).allMatch(FireOutcome::isSuccessful);
+        assertThat(subscriber.outcomes.stream().map(FireOutcome::getIndex).collect(Collectors.toSet()))
+                .isEqualTo(LongStream.range(0, 100).boxed().collect(Collectors.toSet()));
+        assertThat(subscriber.outcomes)
+                .allMatch(outcome -> (int) outcome.getFacts().get("result") == 2 * (int) outcome.getFacts().get("value"));
+    }
+
+    @Test
+    public void factsShouldBeRequestedAccordingToDownstreamDemand() throws Exception {
+        // given
+        RulesProcessor processor = new RulesProcessor(new DefaultRulesEngine(), rules, executor, 2);
+        CountingPublisher publisher = new CountingPublisher();
+        TestSubscriber subscriber = new TestSubscriber(0);
+        processor.subscribe(subscriber);
+
+        // when
+        publisher.subscribe(processor);
+        publisher.emit(2);
+
+        // then
+        // the processor has no capacity left until outcomes are requested downstream
+        Thread.sleep(100);
+        assertThat(publisher.requested.get()).isEqualTo(2);
+        assertThat(subscriber.outcomes).isEmpty();
+
+        // when
+        subscriber.request(1);
+
+        // then
+        subscriber.awaitOutcomes(1);
+        assertThat(publisher.requested.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void outcomesShouldBePassedToListenerByBatches() throws Exception {
+        // given
+        List<List<FireOutcome>> notifications = new CopyOnWriteArrayList<>();
+        RulesProcessor processor = new RulesProcessor(new DefaultRulesEngine(), rules, executor, 4)
+                .onOutcomes(3, notifications::add);
+        TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+
+        // when
+        try (SubmissionPublisher<Facts> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            for (int i = 0; i < 10; i++) {
+                publisher.submit(facts(i));
+            }
+        }
+
+        // then
+        assertThat(subscriber.awaitTermination()).isTrue();
+        assertThat(notifications.stream().map(List::size).collect(Collectors.toList())).containsExactly(3, 3, 3, 1);
+    }
+
+    @Test
+    public void upstreamErrorShouldBePublishedAfterInFlightOutcomes() throws Exception {
+        // given
+        RulesProcessor processor = new RulesProcessor(new DefaultRulesEngine(), rules, executor, 4);
+        TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+        SubmissionPublisher<Facts> publisher = new SubmissionPublisher<>();
+        publisher.subscribe(processor);
+
+        // when
+        publisher.submit(facts(1));
+        publisher.closeExceptionally(new IllegalStateException("stream failure"));
+
+        // then
+        assertThat(subscriber.awaitTermination()).isTrue();
+        assertThat(subscriber.error).isInstanceOf(IllegalStateException.class).hasMessage("stream failure");
+    }
+
+    @Test
+    public void onlyOneSubscriberShouldBeAccepted() throws Exception {
+        // given
+        RulesProcessor processor = new RulesProcessor(new DefaultRulesEngine(), rules, executor, 4);
+        processor.subscribe(new TestSubscriber(0));
+        TestSubscriber secondSubscriber = new TestSubscriber(0);
+
+        // when
+        processor.subscribe(secondSubscriber);
+
+        // then
+        assertThat(secondSubscriber.awaitTermination()).isTrue();
+        assertThat(secondSubscriber.error).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static Facts facts(int value) {
+        Facts facts = new Facts();
+        facts.put("value", value);
+        return facts;
+    }
+
+    static class TestSubscriber implements Flow.Subscriber<FireOutcome> {
+
+        private final long initialRequest;
+        private final List<FireOutcome> outcomes = new CopyOnWriteArrayList<>();
+        private final CountDownLatch terminated = new CountDownLatch(1);
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable error;
+
+        TestSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(FireOutcome outcome) {
+            outcomes.add(outcome);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            terminated.countDown();
+        }
+
+        void request(long n) {
+            subscription.request(n);
+        }
+
+        boolean awaitTermination() throws InterruptedException {
+            return terminated.await(5, TimeUnit.SECONDS);
+        }
+
+        void awaitOutcomes(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (outcomes.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    static class CountingPublisher implements Flow.Publisher<Facts> {
+
+        private final AtomicLong requested = new AtomicLong();
+        private Flow.Subscriber<? super Facts> subscriber;
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Facts> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    requested.addAndGet(n);
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        }
+
+        void emit(int count) {
+            for (int i = 0; i < count; i++) {
+                subscriber.onNext(facts(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.spel;
+
+import org.jeasy.rules.api.Facts;
+import org.springframework.expression.BeanResolver;
+import org.springframework.expression.ConstructorResolver;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypeConverter;
+import org.springframework.expression.TypeLocator;
+import org.springframework.expression.spel.support.ReflectiveConstructorResolver;
+import org.springframework.expression.spel.support.ReflectiveMethodResolver;
+import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.expression.spel.support.StandardTypeConverter;
+import org.springframework.expression.spel.support.StandardTypeLocator;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link StandardEvaluationContext} backed by {@link Facts}. Facts are not copied:
+ * the root object is a read-only view of facts (see {@link Facts#asMapView()}) and
+ * variables are looked up in facts when they are not defined in the context.
+ *
+ * When created with {@code writeFacts} set to true, assigning a variable having
+ * the name of an existing fact updates the fact. Other variables are local to
+ * the context.
+ *
+ * Property accessors, constructor and method resolvers, the type locator and the type
+ * converter are thread-safe and shared by all contexts, so that reflection caches of
+ * property accessors are kept between evaluations instead of being rebuilt for each
+ * context.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+class FactsEvaluationContext extends StandardEvaluationContext {
+
+    private static final List<PropertyAccessor> PROPERTY_ACCESSORS =
+            Collections.singletonList(new ReflectivePropertyAccessor());
+    private static final List<ConstructorResolver> CONSTRUCTOR_RESOLVERS =
+            Collections.singletonList(new ReflectiveConstructorResolver());
+    private static final List<MethodResolver> METHOD_RESOLVERS =
+            Collections.singletonList(new ReflectiveMethodResolver());
+    private static final TypeLocator TYPE_LOCATOR = new StandardTypeLocator();
+    private static final TypeConverter TYPE_CONVERTER = new StandardTypeConverter();
+
+    private final Facts facts;
+    private final boolean writeFacts;
+
+    FactsEvaluationContext(Facts facts, boolean writeFacts, BeanResolver beanResolver) {
+        super(facts.asMapView());
+        this.facts = facts;
+        this.writeFacts = writeFacts;
+        setPropertyAccessors(PROPERTY_ACCESSORS);
+        setConstructorResolvers(CONSTRUCTOR_RESOLVERS);
+        setMethodResolvers(METHOD_RESOLVERS);
+        setTypeLocator(TYPE_LOCATOR);
+        setTypeConverter(TYPE_CONVERTER);
+        if (beanResolver != null) {
+            setBeanResolver(beanResolver);
+        }
+    }
+
+    @Override
+    public void setVariable(String name, Object value) {
+        if (writeFacts && name != null && facts.getFact(name) != null) {
+            if (value != null) {
+                facts.put(name, value);
+            } else {
+                facts.remove(name);
+            }
+        } else {
+            super.setVariable(name, value);
+        }
+    }
+
+    @Override
+    public Object lookupVariable(String name) {
+        Object variable = super.lookupVariable(name);
+        return variable != null ? variable : facts.get(name);
+    }
+}
@@ -25,24 +25,27 @@ package org.jeasy.rules.spel;
 
 import org.jeasy.rules.api.Action;
 import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.support.expression.CompilableExpression;
+import org.jeasy.rules.support.expression.CompilationMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.expression.BeanResolver;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
-import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.ParserContext;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.expression.spel.SpelCompilerMode;
 
 /**
  * This class is an implementation of {@link Action} that uses
  * <a href="https://docs.spring.io/spring/docs/current/spring-framework-reference/core.html#expressions">SpEL</a>
  * to execute the action.
  *
- * Each fact is set as a variable in the {@link org.springframework.expression.EvaluationContext}.
+ * Each fact is available as a variable in the {@link org.springframework.expression.EvaluationContext}.
  *
- * The facts map is set as the root object of the {@link org.springframework.expression.EvaluationContext}.
+ * A read-only view of facts is set as the root object of the {@link org.springframework.expression.EvaluationContext}.
+ * Facts are not copied for each execution. Assigning a variable having the name
+ * of an existing fact updates the fact.
  *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
@@ -50,10 +53,8 @@ public class SpELAction implements Action {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SpELAction.class);
 
-    private final ExpressionParser parser = new SpelExpressionParser();
-    private final String expression;
-    private final Expression compiledExpression;
-    private BeanResolver beanResolver;
+    private final CompilableExpression<Expression> compiledExpression;
+    private final BeanResolver beanResolver;
 
     /**
      * Create a new {@link SpELAction}.
@@ -81,8 +82,7 @@ public class SpELAction implements Action {
      * @param parserContext the SpEL parser context
      */
     public SpELAction(String expression, ParserContext parserContext) {
-        this.expression = expression;
-        compiledExpression = parser.parseExpression(expression, parserContext);
+        this(expression, parserContext, null);
     }
 
     /**
@@ -93,23 +93,47 @@ public class SpELAction implements Action {
      * @param parserContext the SpEL parser context
      */
     public SpELAction(String expression, ParserContext parserContext, BeanResolver beanResolver) {
-        this.expression = expression;
+        this(expression, parserContext, beanResolver, CompilationMode.EAGER);
+    }
+
+    /**
+     * Create a new {@link SpELAction}.
+     *
+     * @param expression      the action written in expression language
+     * @param parserContext   the SpEL parser context
+     * @param beanResolver    the bean resolver used to resolve bean references, may be null
+     * @param compilationMode defining when the expression is compiled
+     */
+    public SpELAction(String expression, ParserContext parserContext, BeanResolver beanResolver, CompilationMode compilationMode) {
+        this(expression, parserContext, beanResolver, compilationMode, null);
+    }
+
+    /**
+     * Create a new {@link SpELAction}. With {@link SpelCompilerMode#IMMEDIATE} or {@link SpelCompilerMode#MIXED},
+     * the expression is compiled to bytecode once it has been interpreted, when SpEL supports compiling it.
+     *
+     * @param expression      the action written in expression language
+     * @param parserContext   the SpEL parser context
+     * @param beanResolver    the bean resolver used to resolve bean references, may be null
+     * @param compilationMode defining when the expression is compiled
+     * @param compilerMode    the SpEL compiler mode, or null to use the mode configured with
+     *                        the {@code spring.expression.compiler.mode} system property
+     */
+    public SpELAction(String expression, ParserContext parserContext, BeanResolver beanResolver, CompilationMode compilationMode,
+              SpelCompilerMode compilerMode) {
         this.beanResolver = beanResolver;
-        compiledExpression = parser.parseExpression(expression, parserContext);
+        compiledExpression = CompilableExpression.of(expression,
+                source -> SpELExpressionCompiler.compile(source, parserContext, compilerMode),
+                source -> SpELExpressionCompiler.validate(source, parserContext, compilerMode), compilationMode);
     }
 
     @Override
     public void execute(Facts facts) {
         try {
-            StandardEvaluationContext context = new StandardEvaluationContext();
-            context.setRootObject(facts.asMap());
-            context.setVariables(facts.asMap());
-            if (beanResolver != null) {
-                context.setBeanResolver(beanResolver);
-            }
-            compiledExpression.getValue(context);
+            EvaluationContext context = new FactsEvaluationContext(facts, true, beanResolver);
+            compiledExpression.get().getValue(context);
         } catch (Exception e) {
-            LOGGER.error("Unable to evaluate expression: '" + expression + "' on facts: " + facts, e);
+            LOGGER.error("Unable to evaluate expression: '" + compiledExpression.getExpression() + "' on facts: " + facts, e);
             throw e;
         }
     }
@@ -25,30 +25,31 @@ package org.jeasy.rules.spel;
 
 import org.jeasy.rules.api.Condition;
 import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.support.expression.CompilableExpression;
+import org.jeasy.rules.support.expression.CompilationMode;
 
 import org.springframework.expression.BeanResolver;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
-import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.ParserContext;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.expression.spel.SpelCompilerMode;
 
 /**
  * This class is an implementation of {@link Condition} that uses
  * <a href="https://docs.spring.io/spring/docs/current/spring-framework-reference/core.html#expressions">SpEL</a>
  * to evaluate the condition.
  *
- * Each fact is set as a variable in the {@link org.springframework.expression.EvaluationContext}.
+ * Each fact is available as a variable in the {@link org.springframework.expression.EvaluationContext}.
  *
- * The facts map is set as the root object of the {@link org.springframework.expression.EvaluationContext}.
+ * A read-only view of facts is set as the root object of the {@link org.springframework.expression.EvaluationContext}.
+ * Facts are not copied for each evaluation.
  *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 public class SpELCondition implements Condition {
 
-    private final ExpressionParser parser = new SpelExpressionParser();
-    private final Expression compiledExpression;
-    private BeanResolver beanResolver;
+    private final CompilableExpression<Expression> compiledExpression;
+    private final BeanResolver beanResolver;
 
     /**
      * Create a new {@link SpELCondition}.
@@ -76,7 +77,7 @@ public class SpELCondition implements Condition {
      * @param parserContext the SpEL parser context
      */
     public SpELCondition(String expression, ParserContext parserContext) {
-        compiledExpression = parser.parseExpression(expression, parserContext);
+        this(expression, parserContext, null);
     }
 
     /**
@@ -87,18 +88,43 @@ public class SpELCondition implements Condition {
      * @param parserContext the SpEL parser context
      */
     public SpELCondition(String expression, ParserContext parserContext, BeanResolver beanResolver) {
+        this(expression, parserContext, beanResolver, CompilationMode.EAGER);
+    }
+
+    /**
+     * Create a new {@link SpELCondition}.
+     *
+     * @param expression      the condition written in expression language
+     * @param parserContext   the SpEL parser context
+     * @param beanResolver    the bean resolver used to resolve bean references, may be null
+     * @param compilationMode defining when the expression is compiled
+     */
+    public SpELCondition(String expression, ParserContext parserContext, BeanResolver beanResolver, CompilationMode compilationMode) {
+        this(expression, parserContext, beanResolver, compilationMode, null);
+    }
+
+    /**
+     * Create a new {@link SpELCondition}. With {@link SpelCompilerMode#IMMEDIATE} or {@link SpelCompilerMode#MIXED},
+     * the expression is compiled to bytecode once it has been interpreted, when SpEL supports compiling it.
+     *
+     * @param expression      the condition written in expression language
+     * @param parserContext   the SpEL parser context
+     * @param beanResolver    the bean resolver used to resolve bean references, may be null
+     * @param compilationMode defining when the expression is compiled
+     * @param compilerMode    the SpEL compiler mode, or null to use the mode configured with
+     *                        the {@code spring.expression.compiler.mode} system property
+     */
+    public SpELCondition(String expression, ParserContext parserContext, BeanResolver beanResolver, CompilationMode compilationMode,
+              SpelCompilerMode compilerMode) {
         this.beanResolver = beanResolver;
-        compiledExpression = parser.parseExpression(expression, parserContext);
+        compiledExpression = CompilableExpression.of(expression,
+                source -> SpELExpressionCompiler.compile(source, parserContext, compilerMode),
+                source -> SpELExpressionCompiler.validate(source, parserContext, compilerMode), compilationMode);
     }
 
     @Override
     public boolean evaluate(Facts facts) {
-        StandardEvaluationContext context = new StandardEvaluationContext();
-        context.setRootObject(facts.asMap());
-        context.setVariables(facts.asMap());
-        if (beanResolver != null) {
-            context.setBeanResolver(beanResolver);
-        }
-        return compiledExpression.getValue(context, Boolean.class);
+        EvaluationContext context = new FactsEvaluationContext(facts, false, beanResolver);
+        return compiledExpression.get().getValue(context, Boolean.class);
     }
 }
@@ -0,0 +1,94 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.spel;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Parses SpEL expressions of conditions and actions.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+final class SpELExpressionCompiler {
+
+    // SpEL parsers are thread-safe and do not hold any state besides their configuration
+    private static final ExpressionParser PARSER = new SpelExpressionParser();
+    private static final Map<SpelCompilerMode, ExpressionParser> COMPILING_PARSERS = new EnumMap<>(SpelCompilerMode.class);
+
+    static {
+        for (SpelCompilerMode compilerMode : SpelCompilerMode.values()) {
+            COMPILING_PARSERS.put(compilerMode, new SpelExpressionParser(new SpelParserConfiguration(compilerMode, null)));
+        }
+    }
+
+    private SpELExpressionCompiler() { }
+
+    /**
+     * Parse an expression, or return it from the {@link SpELRule#getExpressionCache() expression cache}
+     * if it has already been parsed with an equivalent parser context and compiler mode.
+     *
+     * @param expression to parse
+     * @param parserContext the SpEL parser context, may be null
+     * @param compilerMode the SpEL compiler mode, or null to use the mode configured with the
+     *                     {@code spring.expression.compiler.mode} system property
+     * @return the parsed expression
+     */
+    static Expression compile(String expression, ParserContext parserContext, SpelCompilerMode compilerMode) {
+        ExpressionParser parser = parserFor(compilerMode);
+        return SpELRule.EXPRESSION_CACHE.get(expression, configurationOf(parserContext, compilerMode),
+                source -> parser.parseExpression(source, parserContext));
+    }
+
+    /**
+     * Check that an expression parses, without caching the parsed expression.
+     *
+     * @param expression to validate
+     * @param parserContext the SpEL parser context, may be null
+     * @param compilerMode the SpEL compiler mode, may be null
+     */
+    static void validate(String expression, ParserContext parserContext, SpelCompilerMode compilerMode) {
+        parserFor(compilerMode).parseExpression(expression, parserContext);
+    }
+
+    private static ExpressionParser parserFor(SpelCompilerMode compilerMode) {
+        return compilerMode == null ? PARSER : COMPILING_PARSERS.get(compilerMode);
+    }
+
+    // parser contexts rarely implement equals, but are fully described by their template settings
+    private static Object configurationOf(ParserContext parserContext, SpelCompilerMode compilerMode) {
+        if (parserContext == null || !parserContext.isTemplate()) {
+            return compilerMode;
+        }
+        return Arrays.asList(compilerMode, parserContext.getExpressionPrefix(), parserContext.getExpressionSuffix());
+    }
+}
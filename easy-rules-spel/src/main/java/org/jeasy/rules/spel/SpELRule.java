@@ -28,11 +28,16 @@ import org.jeasy.rules.api.Condition;
 import org.jeasy.rules.api.Facts;
 import org.jeasy.rules.api.Rule;
 import org.jeasy.rules.core.BasicRule;
+import org.jeasy.rules.support.expression.CompilationMode;
+import org.jeasy.rules.support.expression.ExpressionCache;
 
 import org.springframework.expression.BeanResolver;
+import org.springframework.expression.Expression;
 import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -44,10 +49,14 @@ import java.util.List;
  */
 public class SpELRule extends BasicRule {
 
+    static final ExpressionCache<Expression> EXPRESSION_CACHE = new ExpressionCache<>();
+
     private Condition condition = Condition.FALSE;
     private final List<Action> actions = new ArrayList<>();
     private final ParserContext parserContext;
-    private BeanResolver beanResolver;
+    private final BeanResolver beanResolver;
+    private final CompilationMode compilationMode;
+    private final SpelCompilerMode compilerMode;
 
     /**
      * Create a new SpEL rule.
@@ -62,8 +71,7 @@ public class SpELRule extends BasicRule {
      * @param parserContext used when parsing expressions
      */
     public SpELRule(ParserContext parserContext) {
-        super(Rule.DEFAULT_NAME, Rule.DEFAULT_DESCRIPTION, Rule.DEFAULT_PRIORITY);
-        this.parserContext = parserContext;
+        this(parserContext, null);
     }
 
     /**
@@ -72,9 +80,7 @@ public class SpELRule extends BasicRule {
      * @param beanResolver used to resolve bean references in expressions
      */
     public SpELRule(BeanResolver beanResolver) {
-        super(Rule.DEFAULT_NAME, Rule.DEFAULT_DESCRIPTION, Rule.DEFAULT_PRIORITY);
-        this.parserContext = ParserContext.TEMPLATE_EXPRESSION;
-        this.beanResolver = beanResolver;
+        this(ParserContext.TEMPLATE_EXPRESSION, beanResolver);
     }
 
     /**
@@ -84,9 +90,47 @@ public class SpELRule extends BasicRule {
      * @param beanResolver used to resolve bean references in expressions
      */
     public SpELRule(ParserContext parserContext, BeanResolver beanResolver) {
+        this(parserContext, beanResolver, CompilationMode.EAGER);
+    }
+
+    /**
+     * Create a new SpEL rule.
+     *
+     * @param parserContext used when parsing expressions
+     * @param beanResolver used to resolve bean references in expressions, may be null
+     * @param compilationMode defining when condition/action expressions are compiled
+     */
+    public SpELRule(ParserContext parserContext, BeanResolver beanResolver, CompilationMode compilationMode) {
+        this(parserContext, beanResolver, compilationMode, null);
+    }
+
+    /**
+     * Create a new SpEL rule.
+     *
+     * @param parserContext used when parsing expressions
+     * @param beanResolver used to resolve bean references in expressions, may be null
+     * @param compilationMode defining when condition/action expressions are compiled
+     * @param compilerMode the SpEL compiler mode, or null to use the mode configured with
+     *                     the {@code spring.expression.compiler.mode} system property
+     */
+    public SpELRule(ParserContext parserContext, BeanResolver beanResolver, CompilationMode compilationMode,
+                    SpelCompilerMode compilerMode) {
         super(Rule.DEFAULT_NAME, Rule.DEFAULT_DESCRIPTION, Rule.DEFAULT_PRIORITY);
         this.parserContext = parserContext;
         this.beanResolver = beanResolver;
+        this.compilationMode = compilationMode;
+        this.compilerMode = compilerMode;
+    }
+
+    /**
+     * Return the cache of parsed expressions shared by all SpEL conditions and actions.
+     * Expressions are shared when they have the same text and are parsed with the same
+     * template prefix and suffix.
+     *
+     * @return the SpEL expression cache
+     */
+    public static ExpressionCache<Expression> getExpressionCache() {
+        return EXPRESSION_CACHE;
     }
 
     /**
@@ -122,13 +166,37 @@ public class SpELRule extends BasicRule {
         return this;
     }
 
+    /**
+     * Set the names of the facts required to evaluate this rule.
+     *
+     * @param factNames of the facts required to evaluate the rule
+     * @return this rule
+     * @see #setRequiredFacts(java.util.Collection)
+     */
+    public SpELRule requires(String... factNames) {
+        setRequiredFacts(Arrays.asList(factNames));
+        return this;
+    }
+
+    /**
+     * Set the names of the facts this rule depends on.
+     *
+     * @param factNames of the facts the rule depends on
+     * @return this rule
+     * @see #setDependencies(java.util.Collection)
+     */
+    public SpELRule dependsOn(String... factNames) {
+        setDependencies(Arrays.asList(factNames));
+        return this;
+    }
+
     /**
      * Specify the rule's condition as SpEL expression.
      * @param condition of the rule
      * @return this rule
      */
     public SpELRule when(String condition) {
-        this.condition = new SpELCondition(condition, parserContext, beanResolver);
+        this.condition = new SpELCondition(condition, parserContext, beanResolver, compilationMode, compilerMode);
         return this;
     }
 
@@ -138,7 +206,7 @@ public class SpELRule extends BasicRule {
      * @return this rule
      */
     public SpELRule then(String action) {
-        this.actions.add(new SpELAction(action, parserContext, beanResolver));
+        this.actions.add(new SpELAction(action, parserContext, beanResolver, compilationMode, compilerMode));
         return this;
     }
 
@@ -33,9 +33,12 @@ import org.jeasy.rules.support.reader.YamlRuleDefinitionReader;
 
 import org.springframework.expression.BeanResolver;
 import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
 
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Factory to create {@link SpELRule} instances.
@@ -47,6 +50,7 @@ public class SpELRuleFactory extends AbstractRuleFactory {
     private final RuleDefinitionReader reader;
     private BeanResolver beanResolver;
     private ParserContext parserContext;
+    private volatile SpelCompilerMode compilerMode;
 
     /**
      * Create a new {@link SpELRuleFactory} with a given reader.
@@ -100,6 +104,28 @@ public class SpELRuleFactory extends AbstractRuleFactory {
         this.beanResolver = beanResolver;
     }
 
+    /**
+     * Set the SpEL compiler mode of created rules. With {@link SpelCompilerMode#IMMEDIATE} or
+     * {@link SpelCompilerMode#MIXED}, condition/action expressions are compiled to bytecode once
+     * they have been interpreted, when SpEL supports compiling them. Defaults to null, which
+     * uses the mode configured with the {@code spring.expression.compiler.mode} system property.
+     *
+     * @param compilerMode the SpEL compiler mode, may be null
+     */
+    public void setCompilerMode(SpelCompilerMode compilerMode) {
+        this.compilerMode = compilerMode;
+        clearCompiledRules();
+    }
+
+    /**
+     * Return the SpEL compiler mode of created rules.
+     *
+     * @return the SpEL compiler mode, or null if not set
+     */
+    public SpelCompilerMode getCompilerMode() {
+        return compilerMode;
+    }
+
     /**
      * Create a new {@link SpELRule} from a Reader.
      * 
@@ -122,24 +148,28 @@ public class SpELRuleFactory extends AbstractRuleFactory {
     /**
      * Create a set of {@link SpELRule} from a Reader.
      *
+     * Rule definitions are read and compiled one at a time, so that the rules descriptor
+     * is never fully loaded in memory when the reader supports streaming.
+     *
      * @param rulesDescriptor descriptor of rule definitions
      * @return a set of rules
      * @throws Exception if unable to create rules from the descriptor
      */
     public Rules createRules(Reader rulesDescriptor) throws Exception {
-        Rules rules = new Rules();
-        List<RuleDefinition> ruleDefinitions = reader.read(rulesDescriptor);
-        for (RuleDefinition ruleDefinition : ruleDefinitions) {
-            rules.register(createRule(ruleDefinition));
+        try (Stream<RuleDefinition> ruleDefinitions = reader.stream(rulesDescriptor)) {
+            return createRules(ruleDefinitions);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-        return rules;
     }
 
     protected Rule createSimpleRule(RuleDefinition ruleDefinition) {
-        SpELRule spELRule = new SpELRule(parserContext, beanResolver)
+        SpELRule spELRule = new SpELRule(parserContext, beanResolver, getCompilationMode(), compilerMode)
                 .name(ruleDefinition.getName())
                 .description(ruleDefinition.getDescription())
                 .priority(ruleDefinition.getPriority())
+                .requires(ruleDefinition.getRequiredFacts().toArray(new String[0]))
+                .dependsOn(ruleDefinition.getDependencies().toArray(new String[0]))
                 .when(ruleDefinition.getCondition());
         for (String action : ruleDefinition.getActions()) {
             spELRule.then(action);
@@ -50,6 +50,21 @@ public class SpELActionTest {
         assertThat(foo.isAdult()).isTrue();
     }
 
+    @Test
+    public void testSpELActionAssignmentIsWrittenBackToFacts() throws Exception {
+        // given
+        Action action = new SpELAction("#{ (#age = #age + 1) + (#local = 42) }");
+        Facts facts = new Facts();
+        facts.put("age", 20);
+
+        // when
+        action.execute(facts);
+
+        // then
+        assertThat(facts.getFact("age").getValue()).isEqualTo(21);
+        assertThat(facts.getFact("local")).isNull();
+    }
+
     @Test
     public void testSpELFunctionExecution() throws Exception {
         // given
@@ -26,15 +26,19 @@ package org.jeasy.rules.spel;
 import org.assertj.core.api.Assertions;
 import org.jeasy.rules.api.Condition;
 import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.support.expression.CompilationMode;
 import org.junit.Test;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.expression.BeanResolver;
 import org.springframework.expression.ParserContext;
 import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelEvaluationException;
 
 import static com.github.stefanbirkner.systemlambda.SystemLambda.tapSystemOutNormalized;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class SpELConditionTest {
 
@@ -104,4 +108,114 @@ public class SpELConditionTest {
         assertThat(output).isEqualTo("Bonjour jack!\n");
 
     }
+
+    @Test
+    public void testSpELConditionWithLazyCompilation() {
+        // given
+        Condition isAdult = new SpELCondition("#{ ['person'].age > 18 }", new TemplateParserContext(), null, CompilationMode.LAZY);
+        Facts facts = new Facts();
+        facts.put("person", new Person("foo", 20));
+
+        // when
+        boolean evaluationResult = isAdult.evaluate(facts);
+
+        // then
+        assertThat(evaluationResult).isTrue();
+    }
+
+    @Test
+    public void testSpELConditionWithLazyCompilationReportsInvalidExpressionOnEvaluation() {
+        // given
+        Condition condition = new SpELCondition("#{ ['person'].age > }", new TemplateParserContext(), null, CompilationMode.LAZY);
+        Facts facts = new Facts();
+
+        // when, then
+        assertThatThrownBy(() -> condition.evaluate(facts)).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    public void testSpELConditionWithValidatedLazyCompilationRejectsInvalidExpression() {
+        assertThatThrownBy(() -> new SpELCondition("#{ ['person'].age > }", new TemplateParserContext(), null, CompilationMode.LAZY_VALIDATED)).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    public void testSpELConditionWithValidatedLazyCompilationDoesNotCacheValidatedExpression() {
+        // given
+        long missCount = SpELRule.getExpressionCache().getStats().getMissCount();
+        int size = SpELRule.getExpressionCache().size();
+
+        // when
+        new SpELCondition("#{ ['person'].age > 42 }", new TemplateParserContext(), null, CompilationMode.LAZY_VALIDATED);
+
+        // then
+        assertThat(SpELRule.getExpressionCache().getStats().getMissCount()).isEqualTo(missCount);
+        assertThat(SpELRule.getExpressionCache().size()).isEqualTo(size);
+    }
+
+    @Test
+    public void testSpELConditionsWithSameExpressionShareCompiledExpression() {
+        // given
+        long hitCount = SpELRule.getExpressionCache().getStats().getHitCount();
+        Condition first = new SpELCondition("#{ ['person'].age > 19 }", new TemplateParserContext());
+        Facts facts = new Facts();
+        facts.put("person", new Person("foo", 20));
+
+        // when
+        Condition second = new SpELCondition("#{ ['person'].age > 19 }", new TemplateParserContext());
+
+        // then
+        assertThat(SpELRule.getExpressionCache().getStats().getHitCount()).isGreaterThan(hitCount);
+        assertThat(first.evaluate(facts)).isTrue();
+        assertThat(second.evaluate(facts)).isTrue();
+    }
+
+    @Test
+    public void testSpELConditionWithImmediateCompilerMode() {
+        // given
+        Condition isAdult = new SpELCondition("#{ ['person'].age > 17 }", new TemplateParserContext(), null,
+                CompilationMode.EAGER, SpelCompilerMode.IMMEDIATE);
+        Facts facts = new Facts();
+        facts.put("person", new Person("foo", 20));
+        isAdult.evaluate(facts); // interpreted, then compiled
+
+        // when
+        boolean evaluationResult = isAdult.evaluate(facts);
+
+        // then
+        assertThat(evaluationResult).isTrue();
+        facts.put("person", new Dog(20));
+        assertThatThrownBy(() -> isAdult.evaluate(facts)).isInstanceOf(SpelEvaluationException.class);
+    }
+
+    @Test
+    public void testSpELConditionWithMixedCompilerModeFallsBackToInterpretedMode() {
+        // given
+        Condition isAdult = new SpELCondition("#{ ['person'].age > 16 }", new TemplateParserContext(), null,
+                CompilationMode.EAGER, SpelCompilerMode.MIXED);
+        Facts facts = new Facts();
+        facts.put("person", new Person("foo", 20));
+        for (int i = 0; i < 200; i++) {
+            assertThat(isAdult.evaluate(facts)).isTrue();
+        }
+
+        // when
+        facts.put("person", new Dog(20));
+        boolean evaluationResult = isAdult.evaluate(facts);
+
+        // then
+        assertThat(evaluationResult).isTrue();
+    }
+
+    public static class Dog {
+
+        private final int age;
+
+        public Dog(int age) {
+            this.age = age;
+        }
+
+        public int getAge() {
+            return age;
+        }
+    }
 }
@@ -35,6 +35,7 @@ import java.util.Collection;
 import java.util.Iterator;
 
 import org.assertj.core.api.Assertions;
+import org.jeasy.rules.api.Facts;
 import org.jeasy.rules.api.Rule;
 import org.jeasy.rules.api.Rules;
 import org.jeasy.rules.support.composite.UnitRuleGroup;
@@ -43,6 +44,7 @@ import org.jeasy.rules.support.reader.YamlRuleDefinitionReader;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
+import org.springframework.expression.spel.SpelCompilerMode;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -88,6 +90,30 @@ public class SpELRuleFactoryTest {
         assertThat(rule.getPriority()).isEqualTo(2);
     }
 
+    @Test
+    public void testRulesCreationWithCompilerMode() throws Exception {
+        // given
+        SpELRuleFactory factory = new SpELRuleFactory(fileExtension.equals("yml")
+                ? new YamlRuleDefinitionReader() : new JsonRuleDefinitionReader());
+        factory.setCompilerMode(SpelCompilerMode.IMMEDIATE);
+        File rulesDescriptor = new File("src/test/resources/rules." + fileExtension);
+        Rule adultRule = factory.createRules(new FileReader(rulesDescriptor)).iterator().next();
+        Person person = new Person("foo", 20);
+        Facts facts = new Facts();
+        facts.put("person", person);
+
+        // when
+        boolean firstEvaluationResult = adultRule.evaluate(facts);
+        boolean secondEvaluationResult = adultRule.evaluate(facts);
+        adultRule.execute(facts);
+
+        // then
+        assertThat(factory.getCompilerMode()).isEqualTo(SpelCompilerMode.IMMEDIATE);
+        assertThat(firstEvaluationResult).isTrue();
+        assertThat(secondEvaluationResult).isTrue();
+        assertThat(person.isAdult()).isTrue();
+    }
+
     @Test
     public void testRuleCreationFromFileReader() throws Exception {
         // given
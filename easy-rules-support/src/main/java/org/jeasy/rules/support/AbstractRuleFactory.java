@@ -24,19 +24,43 @@
 package org.jeasy.rules.support;
 
 import org.jeasy.rules.api.Rule;
+import org.jeasy.rules.api.Rules;
 import org.jeasy.rules.support.composite.ActivationRuleGroup;
 import org.jeasy.rules.support.composite.CompositeRule;
 import org.jeasy.rules.support.composite.ConditionalRuleGroup;
 import org.jeasy.rules.support.composite.UnitRuleGroup;
+import org.jeasy.rules.support.expression.CompilationMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 /**
  * Base class for rule factories.
  *
+ * By default, a factory compiles a new rule for each rule definition. When
+ * {@link #setReuseCompiledRules(boolean) reuse of compiled rules} is enabled, a factory
+ * returns the rule it has previously created from an equal {@link RuleDefinition}
+ * (including its composing rules) if this rule is still in use, so that reloading a
+ * rule descriptor only compiles added or changed rule definitions.
+ *
+ * When a {@link #setCompilationExecutor(Executor) compilation executor} is set,
+ * {@link #createRules(Stream)} compiles simple rules, including composing rules of
+ * composite rules, concurrently in this executor.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 public abstract class AbstractRuleFactory {
@@ -49,7 +73,211 @@ public abstract class AbstractRuleFactory {
             ActivationRuleGroup.class.getSimpleName()
     );
 
+    private static final int MIN_SWEEP_THRESHOLD = 1024;
+
+    private volatile Map<RuleDefinition, Reference<Rule>> compiledRules;
+    private volatile int sweepThreshold = MIN_SWEEP_THRESHOLD;
+    private volatile Executor compilationExecutor;
+    private volatile CompilationMode compilationMode = CompilationMode.EAGER;
+    private final ThreadLocal<Map<RuleDefinition, Rule>> precompiledRules = new ThreadLocal<>();
+
+    /**
+     * Enable or disable reuse of compiled rules. When enabled, rules created from equal
+     * definitions are the same instances as long as they are in use, so rules returned
+     * by this factory must not be modified. Rule definitions are copied when rules are
+     * created from them, so they can be modified afterwards. Rules that are no longer
+     * referenced outside this factory can be garbage collected, and compiled rules are
+     * discarded when a setting of this factory affecting compilation is changed.
+     *
+     * @param reuseCompiledRules true to reuse rules created from equal rule definitions
+     */
+    public void setReuseCompiledRules(boolean reuseCompiledRules) {
+        this.compiledRules = reuseCompiledRules ? new ConcurrentHashMap<>() : null;
+    }
+
+    /**
+     * Check if this factory reuses rules created from equal rule definitions.
+     *
+     * @return true if compiled rules are reused, false otherwise
+     */
+    public boolean isReuseCompiledRules() {
+        return compiledRules != null;
+    }
+
+    /**
+     * Set the executor used to compile rules in parallel. When set, {@link #createSimpleRule(RuleDefinition)}
+     * is called concurrently by threads of this executor and must be thread-safe. Errors are
+     * collected for all rule definitions and reported at once with a {@link RuleCompilationException}.
+     * By default, no executor is set and rules are compiled one after another in the calling thread.
+     *
+     * @param compilationExecutor used to compile rules, or null to compile rules in the calling thread
+     */
+    public void setCompilationExecutor(Executor compilationExecutor) {
+        this.compilationExecutor = compilationExecutor;
+    }
+
+    /**
+     * Return the executor used to compile rules in parallel.
+     *
+     * @return the compilation executor, or null if rules are compiled in the calling thread
+     */
+    public Executor getCompilationExecutor() {
+        return compilationExecutor;
+    }
+
+    /**
+     * Set when expressions of created rules are compiled. With {@link CompilationMode#LAZY},
+     * creating rules only keeps the source text of their expressions, so that startup time
+     * and memory depend on rules actually evaluated. Defaults to {@link CompilationMode#EAGER}.
+     *
+     * @param compilationMode of expressions of created rules, must not be null
+     */
+    public void setCompilationMode(CompilationMode compilationMode) {
+        this.compilationMode = Objects.requireNonNull(compilationMode, "compilationMode cannot be null");
+        clearCompiledRules();
+    }
+
+    /**
+     * Return when expressions of created rules are compiled.
+     *
+     * @return the compilation mode of expressions
+     */
+    public CompilationMode getCompilationMode() {
+        return compilationMode;
+    }
+
+    /**
+     * Discard the rules compiled so far when {@link #setReuseCompiledRules(boolean) reuse of
+     * compiled rules} is enabled, so that rules created afterwards are compiled with the
+     * current settings of this factory. Subclasses must call this method when one of their
+     * settings affecting compiled rules is changed.
+     */
+    protected void clearCompiledRules() {
+        Map<RuleDefinition, Reference<Rule>> compiledRules = this.compiledRules;
+        if (compiledRules != null) {
+            compiledRules.clear();
+        }
+    }
+
+    /**
+     * Create rules from a stream of rule definitions. Each rule definition is compiled
+     * when the stream reaches it, so that rule definitions read lazily from a rule descriptor
+     * (see {@link org.jeasy.rules.support.reader.RuleDefinitionReader#stream(java.io.Reader)})
+     * can be garbage collected before the next one is read.
+     *
+     * If a {@link #setCompilationExecutor(Executor) compilation executor} is set, simple rules
+     * are compiled in this executor while the stream is consumed, and rules are registered once
+     * all of them have been compiled, so rule definitions are kept in memory until then.
+     * Rules are created in the order of the stream in both cases.
+     *
+     * @param ruleDefinitions stream of rule definitions, not closed by this method
+     * @return a set of rules
+     * @throws RuleCompilationException if rules are compiled in parallel and some of them could not be compiled
+     */
+    public Rules createRules(Stream<RuleDefinition> ruleDefinitions) {
+        Executor executor = compilationExecutor;
+        if (executor != null) {
+            return createRulesInParallel(ruleDefinitions, executor);
+        }
+        Rules rules = new Rules();
+        ruleDefinitions.forEachOrdered(ruleDefinition -> rules.register(createRule(ruleDefinition)));
+        return rules;
+    }
+
+    private Rules createRulesInParallel(Stream<RuleDefinition> ruleDefinitions, Executor executor) {
+        List<RuleDefinition> definitions = new ArrayList<>();
+        List<RuleDefinition> simpleRuleDefinitions = new ArrayList<>();
+        List<CompletableFuture<Rule>> compilations = new ArrayList<>();
+        ruleDefinitions.forEachOrdered(ruleDefinition -> {
+            definitions.add(ruleDefinition);
+            compileSimpleRules(ruleDefinition, simpleRuleDefinitions, compilations, executor);
+        });
+
+        Map<RuleDefinition, Rule> compiledSimpleRules = new IdentityHashMap<>();
+        List<Map.Entry<RuleDefinition, Exception>> errors = new ArrayList<>();
+        for (int i = 0; i < compilations.size(); i++) {
+            try {
+                compiledSimpleRules.put(simpleRuleDefinitions.get(i), compilations.get(i).join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                errors.add(new AbstractMap.SimpleImmutableEntry<>(simpleRuleDefinitions.get(i),
+                        cause instanceof Exception ? (Exception) cause : new IllegalStateException(cause)));
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new RuleCompilationException(errors);
+        }
+
+        precompiledRules.set(compiledSimpleRules);
+        try {
+            Rules rules = new Rules();
+            for (RuleDefinition ruleDefinition : definitions) {
+                rules.register(createRule(ruleDefinition));
+            }
+            return rules;
+        } finally {
+            precompiledRules.remove();
+        }
+    }
+
+    private void compileSimpleRules(RuleDefinition ruleDefinition, List<RuleDefinition> simpleRuleDefinitions,
+                                    List<CompletableFuture<Rule>> compilations, Executor executor) {
+        if (ruleDefinition.isCompositeRule()) {
+            for (RuleDefinition composingRuleDefinition : ruleDefinition.getComposingRules()) {
+                compileSimpleRules(composingRuleDefinition, simpleRuleDefinitions, compilations, executor);
+            }
+        } else {
+            simpleRuleDefinitions.add(ruleDefinition);
+            compilations.add(CompletableFuture.supplyAsync(() -> createRule(ruleDefinition), executor));
+        }
+    }
+
     protected Rule createRule(RuleDefinition ruleDefinition) {
+        Map<RuleDefinition, Rule> precompiledRules = this.precompiledRules.get();
+        if (precompiledRules != null && precompiledRules.containsKey(ruleDefinition)) {
+            return precompiledRules.get(ruleDefinition);
+        }
+        Map<RuleDefinition, Reference<Rule>> compiledRules = this.compiledRules;
+        if (compiledRules == null) {
+            return compileRule(ruleDefinition);
+        }
+        Reference<Rule> compiledRule = compiledRules.get(ruleDefinition);
+        Rule rule = compiledRule != null ? compiledRule.get() : null;
+        if (rule != null) {
+            LOGGER.debug("Reusing compiled rule '{}'", ruleDefinition.getName());
+            return rule;
+        }
+        rule = compileRule(ruleDefinition);
+        compiledRules.put(copy(ruleDefinition), new WeakReference<>(rule));
+        if (compiledRules.size() >= sweepThreshold) {
+            compiledRules.values().removeIf(reference -> reference.get() == null);
+            sweepThreshold = Math.max(MIN_SWEEP_THRESHOLD, 2 * compiledRules.size());
+        }
+        return rule;
+    }
+
+    private static RuleDefinition copy(RuleDefinition ruleDefinition) {
+        RuleDefinition copy = new RuleDefinition();
+        copy.setName(ruleDefinition.getName());
+        copy.setDescription(ruleDefinition.getDescription());
+        copy.setPriority(ruleDefinition.getPriority());
+        copy.setCondition(ruleDefinition.getCondition());
+        copy.setActions(ruleDefinition.getActions() == null ? null : new ArrayList<>(ruleDefinition.getActions()));
+        copy.setRequiredFacts(ruleDefinition.getRequiredFacts() == null ? null : new ArrayList<>(ruleDefinition.getRequiredFacts()));
+        copy.setDependencies(ruleDefinition.getDependencies() == null ? null : new ArrayList<>(ruleDefinition.getDependencies()));
+        List<RuleDefinition> composingRules = new ArrayList<>();
+        for (RuleDefinition composingRule : ruleDefinition.getComposingRules()) {
+            composingRules.add(copy(composingRule));
+        }
+        copy.setComposingRules(composingRules);
+        copy.setCompositeRuleType(ruleDefinition.getCompositeRuleType());
+        return copy;
+    }
+
+    private Rule compileRule(RuleDefinition ruleDefinition) {
         if (ruleDefinition.isCompositeRule()) {
             return createCompositeRule(ruleDefinition);
         } else {
@@ -0,0 +1,82 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.support;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exception thrown when rules cannot be compiled in parallel (see
+ * {@link AbstractRuleFactory#setCompilationExecutor(java.util.concurrent.Executor)}).
+ * It reports the errors of all rule definitions that could not be compiled, each
+ * error being also added as a suppressed exception. Errors are listed rather than
+ * mapped by rule definition, since different rule definitions may be equal.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class RuleCompilationException extends IllegalArgumentException {
+
+    private final List<Map.Entry<RuleDefinition, Exception>> errors;
+
+    /**
+     * Create a new {@link RuleCompilationException}.
+     *
+     * @param errors pairs of rule definition and error, in encounter order
+     */
+    public RuleCompilationException(List<? extends Map.Entry<RuleDefinition, Exception>> errors) {
+        super(createMessage(errors));
+        List<Map.Entry<RuleDefinition, Exception>> copy = new ArrayList<>();
+        for (Map.Entry<RuleDefinition, Exception> error : errors) {
+            copy.add(new AbstractMap.SimpleImmutableEntry<>(error));
+            addSuppressed(error.getValue());
+        }
+        this.errors = Collections.unmodifiableList(copy);
+    }
+
+    /**
+     * Return the errors of rule definitions that could not be compiled.
+     *
+     * @return pairs of rule definition and error, in encounter order
+     */
+    public List<Map.Entry<RuleDefinition, Exception>> getErrors() {
+        return errors;
+    }
+
+    private static String createMessage(List<? extends Map.Entry<RuleDefinition, Exception>> errors) {
+        StringBuilder message = new StringBuilder("Unable to compile ")
+                .append(errors.size())
+                .append(errors.size() == 1 ? " rule:" : " rules:");
+        for (Map.Entry<RuleDefinition, Exception> error : errors) {
+            message.append(System.lineSeparator())
+                    .append("  - '")
+                    .append(error.getKey().getName())
+                    .append("': ")
+                    .append(error.getValue().getMessage());
+        }
+        return message.toString();
+    }
+}
@@ -27,6 +27,7 @@ import org.jeasy.rules.api.Rule;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Rule definition as defined in a rule descriptor.
@@ -35,6 +36,10 @@ import java.util.List;
  * Rule definitions are produced by a {@code RuleDefinitionReader}s
  * and consumed by rule factories to create rules.
  *
+ * Rule definitions are equal if they have the same content, including the content of
+ * their composing rules, so that rule factories can recognize unchanged definitions
+ * when rules are reloaded (see {@link AbstractRuleFactory#setReuseCompiledRules(boolean)}).
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 public class RuleDefinition {
@@ -44,6 +49,8 @@ public class RuleDefinition {
     private int priority = Rule.DEFAULT_PRIORITY;
     private String condition;
     private List<String> actions = new ArrayList<>();
+    private List<String> requiredFacts = new ArrayList<>();
+    private List<String> dependencies = new ArrayList<>();
     private List<RuleDefinition> composingRules = new ArrayList<>();
     private String compositeRuleType;
 
@@ -87,6 +94,22 @@ public class RuleDefinition {
         this.actions = actions;
     }
 
+    public List<String> getRequiredFacts() {
+        return requiredFacts;
+    }
+
+    public void setRequiredFacts(List<String> requiredFacts) {
+        this.requiredFacts = requiredFacts;
+    }
+
+    public List<String> getDependencies() {
+        return dependencies;
+    }
+
+    public void setDependencies(List<String> dependencies) {
+        this.dependencies = dependencies;
+    }
+
     public void setComposingRules(List<RuleDefinition> composingRuleDefinitions) {
         this.composingRules = composingRuleDefinitions;
     }
@@ -106,4 +129,25 @@ public class RuleDefinition {
     public boolean isCompositeRule() {
         return !composingRules.isEmpty();
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RuleDefinition that = (RuleDefinition) o;
+        return priority == that.priority &&
+                Objects.equals(name, that.name) &&
+                Objects.equals(description, that.description) &&
+                Objects.equals(condition, that.condition) &&
+                Objects.equals(actions, that.actions) &&
+                Objects.equals(requiredFacts, that.requiredFacts) &&
+                Objects.equals(dependencies, that.dependencies) &&
+                Objects.equals(composingRules, that.composingRules) &&
+                Objects.equals(compositeRuleType, that.compositeRuleType);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, description, priority, condition, actions, requiredFacts, dependencies, composingRules, compositeRuleType);
+    }
 }
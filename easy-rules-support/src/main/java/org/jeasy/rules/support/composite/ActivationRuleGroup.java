@@ -33,13 +33,15 @@ import java.util.TreeSet;
  * rule and ignores other rules in the group (XOR logic).
  * Rules are first sorted by their natural order (priority by default) within the group.
  *
- * <strong>This class is not thread-safe.</strong>
+ * The rule selected during evaluation is kept in the
+ * {@link Facts#getEvaluationContext() evaluation context} of facts, so that
+ * an activation rule group can be fired concurrently on different facts.
  * 
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 public class ActivationRuleGroup extends CompositeRule {
 
-    private Rule selectedRule;
+    private final Object selectedRuleKey = new Object();
 
     /**
      * Create an activation rule group.
@@ -85,15 +87,17 @@ public class ActivationRuleGroup extends CompositeRule {
     public boolean evaluate(Facts facts) {
         for (Rule rule : rules) {
             if (rule.evaluate(facts)) {
-                selectedRule = rule;
+                facts.getEvaluationContext().put(selectedRuleKey, rule);
                 return true;
             }
         }
+        facts.getEvaluationContext().remove(selectedRuleKey);
         return false;
     }
 
     @Override
     public void execute(Facts facts) throws Exception {
+        Rule selectedRule = (Rule) facts.getEvaluationContext().remove(selectedRuleKey);
         if (selectedRule != null) {
             selectedRule.execute(facts);
         }
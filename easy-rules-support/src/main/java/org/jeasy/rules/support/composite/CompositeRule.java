@@ -36,8 +36,11 @@ import java.util.TreeSet;
 /**
  * Base class representing a composite rule composed of a set of rules.
  * 
- * <strong>This class is not thread-safe.
- * Sub-classes are inherently not thread-safe.</strong>
+ * Composite rules provided by Easy Rules keep the state of an evaluation in the
+ * {@link Facts#getEvaluationContext() evaluation context} of facts, so that the
+ * same composite rule can be fired concurrently on different facts, provided that
+ * composing rules are thread-safe. Composing rules must not be added or removed
+ * while the composite rule is fired.
  *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
@@ -27,7 +27,6 @@ import org.jeasy.rules.api.Facts;
 import org.jeasy.rules.api.Rule;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.TreeSet;
 import java.util.List;
 import java.util.Set;
@@ -37,15 +36,16 @@ import java.util.Set;
  * priority acts as a condition: if the rule with the highest priority evaluates
  * to true, then we try to evaluate the rest of the rules and execute the ones
  * that evaluate to true.
- * 
- * <strong>This class is not thread-safe.</strong>
+ *
+ * The rules that evaluated to true are kept in the
+ * {@link Facts#getEvaluationContext() evaluation context} of facts, so that
+ * a conditional rule group can be fired concurrently on different facts.
  *
  * @author Dag Framstad (dagframstad@gmail.com)
  */
 public class ConditionalRuleGroup extends CompositeRule {
 
-    private Set<Rule> successfulEvaluations;
-    private Rule conditionalRule;
+    private final Object rulesToExecuteKey = new Object();
 
     /**
      * Create a conditional rule group.
@@ -92,41 +92,49 @@ public class ConditionalRuleGroup extends CompositeRule {
      */
     @Override
     public boolean evaluate(Facts facts) {
-        successfulEvaluations = new HashSet<>();
-        conditionalRule = getRuleWithHighestPriority();
+        List<Rule> sortedRules = sort(rules);
+        Rule conditionalRule = getRuleWithHighestPriority(sortedRules);
         if (conditionalRule.evaluate(facts)) {
-            for (Rule rule : rules) {
+            List<Rule> rulesToExecute = new ArrayList<>();
+            rulesToExecute.add(conditionalRule);
+            for (Rule rule : sortedRules) {
                 if (rule != conditionalRule && rule.evaluate(facts)) {
-                    successfulEvaluations.add(rule);
+                    rulesToExecute.add(rule);
                 }
             }
+            facts.getEvaluationContext().put(rulesToExecuteKey, rulesToExecute);
             return true;
         }
+        facts.getEvaluationContext().remove(rulesToExecuteKey);
         return false;
     }
 
     /**
      * When a conditional rule group is executed, all rules that evaluated to true
      * are performed in their natural order, but with the conditional rule 
-     * (the one with the highest priority) first.
+     * (the one with the highest priority) first. Nothing is performed if the group
+     * has not been evaluated to true on the given facts.
      *
      * @param facts The facts.
      *
      * @throws Exception thrown if an exception occurs during actions performing
      */
     @Override
+    @SuppressWarnings("unchecked")
     public void execute(Facts facts) throws Exception {
-        conditionalRule.execute(facts);
-        for (Rule rule : sort(successfulEvaluations)) {
+        List<Rule> rulesToExecute = (List<Rule>) facts.getEvaluationContext().remove(rulesToExecuteKey);
+        if (rulesToExecute == null) {
+            return;
+        }
+        for (Rule rule : rulesToExecute) {
             rule.execute(facts);
         }
     }
 
-    private Rule getRuleWithHighestPriority() {
-        List<Rule> copy = sort(rules);
+    private Rule getRuleWithHighestPriority(List<Rule> sortedRules) {
         // make sure we only have one rule with the highest priority
-        Rule highest = copy.get(0);
-        if (copy.size() > 1 && copy.get(1).getPriority() == highest.getPriority()) {
+        Rule highest = sortedRules.get(0);
+        if (sortedRules.size() > 1 && sortedRules.get(1).getPriority() == highest.getPriority()) {
            throw new IllegalArgumentException("Only one rule can have highest priority");
         }
         return highest;
@@ -30,7 +30,8 @@ import org.jeasy.rules.api.Rule;
  * A unit rule group is a composite rule that acts as a unit: Either all rules are
  * applied or nothing is applied (all or nothing semantic).
  * 
- * <strong>This class is not thread-safe.</strong>
+ * A unit rule group does not keep any evaluation state, so it can be fired
+ * concurrently on different facts.
  *
  *  @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
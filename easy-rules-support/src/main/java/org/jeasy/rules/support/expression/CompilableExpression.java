@@ -0,0 +1,139 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.support.expression;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * An expression compiled according to a {@link CompilationMode}. In lazy modes, the
+ * expression is compiled once, by the first thread getting its compiled form.
+ *
+ * @param <T> type of the compiled form of the expression
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public final class CompilableExpression<T> {
+
+    private final String expression;
+    private Function<String, ? extends T> compiler;
+    private volatile T compiledExpression;
+
+    private CompilableExpression(String expression, Function<String, ? extends T> compiler) {
+        this.expression = expression;
+        this.compiler = compiler;
+    }
+
+    /**
+     * Create a new {@link CompilableExpression}. In {@link CompilationMode#LAZY_VALIDATED} mode,
+     * the expression is validated with the compiler.
+     *
+     * @param expression source text of the expression
+     * @param compiler function compiling the source text of the expression, must not return null
+     * @param compilationMode defining when the expression is compiled
+     * @param <T> type of the compiled form of the expression
+     * @return a new compilable expression
+     */
+    public static <T> CompilableExpression<T> of(String expression, Function<String, ? extends T> compiler,
+                                                 CompilationMode compilationMode) {
+        Objects.requireNonNull(compiler, "compiler cannot be null");
+        return of(expression, compiler, compiler::apply, compilationMode);
+    }
+
+    /**
+     * Create a new {@link CompilableExpression}. In {@link CompilationMode#LAZY_VALIDATED} mode,
+     * the expression is validated with the validator, so that a compiler sharing compiled
+     * expressions (for example through an {@link ExpressionCache}) does not keep the compiled
+     * form of an expression which is only validated.
+     *
+     * @param expression source text of the expression
+     * @param compiler function compiling the source text of the expression, must not return null
+     * @param validator of the source text of the expression, throwing an exception if the expression is invalid
+     * @param compilationMode defining when the expression is compiled
+     * @param <T> type of the compiled form of the expression
+     * @return a new compilable expression
+     */
+    public static <T> CompilableExpression<T> of(String expression, Function<String, ? extends T> compiler,
+                                                 Consumer<String> validator, CompilationMode compilationMode) {
+        Objects.requireNonNull(expression, "expression cannot be null");
+        Objects.requireNonNull(compiler, "compiler cannot be null");
+        Objects.requireNonNull(validator, "validator cannot be null");
+        Objects.requireNonNull(compilationMode, "compilationMode cannot be null");
+        CompilableExpression<T> compilableExpression = new CompilableExpression<>(expression, compiler);
+        switch (compilationMode) {
+            case EAGER:
+                compilableExpression.get();
+                break;
+            case LAZY_VALIDATED:
+                validator.accept(expression);
+                break;
+            default:
+                break;
+        }
+        return compilableExpression;
+    }
+
+    /**
+     * Return the source text of the expression.
+     *
+     * @return the source text of the expression
+     */
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * Check if the expression has been compiled.
+     *
+     * @return true if the compiled form of the expression is available
+     */
+    public boolean isCompiled() {
+        return compiledExpression != null;
+    }
+
+    /**
+     * Return the compiled form of the expression, compiling it if needed.
+     *
+     * @return the compiled expression
+     */
+    public T get() {
+        T compiled = compiledExpression;
+        if (compiled == null) {
+            synchronized (this) {
+                compiled = compiledExpression;
+                if (compiled == null) {
+                    compiled = Objects.requireNonNull(compiler.apply(expression), "compiled expression cannot be null");
+                    compiledExpression = compiled;
+                    compiler = null;
+                }
+            }
+        }
+        return compiled;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
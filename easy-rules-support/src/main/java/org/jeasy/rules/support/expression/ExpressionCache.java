@@ -0,0 +1,241 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.support.expression;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A size-bounded cache of compiled expressions, keyed by the source text of expressions and
+ * the configuration they are compiled with. Conditions and actions sharing the same expression
+ * text and configuration, for example guards repeated in generated rule catalogues, share the
+ * same compiled expression instead of compiling their own copy.
+ *
+ * The configuration is compared with {@link Object#equals(Object)} and must describe everything
+ * the compiled form depends on, besides the source text. Compiled expressions are shared between
+ * threads and must be safe to use concurrently. Configurations are strongly held by the cache,
+ * and usually by compiled expressions too, so a cache should not outlive the configurations it
+ * is used with: for example, rule factories own the cache of the rules they create.
+ *
+ * When the cache grows over its maximum size, the least frequently used expressions are evicted.
+ * Usage frequencies of remaining expressions are halved at each eviction, so that expressions
+ * which were popular a long time ago do not stay in the cache forever.
+ *
+ * @param <T> type of the compiled form of expressions
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public final class ExpressionCache<T> {
+
+    /**
+     * Default maximum number of compiled expressions kept in a cache.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final Map<Key, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final Lock evictionLock = new ReentrantLock();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private volatile int maximumSize;
+
+    /**
+     * Create a new {@link ExpressionCache} with a maximum size of {@value #DEFAULT_MAXIMUM_SIZE}.
+     */
+    public ExpressionCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Create a new {@link ExpressionCache}.
+     *
+     * @param maximumSize maximum number of compiled expressions kept in the cache, 0 to disable caching
+     */
+    public ExpressionCache(int maximumSize) {
+        setMaximumSize(maximumSize);
+    }
+
+    /**
+     * Return the compiled form of an expression, compiling it if it is not in the cache.
+     *
+     * @param expression source text of the expression
+     * @param configuration the expression is compiled with, may be null
+     * @param compiler function compiling the source text of the expression, must not return null
+     * @return the compiled expression
+     */
+    public T get(String expression, Object configuration, Function<String, ? extends T> compiler) {
+        Objects.requireNonNull(expression, "expression cannot be null");
+        Objects.requireNonNull(compiler, "compiler cannot be null");
+        if (maximumSize == 0) {
+            return compiler.apply(expression);
+        }
+        Key key = new Key(expression, configuration);
+        Entry<T> entry = entries.get(key);
+        if (entry != null) {
+            hitCount.increment();
+            return entry.use();
+        }
+        missCount.increment();
+        // compile outside of the map to not block other expressions while compiling
+        Entry<T> compiled = new Entry<>(Objects.requireNonNull(compiler.apply(expression), "compiled expression cannot be null"));
+        entry = entries.putIfAbsent(key, compiled);
+        if (entry != null) {
+            return entry.use();
+        }
+        if (entries.size() > maximumSize) {
+            evict();
+        }
+        return compiled.value;
+    }
+
+    /**
+     * Set the maximum number of compiled expressions kept in the cache. Expressions over the
+     * new maximum are evicted the next time an expression is added to the cache.
+     *
+     * @param maximumSize maximum number of compiled expressions, 0 to disable caching
+     */
+    public void setMaximumSize(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize must not be negative");
+        }
+        this.maximumSize = maximumSize;
+        if (maximumSize == 0) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Return the maximum number of compiled expressions kept in the cache.
+     *
+     * @return the maximum size of the cache
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Return the number of compiled expressions in the cache.
+     *
+     * @return the size of the cache
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Remove all compiled expressions from the cache. Statistics are not reset.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Return a snapshot of hit, miss and eviction counts of the cache.
+     *
+     * @return statistics of the cache
+     */
+    public ExpressionCacheStats getStats() {
+        return new ExpressionCacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum());
+    }
+
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return; // another thread is already evicting
+        }
+        try {
+            int size = entries.size();
+            int maximum = maximumSize;
+            if (size <= maximum) {
+                return;
+            }
+            // evict a bit more than needed so that each miss of a full cache does not trigger an eviction
+            int toEvict = size - maximum + maximum / 10;
+            List<Map.Entry<Key, Entry<T>>> candidates = new ArrayList<>(entries.entrySet());
+            candidates.sort(Comparator.comparingInt(candidate -> candidate.getValue().frequency.get()));
+            for (Map.Entry<Key, Entry<T>> candidate : candidates) {
+                if (toEvict > 0 && entries.remove(candidate.getKey(), candidate.getValue())) {
+                    evictionCount.increment();
+                    toEvict--;
+                } else {
+                    candidate.getValue().age();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static final class Key {
+
+        private final String expression;
+        private final Object configuration;
+        private final int hashCode;
+
+        private Key(String expression, Object configuration) {
+            this.expression = expression;
+            this.configuration = configuration;
+            this.hashCode = 31 * expression.hashCode() + Objects.hashCode(configuration);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return expression.equals(key.expression) && Objects.equals(configuration, key.configuration);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class Entry<T> {
+
+        private final T value;
+        private final AtomicInteger frequency = new AtomicInteger(1);
+
+        private Entry(T value) {
+            this.value = value;
+        }
+
+        private T use() {
+            frequency.getAndUpdate(count -> count == Integer.MAX_VALUE ? count : count + 1);
+            return value;
+        }
+
+        private void age() {
+            frequency.getAndUpdate(count -> count >> 1);
+        }
+    }
+}
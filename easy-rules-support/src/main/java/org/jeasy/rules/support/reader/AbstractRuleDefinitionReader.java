@@ -27,9 +27,12 @@ import org.jeasy.rules.api.Rule;
 import org.jeasy.rules.support.RuleDefinition;
 
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Base class for {@link RuleDefinitionReader}s.
@@ -40,15 +43,45 @@ public abstract class AbstractRuleDefinitionReader implements RuleDefinitionRead
 
     public List<RuleDefinition> read(Reader reader) throws Exception {
         List<RuleDefinition> ruleDefinitions = new ArrayList<>();
-        Iterable<Map<String, Object>> rules = loadRules(reader);
-        for (Map<String, Object> rule : rules) {
-            ruleDefinitions.add(createRuleDefinition(rule));
+        try (Stream<RuleDefinition> stream = stream(reader)) {
+            stream.forEach(ruleDefinitions::add);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
         return ruleDefinitions;
     }
 
     /**
-     * Load rules from the given reader as an iterable of Maps.
+     * Read rule definitions lazily: each rule definition is created from the next
+     * rule Map of {@link #loadRules(Reader)} when the stream reaches it.
+     *
+     * @param reader of the rules descriptor
+     * @return a sequential stream of rule definitions
+     * @throws Exception if unable to load rules
+     */
+    @Override
+    public Stream<RuleDefinition> stream(Reader reader) throws Exception {
+        Iterable<Map<String, Object>> rules = loadRules(reader);
+        Stream<RuleDefinition> stream = StreamSupport.stream(rules.spliterator(), false)
+                .map(this::createRuleDefinition);
+        if (rules instanceof AutoCloseable) {
+            AutoCloseable closeable = (AutoCloseable) rules;
+            stream = stream.onClose(() -> {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    throw new IllegalStateException("Unable to close rule descriptor", e);
+                }
+            });
+        }
+        return stream;
+    }
+
+    /**
+     * Load rules from the given reader as an iterable of Maps. Implementations may return
+     * a lazy iterable loading each rule Map when it is reached, in which case errors may
+     * be thrown as unchecked exceptions during iteration. A lazy iterable implementing
+     * {@link AutoCloseable} is closed when the stream of rule definitions is closed.
      *
      * @param reader to read rules from
      * @return an iterable of rule Maps
@@ -88,6 +121,16 @@ public abstract class AbstractRuleDefinitionReader implements RuleDefinitionRead
         }
         ruleDefinition.setActions(actions);
 
+        List<String> requiredFacts = getFactNames(map, "requires");
+        if (requiredFacts != null) {
+            ruleDefinition.setRequiredFacts(requiredFacts);
+        }
+
+        List<String> dependencies = getFactNames(map, "dependsOn");
+        if (dependencies != null) {
+            ruleDefinition.setDependencies(dependencies);
+        }
+
         List<Object> composingRules = (List<Object>) map.get("composingRules");
         if ((composingRules != null && !composingRules.isEmpty()) && compositeRuleType == null) {
             throw new IllegalArgumentException("Non-composite rules cannot have composing rules");
@@ -105,4 +148,22 @@ public abstract class AbstractRuleDefinitionReader implements RuleDefinitionRead
 
         return ruleDefinition;
     }
+
+    private static List<String> getFactNames(Map<String, Object> map, String key) {
+        Object value = map.get(key);
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof List)) {
+            throw new IllegalArgumentException("The rule '" + key + "' property must be a list of fact names");
+        }
+        List<String> factNames = new ArrayList<>();
+        for (Object factName : (List<?>) value) {
+            if (!(factName instanceof String)) {
+                throw new IllegalArgumentException("The rule '" + key + "' property must be a list of fact names");
+            }
+            factNames.add((String) factName);
+        }
+        return factNames;
+    }
 }
@@ -23,12 +23,16 @@
  */
 package org.jeasy.rules.support.reader;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
 import java.io.Reader;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 /**
  * Rule definition reader based on <a href="https://github.com/FasterXML/jackson">Jackson</a>.
@@ -39,6 +43,10 @@ import java.util.Map;
  *     [{rule1}, {rule2}]
  * </pre>
  *
+ * Rule definitions are read with Jackson's streaming API: the array is parsed one
+ * element at a time, so that {@link #stream(Reader)} does not hold the whole
+ * document in memory.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 @SuppressWarnings("unchecked")
@@ -64,12 +72,67 @@ public class JsonRuleDefinitionReader extends AbstractRuleDefinitionReader {
 
     @Override
     protected Iterable<Map<String, Object>> loadRules(Reader reader) throws Exception {
-        List<Map<String, Object>> rulesList = new ArrayList<>();
-        Object[] rules = objectMapper.readValue(reader, Object[].class);
-        for (Object rule : rules) {
-            rulesList.add((Map<String, Object>) rule);
+        JsonParser parser = objectMapper.getFactory().createParser(reader);
+        try {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Rule definitions must be a JSON array");
+            }
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+        return new JsonRules(parser);
+    }
+
+    /**
+     * Single-use iterable reading the elements of a JSON array when they are reached.
+     */
+    private class JsonRules implements Iterable<Map<String, Object>>, AutoCloseable {
+
+        private final JsonParser parser;
+
+        private JsonRules(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        @Override
+        public Iterator<Map<String, Object>> iterator() {
+            return new Iterator<Map<String, Object>>() {
+                private boolean advanced;
+                private boolean done;
+
+                @Override
+                public boolean hasNext() {
+                    if (!advanced && !done) {
+                        try {
+                            done = parser.nextToken() == JsonToken.END_ARRAY;
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        advanced = true;
+                    }
+                    return !done;
+                }
+
+                @Override
+                public Map<String, Object> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    advanced = false;
+                    try {
+                        return objectMapper.readValue(parser, Map.class);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
         }
-        return rulesList;
     }
 
 }
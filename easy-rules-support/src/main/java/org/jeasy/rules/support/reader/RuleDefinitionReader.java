@@ -25,6 +25,7 @@ package org.jeasy.rules.support.reader;
 
 import java.io.Reader;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.jeasy.rules.support.RuleDefinition;
 
@@ -51,4 +52,21 @@ public interface RuleDefinitionReader {
      */
     List<RuleDefinition> read(Reader reader) throws Exception;
 
+    /**
+     * Read rule definitions from a rule descriptor one at a time. Readers supporting
+     * streaming create each rule definition when the stream reaches it, so that rule
+     * definitions already consumed can be garbage collected while the descriptor is
+     * being read. Errors occurring while the stream is consumed are thrown as unchecked
+     * exceptions, like {@link java.io.UncheckedIOException} for I/O errors.
+     *
+     * The default implementation reads all rule definitions with {@link #read(Reader)}.
+     *
+     * @param reader of the rules descriptor
+     * @return a sequential stream of rule definitions, to be closed after use
+     * @throws Exception if a problem occurs before the first rule definition is read
+     */
+    default Stream<RuleDefinition> stream(Reader reader) throws Exception {
+        return read(reader).stream();
+    }
+
 }
@@ -29,6 +29,7 @@ import java.io.Reader;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Rule definition reader based on <a href="https://github.com/FasterXML/jackson-dataformats-text/tree/master/yaml">Jackson Yaml</a>.
@@ -41,36 +42,61 @@ import java.util.Map;
  *     rule2
  * </pre>
  *
+ * Documents are loaded when they are reached, so that {@link #stream(Reader)} does not
+ * hold the whole stream of documents in memory. Since a {@link Yaml} instance can only
+ * load one stream at a time, a new instance is created for each stream. Readers created
+ * with a shared {@link Yaml} instance load all documents of a stream upfront instead.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 @SuppressWarnings("unchecked")
 public class YamlRuleDefinitionReader extends AbstractRuleDefinitionReader {
 
+    private final Supplier<Yaml> yamlSupplier;
     private final Yaml yaml;
 
     /**
      * Create a new {@link YamlRuleDefinitionReader}.
      */
     public YamlRuleDefinitionReader() {
-        this(new Yaml());
+        this(Yaml::new);
     }
 
     /**
      * Create a new {@link YamlRuleDefinitionReader}.
      *
+     * Documents are loaded upfront since the given instance is shared between streams.
+     * Use {@link #YamlRuleDefinitionReader(Supplier)} to load documents when they are reached.
+     *
      * @param yaml to use to read rule definitions
      */
     public YamlRuleDefinitionReader(Yaml yaml) {
+        this.yamlSupplier = null;
         this.yaml = yaml;
     }
 
+    /**
+     * Create a new {@link YamlRuleDefinitionReader}.
+     *
+     * @param yamlSupplier of a new {@link Yaml} instance for each stream of rule definitions
+     */
+    public YamlRuleDefinitionReader(Supplier<Yaml> yamlSupplier) {
+        this.yamlSupplier = yamlSupplier;
+        this.yaml = null;
+    }
+
     @Override
     protected Iterable<Map<String, Object>> loadRules(Reader reader) {
-        List<Map<String, Object>> rulesList = new ArrayList<>();
-        Iterable<Object> rules = yaml.loadAll(reader);
-        for (Object rule : rules) {
-            rulesList.add((Map<String, Object>) rule);
+        if (yamlSupplier != null) {
+            Iterable<?> rules = yamlSupplier.get().loadAll(reader);
+            return (Iterable<Map<String, Object>>) rules;
+        }
+        List<Map<String, Object>> rules = new ArrayList<>();
+        synchronized (yaml) {
+            for (Object rule : yaml.loadAll(reader)) {
+                rules.add((Map<String, Object>) rule);
+            }
         }
-        return rulesList;
+        return rules;
     }
 }
@@ -0,0 +1,402 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.support.reload;
+
+import org.jeasy.rules.api.ConcurrentRules;
+import org.jeasy.rules.api.Rule;
+import org.jeasy.rules.api.Rules;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.lang.String.format;
+
+/**
+ * A source of rules loaded from rule files and reloaded when these files change.
+ *
+ * Rules of all files are published in a single {@link ConcurrentRules} set, which can be
+ * fired while rules are reloaded. Once started, this source watches the directories of
+ * rule files with a {@link WatchService} and reloads changed files in a background thread.
+ * Rule files which are symbolic links are also checked when another entry of their
+ * directory changes, so that a file is reloaded when a link it is resolved through is
+ * replaced. Only files whose content has changed are loaded again.
+ *
+ * A reload is published atomically if all changed files are successfully loaded and if
+ * rule names are still unique across files. Otherwise, no changed file is published, the
+ * last rules successfully loaded from each file are kept and {@link ReloadListener}s are
+ * notified of the failure for each changed file. Exceptions thrown by reload listeners are
+ * logged and do not stop the reload. When rules are loaded with a rule factory
+ * {@link org.jeasy.rules.support.AbstractRuleFactory#setReuseCompiledRules(boolean)
+ * reusing compiled rules}, only added or changed rule definitions of a changed file are
+ * compiled again.
+ *
+ * <pre>
+ * MVELRuleFactory ruleFactory = new MVELRuleFactory(new YamlRuleDefinitionReader());
+ * ReloadableRulesSource rulesSource = new ReloadableRulesSource(ruleFactory::createRules, rulesFile);
+ * rulesSource.start();
+ * rulesEngine.fire(rulesSource.getRules(), facts);
+ * </pre>
+ *
+ * Rule files are expected to be encoded in UTF-8.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class ReloadableRulesSource implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReloadableRulesSource.class);
+
+    /**
+     * Time to wait for further changes after a change has been detected, so that
+     * a file written in several steps is reloaded once.
+     */
+    private static final long QUIET_PERIOD_MILLIS = 100;
+
+    private final RulesLoader rulesLoader;
+    private final Set<Path> files;
+    private final ConcurrentRules rules = new ConcurrentRules();
+    private final List<ReloadListener> reloadListeners = new CopyOnWriteArrayList<>();
+    private final Lock lock = new ReentrantLock();
+    private Map<Path, LoadedFile> loadedFiles = Collections.emptyMap();
+    private WatchService watchService;
+    private volatile boolean closed;
+
+    /**
+     * Create a new {@link ReloadableRulesSource}.
+     *
+     * @param rulesLoader used to load rules from each file
+     * @param files rule files to load
+     */
+    public ReloadableRulesSource(RulesLoader rulesLoader, Path... files) {
+        this(rulesLoader, Arrays.asList(files));
+    }
+
+    /**
+     * Create a new {@link ReloadableRulesSource}.
+     *
+     * @param rulesLoader used to load rules from each file
+     * @param files rule files to load
+     */
+    public ReloadableRulesSource(RulesLoader rulesLoader, Collection<Path> files) {
+        Objects.requireNonNull(rulesLoader, "Rules loader must not be null");
+        Objects.requireNonNull(files, "Files must not be null");
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("At least one rule file must be specified");
+        }
+        this.rulesLoader = rulesLoader;
+        this.files = new LinkedHashSet<>();
+        for (Path file : files) {
+            this.files.add(file.toAbsolutePath().normalize());
+        }
+    }
+
+    /**
+     * Return the rules loaded from rule files. The returned rule set is updated
+     * each time rules are reloaded.
+     *
+     * @return the rules loaded from rule files
+     */
+    public ConcurrentRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Register a reload listener.
+     *
+     * @param reloadListener to register
+     */
+    public void registerReloadListener(ReloadListener reloadListener) {
+        reloadListeners.add(reloadListener);
+    }
+
+    /**
+     * Load rules from all files and start watching them for changes.
+     *
+     * @throws Exception if unable to load rules from a file or to watch files
+     */
+    public void start() throws Exception {
+        lock.lock();
+        try {
+            if (watchService != null) {
+                throw new IllegalStateException("Rules source already started");
+            }
+            Map<Path, LoadedFile> initialFiles = new HashMap<>();
+            for (Path file : files) {
+                byte[] content = Files.readAllBytes(file);
+                initialFiles.put(file, load(file, content));
+            }
+            publish(initialFiles);
+            watchService = startWatching();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reload rules from files whose content has changed since they were last loaded.
+     * This method is called automatically when changes are detected, but can be called
+     * explicitly, for example if file changes are not reported by the file system.
+     *
+     * @return true if rules have been reloaded and published, false otherwise
+     */
+    public boolean reload() {
+        return reload(files);
+    }
+
+    private boolean reload(Set<Path> changedFiles) {
+        lock.lock();
+        try {
+            Map<Path, LoadedFile> newFiles = new HashMap<>(loadedFiles);
+            Set<Path> reloadedFiles = new LinkedHashSet<>();
+            Map<Path, Exception> failures = new LinkedHashMap<>();
+            for (Path file : changedFiles) {
+                try {
+                    byte[] content = Files.readAllBytes(file);
+                    LoadedFile loadedFile = loadedFiles.get(file);
+                    if (loadedFile != null && Arrays.equals(loadedFile.digest, digest(content))) {
+                        LOGGER.debug("Content of rule file '{}' has not changed", file);
+                        continue;
+                    }
+                    newFiles.put(file, load(file, content));
+                    reloadedFiles.add(file);
+                } catch (Exception e) {
+                    failures.put(file, e);
+                }
+            }
+            if (!failures.isEmpty()) {
+                // publish all changed files or none of them
+                Map.Entry<Path, Exception> failure = failures.entrySet().iterator().next();
+                Exception abortion = new IllegalStateException(format("Reload aborted since rules could not be loaded from '%s'",
+                        failure.getKey()), failure.getValue());
+                for (Path file : reloadedFiles) {
+                    onReloadFailure(file, abortion);
+                }
+                for (Map.Entry<Path, Exception> entry : failures.entrySet()) {
+                    onReloadFailure(entry.getKey(), entry.getValue());
+                }
+                return false;
+            }
+            if (reloadedFiles.isEmpty()) {
+                return false;
+            }
+            try {
+                publish(newFiles);
+            } catch (IllegalArgumentException e) {
+                for (Path file : reloadedFiles) {
+                    onReloadFailure(file, e);
+                }
+                return false;
+            }
+            LOGGER.info("Reloaded rules from {}", reloadedFiles);
+            Set<Path> unmodifiableReloadedFiles = Collections.unmodifiableSet(reloadedFiles);
+            for (ReloadListener reloadListener : reloadListeners) {
+                try {
+                    reloadListener.onReload(unmodifiableReloadedFiles);
+                } catch (RuntimeException e) {
+                    LOGGER.error("Reload listener failed on reload of {}", reloadedFiles, e);
+                }
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop watching rule files. Rules loaded so far remain available.
+     *
+     * @throws IOException if unable to close the underlying watch service
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        lock.lock();
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private LoadedFile load(Path file, byte[] content) throws Exception {
+        LOGGER.debug("Loading rules from file '{}'", file);
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8)) {
+            Rules loadedRules = rulesLoader.load(reader);
+            List<Rule> fileRules = new ArrayList<>();
+            for (Rule rule : loadedRules) {
+                fileRules.add(rule);
+            }
+            return new LoadedFile(digest(content), fileRules);
+        }
+    }
+
+    private void publish(Map<Path, LoadedFile> newFiles) {
+        Map<String, Path> ruleFiles = new HashMap<>();
+        List<Rule> newRules = new ArrayList<>();
+        for (Path file : files) {
+            for (Rule rule : newFiles.get(file).rules) {
+                Path otherFile = ruleFiles.putIfAbsent(rule.getName(), file);
+                if (otherFile != null) {
+                    throw new IllegalArgumentException(format("Rule '%s' is defined in both '%s' and '%s'",
+                            rule.getName(), otherFile, file));
+                }
+                newRules.add(rule);
+            }
+        }
+        rules.replace(newRules.toArray());
+        loadedFiles = newFiles;
+    }
+
+    private WatchService startWatching() throws IOException {
+        WatchService newWatchService = files.iterator().next().getFileSystem().newWatchService();
+        Map<WatchKey, Path> directories = new HashMap<>();
+        try {
+            for (Path file : files) {
+                Path directory = file.getParent();
+                if (!directories.containsValue(directory)) {
+                    WatchKey key = directory.register(newWatchService, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                    directories.put(key, directory);
+                }
+            }
+        } catch (IOException e) {
+            newWatchService.close();
+            throw e;
+        }
+        Thread watcher = new Thread(() -> watch(newWatchService, directories), "easy-rules-reloader");
+        watcher.setDaemon(true);
+        watcher.start();
+        return newWatchService;
+    }
+
+    private void watch(WatchService watchService, Map<WatchKey, Path> directories) {
+        try {
+            while (!closed) {
+                Set<Path> changedFiles = new HashSet<>();
+                collectChanges(watchService.take(), directories, changedFiles);
+                WatchKey key;
+                while ((key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    collectChanges(key, directories, changedFiles);
+                }
+                if (!changedFiles.isEmpty()) {
+                    try {
+                        reload(changedFiles);
+                    } catch (RuntimeException e) {
+                        // keep watching files, a later change may be reloaded successfully
+                        LOGGER.error("Unable to reload rules from {}", changedFiles, e);
+                    }
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            LOGGER.debug("Stopped watching rule files");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void collectChanges(WatchKey key, Map<WatchKey, Path> directories, Set<Path> changedFiles) {
+        Path directory = directories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changedFiles.addAll(files);
+            } else {
+                Path entry = directory.resolve((Path) event.context());
+                if (files.contains(entry)) {
+                    changedFiles.add(entry);
+                } else {
+                    // a linked rule file may change when another entry of its directory is replaced,
+                    // like the "..data" link swapped on updates of Kubernetes ConfigMap volumes
+                    for (Path file : files) {
+                        if (directory.equals(file.getParent()) && Files.isSymbolicLink(file)) {
+                            changedFiles.add(file);
+                        }
+                    }
+                }
+            }
+        }
+        key.reset();
+    }
+
+    private void onReloadFailure(Path file, Exception exception) {
+        LOGGER.warn("Unable to reload rules from file '{}', keeping previously loaded rules", file, exception);
+        for (ReloadListener reloadListener : reloadListeners) {
+            try {
+                reloadListener.onReloadFailure(file, exception);
+            } catch (RuntimeException e) {
+                LOGGER.error("Reload listener failed on reload failure of '{}'", file, e);
+            }
+        }
+    }
+
+    private static byte[] digest(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private static final class LoadedFile {
+
+        private final byte[] digest;
+        private final List<Rule> rules;
+
+        private LoadedFile(byte[] digest, List<Rule> rules) {
+            this.digest = digest;
+            this.rules = rules;
+        }
+    }
+}
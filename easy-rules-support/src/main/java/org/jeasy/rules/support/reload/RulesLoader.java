@@ -0,0 +1,53 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.support.reload;
+
+import org.jeasy.rules.api.Rules;
+
+import java.io.Reader;
+
+/**
+ * Strategy interface to load rules from a rule descriptor, typically the
+ * {@code createRules} method of a rule factory:
+ *
+ * <pre>
+ * MVELRuleFactory ruleFactory = new MVELRuleFactory(new YamlRuleDefinitionReader());
+ * RulesLoader rulesLoader = ruleFactory::createRules;
+ * </pre>
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+@FunctionalInterface
+public interface RulesLoader {
+
+    /**
+     * Load rules from a rule descriptor.
+     *
+     * @param reader of the rules descriptor
+     * @return loaded rules
+     * @throws Exception if unable to load rules from the descriptor
+     */
+    Rules load(Reader reader) throws Exception;
+
+}
@@ -0,0 +1,287 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.support;
+
+import org.jeasy.rules.api.Rule;
+import org.jeasy.rules.api.Rules;
+import org.jeasy.rules.core.BasicRule;
+import org.jeasy.rules.support.composite.CompositeRule;
+import org.jeasy.rules.support.expression.CompilationMode;
+import org.jeasy.rules.support.reader.YamlRuleDefinitionReader;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class AbstractRuleFactoryTest {
+
+    private static final String RULES =
+            "name: rule1\n" +
+            "condition: \"true\"\n" +
+            "actions:\n" +
+            "  - \"action1\"\n" +
+            "---\n" +
+            "name: group\n" +
+            "compositeRuleType: UnitRuleGroup\n" +
+            "composingRules:\n" +
+            "  - name: rule2\n" +
+            "    condition: \"true\"\n" +
+            "    actions:\n" +
+            "      - \"action2\"\n" +
+            "  - name: rule3\n" +
+            "    condition: \"true\"\n" +
+            "    actions:\n" +
+            "      - \"action3\"\n";
+
+    private final CountingRuleFactory ruleFactory = new CountingRuleFactory();
+
+    @Test
+    public void equalRuleDefinitionsMustHaveEqualHashCodes() throws Exception {
+        // given
+        List<RuleDefinition> ruleDefinitions = read(RULES);
+        List<RuleDefinition> otherRuleDefinitions = read(RULES);
+
+        // then
+        assertThat(ruleDefinitions).isEqualTo(otherRuleDefinitions);
+        assertThat(ruleDefinitions.get(1).hashCode()).isEqualTo(otherRuleDefinitions.get(1).hashCode());
+        assertThat(ruleDefinitions.get(0)).isNotEqualTo(ruleDefinitions.get(1));
+    }
+
+    @Test
+    public void rulesMustBeCompiledAgainByDefault() throws Exception {
+        // when
+        List<Rule> rules = ruleFactory.createRules(RULES);
+        List<Rule> otherRules = ruleFactory.createRules(RULES);
+
+        // then
+        assertThat(ruleFactory.isReuseCompiledRules()).isFalse();
+        assertThat(otherRules.get(0)).isNotSameAs(rules.get(0));
+        assertThat(ruleFactory.compiledRules).hasSize(6);
+    }
+
+    @Test
+    public void unchangedRulesMustBeReused() throws Exception {
+        // given
+        ruleFactory.setReuseCompiledRules(true);
+        List<Rule> rules = ruleFactory.createRules(RULES);
+
+        // when
+        List<Rule> otherRules = ruleFactory.createRules(RULES);
+
+        // then
+        assertThat(otherRules.get(0)).isSameAs(rules.get(0));
+        assertThat(otherRules.get(1)).isSameAs(rules.get(1));
+        assertThat(ruleFactory.compiledRules).containsExactly("rule1", "rule2", "rule3");
+    }
+
+    @Test
+    public void onlyChangedComposingRulesMustBeCompiledAgain() throws Exception {
+        // given
+        ruleFactory.setReuseCompiledRules(true);
+        List<Rule> rules = ruleFactory.createRules(RULES);
+        ruleFactory.compiledRules.clear();
+
+        // when
+        List<Rule> otherRules = ruleFactory.createRules(RULES.replace("action3", "changed action"));
+
+        // then
+        assertThat(otherRules.get(0)).isSameAs(rules.get(0));
+        assertThat(otherRules.get(1)).isNotSameAs(rules.get(1));
+        assertThat(ruleFactory.compiledRules).containsExactly("rule3");
+        assertThat(((TestCompositeRule) otherRules.get(1)).getRules())
+                .contains(((TestCompositeRule) rules.get(1)).getRules().get(0));
+    }
+
+    @Test
+    public void compiledRulesMustNotBeReusedWhenCompilationModeChanges() throws Exception {
+        // given
+        ruleFactory.setReuseCompiledRules(true);
+        List<Rule> rules = ruleFactory.createRules(RULES);
+
+        // when
+        ruleFactory.setCompilationMode(CompilationMode.LAZY);
+        List<Rule> otherRules = ruleFactory.createRules(RULES);
+
+        // then
+        assertThat(otherRules.get(0)).isNotSameAs(rules.get(0));
+        assertThat(otherRules.get(1)).isNotSameAs(rules.get(1));
+    }
+
+    @Test
+    public void modifyingARuleDefinitionMustNotAffectReuseOfTheRuleCreatedFromIt() throws Exception {
+        // given
+        ruleFactory.setReuseCompiledRules(true);
+        RuleDefinition ruleDefinition = read(RULES).get(0);
+        Rule rule = ruleFactory.createRule(ruleDefinition);
+
+        // when
+        ruleDefinition.setCondition("changed condition");
+        Rule otherRule = ruleFactory.createRule(read(RULES).get(0));
+
+        // then
+        assertThat(otherRule).isSameAs(rule);
+        assertThat(ruleFactory.compiledRules).containsExactly("rule1");
+    }
+
+    @Test
+    public void rulesMustBeCreatedFromStreamOfRuleDefinitions() throws Exception {
+        // given
+        Stream<RuleDefinition> ruleDefinitions = new YamlRuleDefinitionReader().stream(new StringReader(RULES))
+                .peek(ruleDefinition -> ruleFactory.compiledRules.add("read " + ruleDefinition.getName()));
+
+        // when
+        Rules rules = ruleFactory.createRules(ruleDefinitions);
+
+        // then
+        assertThat(rules.size()).isEqualTo(2);
+        // each rule definition is compiled before the next one is read
+        assertThat(ruleFactory.compiledRules).containsExactly("read rule1", "rule1", "read group", "rule2", "rule3");
+    }
+
+    @Test
+    public void rulesMustBeCompiledInParallelAndRegisteredInOrder() throws Exception {
+        // given
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        ruleFactory.setCompilationExecutor(executorService);
+
+        // when
+        Rules rules;
+        try {
+            rules = ruleFactory.createRules(read(RULES).stream());
+        } finally {
+            executorService.shutdown();
+        }
+
+        // then
+        assertThat(rules).extracting(Rule::getName).containsExactly("group", "rule1");
+        assertThat(((TestCompositeRule) rules.iterator().next()).getRules()).extracting(Rule::getName).containsExactly("rule2", "rule3");
+        assertThat(ruleFactory.compiledRules).containsExactlyInAnyOrder("rule1", "rule2", "rule3");
+    }
+
+    @Test
+    public void parallelCompilationMustReportAllErrors() throws Exception {
+        // given
+        ruleFactory.setCompilationExecutor(Runnable::run);
+        String rules = RULES.replace("condition: \"true\"\n    actions:\n      - \"action3\"", "condition: \"invalid3\"\n    actions:\n      - \"action3\"")
+                .replace("condition: \"true\"\nactions:\n  - \"action1\"", "condition: \"invalid1\"\nactions:\n  - \"action1\"");
+
+        // when
+        Throwable throwable = catchThrowable(() -> ruleFactory.createRules(read(rules).stream()));
+
+        // then
+        assertThat(throwable).isInstanceOf(RuleCompilationException.class)
+                .hasMessageContaining("'rule1': Invalid condition: invalid1")
+                .hasMessageContaining("'rule3': Invalid condition: invalid3");
+        RuleCompilationException exception = (RuleCompilationException) throwable;
+        assertThat(exception.getErrors()).extracting(error -> error.getKey().getName()).containsExactly("rule1", "rule3");
+        assertThat(exception.getSuppressed()).hasSize(2);
+        assertThat(ruleFactory.compiledRules).containsExactly("rule2");
+    }
+
+    @Test
+    public void parallelCompilationMustReportErrorsOfEqualRuleDefinitions() throws Exception {
+        // given
+        ruleFactory.setCompilationExecutor(Runnable::run);
+        String group = "compositeRuleType: UnitRuleGroup\n" +
+                "composingRules:\n" +
+                "  - name: shared\n" +
+                "    condition: \"invalid\"\n" +
+                "    actions:\n" +
+                "      - \"action\"\n";
+        String rules = "name: group1\n" + group + "---\nname: group2\n" + group;
+
+        // when
+        Throwable throwable = catchThrowable(() -> ruleFactory.createRules(read(rules).stream()));
+
+        // then
+        assertThat(throwable).isInstanceOf(RuleCompilationException.class)
+                .hasMessageContaining("Unable to compile 2 rules");
+        RuleCompilationException exception = (RuleCompilationException) throwable;
+        assertThat(exception.getErrors()).extracting(error -> error.getKey().getName()).containsExactly("shared", "shared");
+        assertThat(exception.getSuppressed()).hasSize(2);
+    }
+
+    private static List<RuleDefinition> read(String descriptor) throws Exception {
+        return new YamlRuleDefinitionReader().read(new StringReader(descriptor));
+    }
+
+    private static class CountingRuleFactory extends AbstractRuleFactory {
+
+        private final List<String> compiledRules = Collections.synchronizedList(new ArrayList<>());
+
+        List<Rule> createRules(String descriptor) throws Exception {
+            List<Rule> rules = new ArrayList<>();
+            for (RuleDefinition ruleDefinition : read(descriptor)) {
+                rules.add(createRule(ruleDefinition));
+            }
+            return rules;
+        }
+
+        @Override
+        protected Rule createSimpleRule(RuleDefinition ruleDefinition) {
+            if (ruleDefinition.getCondition().startsWith("invalid")) {
+                throw new IllegalArgumentException("Invalid condition: " + ruleDefinition.getCondition());
+            }
+            compiledRules.add(ruleDefinition.getName());
+            return new BasicRule(ruleDefinition.getName(), ruleDefinition.getDescription(), ruleDefinition.getPriority());
+        }
+
+        @Override
+        protected Rule createCompositeRule(RuleDefinition ruleDefinition) {
+            TestCompositeRule compositeRule = new TestCompositeRule(ruleDefinition.getName());
+            for (RuleDefinition composingRuleDefinition : ruleDefinition.getComposingRules()) {
+                compositeRule.addRule(createRule(composingRuleDefinition));
+            }
+            return compositeRule;
+        }
+    }
+
+    private static class TestCompositeRule extends CompositeRule {
+
+        TestCompositeRule(String name) {
+            super(name);
+        }
+
+        List<Rule> getRules() {
+            return new ArrayList<>(rules);
+        }
+
+        @Override
+        public boolean evaluate(org.jeasy.rules.api.Facts facts) {
+            return false;
+        }
+
+        @Override
+        public void execute(org.jeasy.rules.api.Facts facts) {
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.support.composite;
+
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.Rule;
+import org.jeasy.rules.api.Rules;
+import org.jeasy.rules.api.RulesEngine;
+import org.jeasy.rules.core.DefaultRulesEngine;
+import org.jeasy.rules.core.RuleBuilder;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires the same composite rules concurrently on different facts and checks that
+ * each fire only sees the state of its own evaluation.
+ */
+public class CompositeRuleConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int FIRES_PER_THREAD = 5000;
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void compositeRulesShouldBeSafelySharedBetweenConcurrentFires() throws Exception {
+        // given
+        ActivationRuleGroup activationRuleGroup = new ActivationRuleGroup("parity", "even xor odd");
+        activationRuleGroup.addRule(rule("even", 1, n -> n % 2 == 0, facts -> facts.put("parity", "even")));
+        activationRuleGroup.addRule(rule("odd", 2, n -> n % 2 != 0, facts -> facts.put("parity", "odd")));
+
+        ConditionalRuleGroup conditionalRuleGroup = new ConditionalRuleGroup("multiples", "multiple of 3, then of 5");
+        conditionalRuleGroup.addRule(rule("multipleOf3", 1, n -> n % 3 == 0, facts -> facts.put("multipleOf3", true)));
+        conditionalRuleGroup.addRule(rule("multipleOf5", 2, n -> n % 5 == 0, facts -> facts.put("multipleOf15", true)));
+
+        UnitRuleGroup unitRuleGroup = new UnitRuleGroup("small", "positive and lower than 100");
+        unitRuleGroup.addRule(rule("positive", 1, n -> n > 0, facts -> facts.put("positive", true)));
+        unitRuleGroup.addRule(rule("lowerThan100", 2, n -> n < 100, facts -> facts.put("small", true)));
+
+        Rules rules = new Rules(activationRuleGroup, conditionalRuleGroup, unitRuleGroup);
+        RulesEngine rulesEngine = new DefaultRulesEngine();
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        List<Future<List<Facts>>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            Callable<List<Facts>> task = () -> {
+                start.await();
+                List<Facts> fired = new ArrayList<>();
+                for (int i = 0; i < FIRES_PER_THREAD; i++) {
+                    Facts facts = new Facts();
+                    facts.put("n", thread * FIRES_PER_THREAD + i);
+                    rulesEngine.fire(rules, facts);
+                    fired.add(facts);
+                }
+                return fired;
+            };
+            results.add(executorService.submit(task));
+        }
+        start.countDown();
+
+        // then
+        for (Future<List<Facts>> result : results) {
+            for (Facts facts : result.get(1, TimeUnit.MINUTES)) {
+                int n = facts.get("n");
+                assertThat((String) facts.get("parity")).isEqualTo(n % 2 == 0 ? "even" : "odd");
+                assertThat((Boolean) facts.get("multipleOf3")).isEqualTo(n % 3 == 0 ? true : null);
+                assertThat((Boolean) facts.get("multipleOf15")).isEqualTo(n % 15 == 0 ? true : null);
+                assertThat((Boolean) facts.get("small")).isEqualTo(n > 0 && n < 100 ? true : null);
+                assertThat(facts.getEvaluationContext()).isEmpty();
+            }
+        }
+    }
+
+    private static Rule rule(String name, int priority, IntCondition condition, org.jeasy.rules.api.Action action) {
+        return new RuleBuilder()
+                .name(name)
+                .priority(priority)
+                .when(facts -> condition.test(facts.get("n")))
+                .then(action)
+                .build();
+    }
+
+    private interface IntCondition {
+        boolean test(int n);
+    }
+
+}
@@ -162,6 +162,28 @@ public class ConditionalRuleGroupTest {
         assertThat(annotatedRule.isExecuted()).isFalse();
     }
 
+    @Test
+    public void whenTheGroupHasNotBeenEvaluated_thenNothingShouldBeExecuted() throws Exception {
+        // When
+        conditionalRuleGroup.execute(facts);
+
+        // Then
+        assertThat(conditionalRule.isExecuted()).isFalse();
+        assertThat(rule1.isExecuted()).isFalse();
+        assertThat(rule2.isExecuted()).isFalse();
+    }
+
+    @Test
+    public void whenRulesAreChecked_thenTheEvaluationStateShouldNotBeKept() throws Exception {
+        // When
+        rulesEngine.check(rules, facts);
+
+        // Then
+        assertThat(facts.getEvaluationContext()).isEmpty();
+        conditionalRuleGroup.execute(facts);
+        assertThat(conditionalRule.isExecuted()).isFalse();
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void twoRulesWithSameHighestPriorityIsNotAllowed() {
         conditionalRuleGroup.addRule(new MyOtherRule(0));// same priority as conditionalRule
@@ -29,6 +29,7 @@ import org.jeasy.rules.api.Facts;
 import org.jeasy.rules.api.Rule;
 import org.jeasy.rules.api.Rules;
 import org.jeasy.rules.core.DefaultRulesEngine;
+import org.jeasy.rules.core.RuleBuilder;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -168,6 +169,37 @@ public class UnitRuleGroupTest {
         assertThat(annotatedRule.isExecuted()).isFalse();
     }
 
+    @Test
+    public void whenAComposingRuleFiresRulesOnTheSameFacts_thenTheStateOfOtherComposingRulesShouldBeKept() {
+        // Given
+        Rule nestedRule = new RuleBuilder()
+                .name("nested rule")
+                .when(f -> true)
+                .then(f -> { })
+                .build();
+        Rule firingRule = new RuleBuilder()
+                .name("firing rule")
+                .priority(1)
+                .when(f -> true)
+                .then(f -> rulesEngine.fire(new Rules(nestedRule), f))
+                .build();
+        MyRule rule = new MyRule();
+        ConditionalRuleGroup conditionalRuleGroup = new ConditionalRuleGroup("conditional rule group", "", 2);
+        conditionalRuleGroup.addRule(rule);
+        unitRuleGroup = new UnitRuleGroup();
+        unitRuleGroup.addRule(firingRule);
+        unitRuleGroup.addRule(conditionalRuleGroup);
+        rules.register(unitRuleGroup);
+
+        // When
+        rulesEngine.fire(rules, facts);
+
+        // Then
+        // the nested firing must not clear the rules selected by the conditional rule group
+        assertThat(rule.isExecuted()).isTrue();
+        assertThat(facts.getEvaluationContext()).isEmpty();
+    }
+
     @org.jeasy.rules.annotation.Rule
     public static class MyRule {
         boolean executed;
@@ -0,0 +1,168 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.support.expression;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CompilableExpressionTest {
+
+    @Test
+    public void testEagerCompilation() {
+        // given
+        AtomicInteger compilations = new AtomicInteger();
+
+        // when
+        CompilableExpression<String> expression = CompilableExpression.of("foo", countingCompiler(compilations), CompilationMode.EAGER);
+
+        // then
+        assertThat(expression.isCompiled()).isTrue();
+        assertThat(expression.get()).isEqualTo("FOO");
+        assertThat(compilations).hasValue(1);
+    }
+
+    @Test
+    public void testLazyCompilation() {
+        // given
+        AtomicInteger compilations = new AtomicInteger();
+        CompilableExpression<String> expression = CompilableExpression.of("foo", countingCompiler(compilations), CompilationMode.LAZY);
+        assertThat(expression.isCompiled()).isFalse();
+        assertThat(compilations).hasValue(0);
+
+        // when
+        String first = expression.get();
+        String second = expression.get();
+
+        // then
+        assertThat(first).isEqualTo("FOO");
+        assertThat(second).isSameAs(first);
+        assertThat(expression.isCompiled()).isTrue();
+        assertThat(expression.getExpression()).isEqualTo("foo");
+        assertThat(compilations).hasValue(1);
+    }
+
+    @Test
+    public void testLazyCompilationFailureIsReportedOnFirstUse() {
+        // given
+        CompilableExpression<String> expression = CompilableExpression.of("foo", failingCompiler(), CompilationMode.LAZY);
+
+        // when, then
+        assertThatThrownBy(expression::get).isInstanceOf(IllegalArgumentException.class).hasMessage("invalid expression foo");
+        assertThat(expression.isCompiled()).isFalse();
+    }
+
+    @Test
+    public void testLazyValidatedCompilationFailsOnInvalidExpression() {
+        assertThatThrownBy(() -> CompilableExpression.of("foo", failingCompiler(), CompilationMode.LAZY_VALIDATED))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("invalid expression foo");
+    }
+
+    @Test
+    public void testLazyValidatedCompilationDoesNotKeepCompiledExpression() {
+        // given
+        AtomicInteger compilations = new AtomicInteger();
+
+        // when
+        CompilableExpression<String> expression = CompilableExpression.of("foo", countingCompiler(compilations), CompilationMode.LAZY_VALIDATED);
+
+        // then
+        assertThat(expression.isCompiled()).isFalse();
+        assertThat(expression.get()).isEqualTo("FOO");
+        assertThat(compilations).hasValue(2);
+    }
+
+    @Test
+    public void testLazyValidatedCompilationUsesValidator() {
+        // given
+        AtomicInteger compilations = new AtomicInteger();
+        AtomicInteger validations = new AtomicInteger();
+
+        // when
+        CompilableExpression<String> expression = CompilableExpression.of("foo", countingCompiler(compilations),
+                source -> validations.incrementAndGet(), CompilationMode.LAZY_VALIDATED);
+
+        // then
+        assertThat(validations).hasValue(1);
+        assertThat(compilations).hasValue(0);
+        assertThat(expression.get()).isEqualTo("FOO");
+        assertThat(compilations).hasValue(1);
+    }
+
+    @Test
+    public void testLazyCompilationHappensOnceUnderConcurrentAccess() throws Exception {
+        // given
+        int threads = 8;
+        AtomicInteger compilations = new AtomicInteger();
+        CompilableExpression<String> expression = CompilableExpression.of("foo", countingCompiler(compilations), CompilationMode.LAZY);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        List<Future<String>> results = new ArrayList<>();
+
+        // when
+        try {
+            for (int i = 0; i < threads; i++) {
+                Callable<String> task = () -> {
+                    start.await();
+                    return expression.get();
+                };
+                results.add(executorService.submit(task));
+            }
+            start.countDown();
+
+            // then
+            for (Future<String> result : results) {
+                assertThat(result.get()).isEqualTo("FOO");
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertThat(compilations).hasValue(1);
+    }
+
+    private static Function<String, String> countingCompiler(AtomicInteger compilations) {
+        return source -> {
+            compilations.incrementAndGet();
+            return new String(source.toUpperCase());
+        };
+    }
+
+    private static Function<String, String> failingCompiler() {
+        return source -> {
+            throw new IllegalArgumentException("invalid expression " + source);
+        };
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.support.expression;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ExpressionCacheTest {
+
+    private final AtomicInteger compilations = new AtomicInteger();
+    private final Function<String, String> compiler = source -> {
+        compilations.incrementAndGet();
+        return new String(source.toUpperCase());
+    };
+
+    @Test
+    public void testExpressionsAreCompiledOnce() {
+        // given
+        ExpressionCache<String> cache = new ExpressionCache<>();
+
+        // when
+        String first = cache.get("foo", "config", compiler);
+        String second = cache.get("foo", "config", compiler);
+
+        // then
+        assertThat(first).isEqualTo("FOO");
+        assertThat(second).isSameAs(first);
+        assertThat(compilations).hasValue(1);
+        assertThat(cache.size()).isEqualTo(1);
+        ExpressionCacheStats stats = cache.getStats();
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getMissCount()).isEqualTo(1);
+        assertThat(stats.getEvictionCount()).isZero();
+        assertThat(stats.getHitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    public void testExpressionsAreKeyedByConfiguration() {
+        // given
+        ExpressionCache<String> cache = new ExpressionCache<>();
+
+        // when
+        String withConfiguration = cache.get("foo", "config", compiler);
+        String withOtherConfiguration = cache.get("foo", "other config", compiler);
+        String withoutConfiguration = cache.get("foo", null, compiler);
+
+        // then
+        assertThat(withOtherConfiguration).isNotSameAs(withConfiguration);
+        assertThat(withoutConfiguration).isNotSameAs(withConfiguration);
+        assertThat(cache.get("foo", null, compiler)).isSameAs(withoutConfiguration);
+        assertThat(compilations).hasValue(3);
+    }
+
+    @Test
+    public void testLeastFrequentlyUsedExpressionsAreEvicted() {
+        // given
+        ExpressionCache<String> cache = new ExpressionCache<>(3);
+        String frequent = cache.get("frequent", null, compiler);
+        cache.get("frequent", null, compiler);
+        cache.get("rare", null, compiler);
+        String other = cache.get("other", null, compiler);
+        cache.get("other", null, compiler);
+
+        // when
+        cache.get("new", null, compiler);
+
+        // then
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.getStats().getEvictionCount()).isEqualTo(1);
+        assertThat(cache.get("frequent", null, compiler)).isSameAs(frequent);
+        assertThat(cache.get("other", null, compiler)).isSameAs(other);
+    }
+
+    @Test
+    public void testCachingCanBeDisabled() {
+        // given
+        ExpressionCache<String> cache = new ExpressionCache<>();
+        cache.get("foo", null, compiler);
+
+        // when
+        cache.setMaximumSize(0);
+        cache.get("foo", null, compiler);
+        cache.get("foo", null, compiler);
+
+        // then
+        assertThat(cache.size()).isZero();
+        assertThat(compilations).hasValue(3);
+    }
+
+    @Test
+    public void testCompilationFailuresAreNotCached() {
+        // given
+        ExpressionCache<String> cache = new ExpressionCache<>();
+        Function<String, String> failingCompiler = source -> {
+            throw new IllegalArgumentException("invalid expression " + source);
+        };
+
+        // when
+        assertThatThrownBy(() -> cache.get("foo", null, failingCompiler)).isInstanceOf(IllegalArgumentException.class);
+
+        // then
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get("foo", null, compiler)).isEqualTo("FOO");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeMaximumSizeIsRejected() {
+        new ExpressionCache<String>(-1);
+    }
+}
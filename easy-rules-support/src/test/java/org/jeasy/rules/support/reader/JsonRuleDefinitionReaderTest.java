@@ -0,0 +1,66 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.support.reader;
+
+import org.jeasy.rules.support.RuleDefinition;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JsonRuleDefinitionReaderTest {
+
+    private final JsonRuleDefinitionReader ruleDefinitionReader = new JsonRuleDefinitionReader();
+
+    @Test
+    public void ruleDefinitionsShouldBeReadWhenReached() throws Exception {
+        // given
+        String rulesDescriptor = "[{\"name\": \"rule1\", \"condition\": \"true\", \"actions\": [\"action\"]}, {\"name\": ";
+
+        // when
+        try (Stream<RuleDefinition> ruleDefinitions = ruleDefinitionReader.stream(new StringReader(rulesDescriptor))) {
+            Iterator<RuleDefinition> iterator = ruleDefinitions.iterator();
+
+            // then
+            assertThat(iterator.next().getName()).isEqualTo("rule1");
+            assertThatThrownBy(iterator::next).isInstanceOf(UncheckedIOException.class);
+        }
+    }
+
+    @Test
+    public void rulesDescriptorMustBeAnArray() {
+        // given
+        String rulesDescriptor = "{\"name\": \"rule1\", \"condition\": \"true\", \"actions\": [\"action\"]}";
+
+        // then
+        assertThatThrownBy(() -> ruleDefinitionReader.read(new StringReader(rulesDescriptor)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -33,6 +33,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.jeasy.rules.api.Rule;
 import org.jeasy.rules.support.RuleDefinition;
@@ -115,6 +117,23 @@ public class RuleDefinitionReaderTest {
         assertThat(adultRuleDefinition.getPriority()).isEqualTo(Rule.DEFAULT_PRIORITY);
         assertThat(adultRuleDefinition.getCondition()).isEqualTo("person.age > 18");
         assertThat(adultRuleDefinition.getActions()).isEqualTo(Collections.singletonList("person.setAdult(true);"));
+        assertThat(adultRuleDefinition.getRequiredFacts()).isEmpty();
+        assertThat(adultRuleDefinition.getDependencies()).isEmpty();
+    }
+
+    @Test
+    public void testRuleDefinitionReading_withRequiredFacts() throws Exception {
+        // given
+        File adultRuleDescriptor = new File("src/test/resources/adult-rule-with-required-facts." + fileExtension);
+
+        // when
+        List<RuleDefinition> ruleDefinitions = ruleDefinitionReader.read(new FileReader(adultRuleDescriptor));
+
+        // then
+        assertThat(ruleDefinitions).hasSize(1);
+        RuleDefinition adultRuleDefinition = ruleDefinitions.get(0);
+        assertThat(adultRuleDefinition.getRequiredFacts()).isEqualTo(Collections.singletonList("person"));
+        assertThat(adultRuleDefinition.getDependencies()).isEqualTo(Collections.singletonList("discount"));
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -129,6 +148,18 @@ public class RuleDefinitionReaderTest {
         // expected exception
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidRuleDefinitionReading_whenRequiredFactsAreNotAList() throws Exception {
+        // given
+        File adultRuleDescriptor = new File("src/test/resources/adult-rule-with-invalid-required-facts." + fileExtension);
+
+        // when
+        List<RuleDefinition> ruleDefinitions = ruleDefinitionReader.read(new FileReader(adultRuleDescriptor));
+
+        // then
+        // expected exception
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testInvalidRuleDefinitionReading_whenNoActions() throws Exception {
         // given
@@ -168,6 +199,21 @@ public class RuleDefinitionReaderTest {
         assertThat(ruleDefinition.getActions()).isEqualTo(Collections.singletonList("System.out.println(\"It rains, take an umbrella!\");"));
     }
 
+    @Test
+    public void testRulesDefinitionStreaming() throws Exception {
+        // given
+        File rulesDescriptor = new File("src/test/resources/rules." + fileExtension);
+
+        // when
+        List<String> ruleNames;
+        try (Stream<RuleDefinition> ruleDefinitions = ruleDefinitionReader.stream(new FileReader(rulesDescriptor))) {
+            ruleNames = ruleDefinitions.map(RuleDefinition::getName).collect(Collectors.toList());
+        }
+
+        // then
+        assertThat(ruleNames).containsExactly("adult rule", "weather rule");
+    }
+
     @Test
     public void testEmptyRulesDefinitionReading() throws Exception {
         // given
@@ -0,0 +1,82 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.support.reader;
+
+import org.jeasy.rules.support.RuleDefinition;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class YamlRuleDefinitionReaderTest {
+
+    private final YamlRuleDefinitionReader ruleDefinitionReader = new YamlRuleDefinitionReader();
+
+    @Test
+    public void ruleDefinitionsShouldBeReadWhenReached() throws Exception {
+        // given
+        String rulesDescriptor = "name: rule1\n" +
+                "condition: \"true\"\nactions: [\"action\"]\n" +
+                "actions:\n" +
+                "  - \"action\"\n" +
+                "---\n" +
+                "name: [rule2\n";
+
+        // when
+        try (Stream<RuleDefinition> ruleDefinitions = ruleDefinitionReader.stream(new StringReader(rulesDescriptor))) {
+            Iterator<RuleDefinition> iterator = ruleDefinitions.iterator();
+
+            // then
+            assertThat(iterator.next().getName()).isEqualTo("rule1");
+            assertThatThrownBy(iterator::next).isInstanceOf(RuntimeException.class);
+        }
+    }
+
+    @Test
+    public void interleavedStreamsShouldReadTheirOwnRuleDefinitions() throws Exception {
+        // given
+        String firstDescriptor = "name: rule1\ncondition: \"true\"\nactions: [\"action\"]\n---\nname: rule2\ncondition: \"true\"\nactions: [\"action\"]\n";
+        String secondDescriptor = "name: rule3\ncondition: \"true\"\nactions: [\"action\"]\n---\nname: rule4\ncondition: \"true\"\nactions: [\"action\"]\n";
+
+        // when
+        try (Stream<RuleDefinition> first = ruleDefinitionReader.stream(new StringReader(firstDescriptor));
+             Stream<RuleDefinition> second = ruleDefinitionReader.stream(new StringReader(secondDescriptor))) {
+            Iterator<RuleDefinition> firstIterator = first.iterator();
+            Iterator<RuleDefinition> secondIterator = second.iterator();
+
+            // then
+            assertThat(firstIterator.next().getName()).isEqualTo("rule1");
+            assertThat(secondIterator.next().getName()).isEqualTo("rule3");
+            assertThat(firstIterator.next().getName()).isEqualTo("rule2");
+            assertThat(secondIterator.next().getName()).isEqualTo("rule4");
+            assertThat(firstIterator.hasNext()).isFalse();
+            assertThat(secondIterator.hasNext()).isFalse();
+        }
+    }
+
+}
@@ -0,0 +1,273 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2021, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.jeasy.rules.support.reload;
+
+import org.jeasy.rules.api.Rules;
+import org.jeasy.rules.core.BasicRule;
+import org.jeasy.rules.support.AbstractRuleFactory;
+import org.jeasy.rules.support.RuleDefinition;
+import org.jeasy.rules.support.reader.YamlRuleDefinitionReader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ReloadableRulesSourceTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final TestRuleFactory ruleFactory = new TestRuleFactory();
+    private final BlockingQueue<Set<Path>> reloads = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Path> failures = new LinkedBlockingQueue<>();
+    private Path rulesFile;
+    private Path otherRulesFile;
+    private ReloadableRulesSource rulesSource;
+
+    @Before
+    public void setUp() throws Exception {
+        rulesFile = temporaryFolder.getRoot().toPath().resolve("rules.yml");
+        otherRulesFile = temporaryFolder.getRoot().toPath().resolve("other-rules.yml");
+        write(rulesFile, "rule1", "true");
+        write(otherRulesFile, "rule2", "true");
+        rulesSource = new ReloadableRulesSource(ruleFactory::createRules, rulesFile, otherRulesFile);
+        rulesSource.registerReloadListener(new ReloadListener() {
+            @Override
+            public void onReload(Set<Path> files) {
+                reloads.add(files);
+            }
+
+            @Override
+            public void onReloadFailure(Path file, Exception exception) {
+                failures.add(file);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        rulesSource.close();
+    }
+
+    @Test
+    public void startMustLoadRulesFromAllFiles() throws Exception {
+        // when
+        rulesSource.start();
+
+        // then
+        assertThat(ruleNames(rulesSource.getRules())).containsExactly("rule1", "rule2");
+        assertThat(ruleFactory.loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void startMustFailWhenRulesCannotBeLoaded() throws Exception {
+        // given
+        write(rulesFile, "rule1", "invalid");
+
+        // then
+        assertThatThrownBy(rulesSource::start).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void changedFileMustBeReloaded() throws Exception {
+        // given
+        rulesSource.start();
+
+        // when
+        write(rulesFile, "rule3", "true");
+
+        // then
+        assertThat(reloads.poll(10, TimeUnit.SECONDS)).containsExactly(rulesFile.toAbsolutePath());
+        assertThat(ruleNames(rulesSource.getRules())).containsExactly("rule2", "rule3");
+        assertThat(ruleFactory.loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void fileLinkedThroughSwappedDirectoryLinkMustBeReloaded() throws Exception {
+        // given
+        // layout of a Kubernetes ConfigMap volume: rules.yml -> ..data/rules.yml, ..data -> ..v1
+        Path directory = temporaryFolder.newFolder("config").toPath();
+        Files.createDirectory(directory.resolve("..v1"));
+        write(directory.resolve("..v1").resolve("rules.yml"), "rule1", "true");
+        Files.createSymbolicLink(directory.resolve("..data"), directory.resolve("..v1").getFileName());
+        Path linkedRulesFile = Files.createSymbolicLink(directory.resolve("rules.yml"), directory.getFileSystem().getPath("..data", "rules.yml"));
+        rulesSource = new ReloadableRulesSource(ruleFactory::createRules, linkedRulesFile);
+        rulesSource.registerReloadListener(new ReloadListener() {
+            @Override
+            public void onReload(Set<Path> files) {
+                reloads.add(files);
+            }
+        });
+        rulesSource.start();
+
+        // when
+        Files.createDirectory(directory.resolve("..v2"));
+        write(directory.resolve("..v2").resolve("rules.yml"), "rule3", "true");
+        Path newLink = Files.createSymbolicLink(directory.resolve("..data_tmp"), directory.resolve("..v2").getFileName());
+        Files.move(newLink, directory.resolve("..data"), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        // then
+        assertThat(reloads.poll(10, TimeUnit.SECONDS)).containsExactly(linkedRulesFile.toAbsolutePath());
+        assertThat(ruleNames(rulesSource.getRules())).containsExactly("rule3");
+    }
+
+    @Test
+    public void invalidChangeMustKeepLastGoodRules() throws Exception {
+        // given
+        rulesSource.start();
+
+        // when
+        write(rulesFile, "rule3", "invalid");
+
+        // then
+        assertThat(failures.poll(10, TimeUnit.SECONDS)).isEqualTo(rulesFile.toAbsolutePath());
+        assertThat(ruleNames(rulesSource.getRules())).containsExactly("rule1", "rule2");
+    }
+
+    @Test
+    public void duplicateRuleNamesAcrossFilesMustBeRejected() throws Exception {
+        // given
+        rulesSource.start();
+        rulesSource.close();
+        write(rulesFile, "rule2", "true");
+
+        // when
+        boolean reloaded = rulesSource.reload();
+
+        // then
+        assertThat(reloaded).isFalse();
+        assertThat(failures.poll()).isEqualTo(rulesFile.toAbsolutePath());
+        assertThat(ruleNames(rulesSource.getRules())).containsExactly("rule1", "rule2");
+    }
+
+    @Test
+    public void reloadMustNotPublishAnyChangedFileWhenOneOfThemIsInvalid() throws Exception {
+        // given
+        rulesSource.start();
+        rulesSource.close();
+        write(rulesFile, "rule3", "true");
+        write(otherRulesFile, "rule4", "invalid");
+
+        // when
+        boolean reloaded = rulesSource.reload();
+
+        // then
+        assertThat(reloaded).isFalse();
+        assertThat(failures).containsExactlyInAnyOrder(rulesFile.toAbsolutePath(), otherRulesFile.toAbsolutePath());
+        assertThat(reloads).isEmpty();
+        assertThat(ruleNames(rulesSource.getRules())).containsExactly("rule1", "rule2");
+    }
+
+    @Test
+    public void failingReloadListenerMustNotPreventReload() throws Exception {
+        // given
+        rulesSource.start();
+        rulesSource.close();
+        rulesSource.registerReloadListener(new ReloadListener() {
+            @Override
+            public void onReload(Set<Path> files) {
+                throw new IllegalStateException("listener failure");
+            }
+        });
+        write(rulesFile, "rule3", "true");
+
+        // when
+        boolean reloaded = rulesSource.reload();
+
+        // then
+        assertThat(reloaded).isTrue();
+        assertThat(reloads.poll()).containsExactly(rulesFile.toAbsolutePath());
+        assertThat(ruleNames(rulesSource.getRules())).containsExactly("rule2", "rule3");
+    }
+
+    @Test
+    public void unchangedFilesMustNotBeReloaded() throws Exception {
+        // given
+        rulesSource.start();
+        rulesSource.close();
+        write(otherRulesFile, "rule2", "true");
+
+        // when
+        boolean reloaded = rulesSource.reload();
+
+        // then
+        assertThat(reloaded).isFalse();
+        assertThat(ruleFactory.loads.get()).isEqualTo(2);
+    }
+
+    private static void write(Path file, String ruleName, String condition) throws Exception {
+        String content = "name: " + ruleName + "\n" +
+                "condition: \"" + condition + "\"\n" +
+                "actions:\n" +
+                "  - \"true\"\n";
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> ruleNames(Rules rules) {
+        List<String> names = new ArrayList<>();
+        for (org.jeasy.rules.api.Rule rule : rules) {
+            names.add(rule.getName());
+        }
+        return names;
+    }
+
+    private static class TestRuleFactory extends AbstractRuleFactory {
+
+        private final AtomicInteger loads = new AtomicInteger();
+
+        Rules createRules(Reader reader) throws Exception {
+            loads.incrementAndGet();
+            Rules rules = new Rules();
+            for (RuleDefinition ruleDefinition : new YamlRuleDefinitionReader().read(reader)) {
+                rules.register(createRule(ruleDefinition));
+            }
+            return rules;
+        }
+
+        @Override
+        protected org.jeasy.rules.api.Rule createSimpleRule(RuleDefinition ruleDefinition) {
+            if ("invalid".equals(ruleDefinition.getCondition())) {
+                throw new IllegalArgumentException("Invalid condition in rule " + ruleDefinition.getName());
+            }
+            return new BasicRule(ruleDefinition.getName(), ruleDefinition.getDescription(), ruleDefinition.getPriority());
+        }
+    }
+}